@@ -1,10 +1,20 @@
 package com.rentx.carrental.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import org.springframework.boot.convert.DurationUnit;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Data
 @Component
@@ -14,6 +24,11 @@ public class AppConfig {
     private Business business = new Business();
     private Loyalty loyalty = new Loyalty();
     private Cancellation cancellation = new Cancellation();
+    private Cache cache = new Cache();
+    private Mail mail = new Mail();
+    private RateLimit rateLimit = new RateLimit();
+    private Payment payment = new Payment();
+    private Metrics metrics = new Metrics();
     
     @Data
     public static class Business {
@@ -52,4 +67,150 @@ public class AppConfig {
             private double refund0h;
         }
     }
-}
\ No newline at end of file
+    
+    @Data
+    public static class Cache {
+        private CacheSpec defaults = new CacheSpec();
+        private Map<String, CacheSpec> specs = new LinkedHashMap<>();
+        
+        public CacheSpec specFor(String cacheName) {
+            CacheSpec spec = specs.get(cacheName);
+            return spec != null ? spec : defaults;
+        }
+        
+        @Data
+        public static class CacheSpec {
+            private long maximumSize = 1000;
+            private Duration expireAfterWrite = Duration.ofMinutes(10);
+            private Duration expireAfterAccess;
+            private Duration refreshAfterWrite;
+
+            /**
+             * A recording, bounded builder with this spec's expiry. Refresh is left to
+             * callers, since it needs a loader.
+             */
+            public Caffeine<Object, Object> newBuilder() {
+                Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .recordStats();
+                if (expireAfterWrite != null) {
+                    builder.expireAfterWrite(expireAfterWrite);
+                }
+                if (expireAfterAccess != null) {
+                    builder.expireAfterAccess(expireAfterAccess);
+                }
+                return builder;
+            }
+        }
+    }
+
+    @Data
+    public static class Mail {
+        private boolean fake;
+        private Outbox outbox = new Outbox();
+        private Batch batch = new Batch();
+
+        @Data
+        public static class Outbox {
+            private int workers = 4;
+            private int queueCapacity = 200;
+            private int batchSize = 50;
+            private int maxAttempts = 6;
+            private Duration initialBackoff = Duration.ofSeconds(30);
+            private Duration maxBackoff = Duration.ofHours(1);
+            private Duration claimTimeout = Duration.ofMinutes(10);
+            private Duration retention = Duration.ofDays(7);
+        }
+
+        @Data
+        public static class Batch {
+            private int size = 25;
+            private int maxPerSecond = 20;
+        }
+    }
+
+    @Data
+    public static class Metrics {
+        private Scrape scrape = new Scrape();
+
+        /** HTTP Basic credential Prometheus uses for /actuator/prometheus; no password disables scraping. */
+        @Data
+        public static class Scrape {
+            private String username = "prometheus";
+            private String password;
+        }
+    }
+
+    @Data
+    public static class Payment {
+        /** {@code razorpay} for the real gateway, {@code fake} for the in-process one used in load tests. */
+        private String gateway = "razorpay";
+        /** Gateway calls allowed in flight at once; further calls are rejected instead of queued. */
+        private int maxConcurrentCalls = 16;
+        private Duration callTimeout = Duration.ofSeconds(10);
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private Retry retry = new Retry();
+        private Fake fake = new Fake();
+        private Refunds refunds = new Refunds();
+
+        @Data
+        public static class CircuitBreaker {
+            /** Share of failed calls in the window that opens the breaker. */
+            private double failureRateThreshold = 0.5;
+            private int slidingWindowSize = 20;
+            private int minimumCalls = 10;
+            private Duration openDuration = Duration.ofSeconds(30);
+            private int halfOpenCalls = 3;
+        }
+
+        @Data
+        public static class Retry {
+            private int maxRetries = 2;
+            private Duration initialBackoff = Duration.ofMillis(200);
+            /** Retries allowed per budget window as a share of first attempts in it. */
+            private double budgetRatio = 0.1;
+            private int minRetriesPerWindow = 5;
+            private Duration budgetWindow = Duration.ofSeconds(10);
+        }
+
+        @Data
+        public static class Fake {
+            private Duration latency = Duration.ofMillis(50);
+            private double failureRate = 0.0;
+        }
+
+        @Data
+        public static class Refunds {
+            /** Refunds processed at once; keep below maxConcurrentCalls so they do not starve checkout. */
+            private int parallelism = 8;
+            private int chunkSize = 100;
+            /** How long after cancellation a refund is issued automatically. */
+            private Duration holdPeriod = Duration.ofDays(7);
+            private Duration claimTimeout = Duration.ofMinutes(15);
+        }
+    }
+
+    @Data
+    public static class RateLimit {
+        /** Burst size and window used by policies that do not set their own. */
+        private int maxRequests = 5;
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration timeWindow = Duration.ofSeconds(60);
+        private long maxKeys = 100_000;
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        /** Addresses or CIDR ranges whose X-Forwarded-For header is believed. */
+        private List<String> trustedProxies = new ArrayList<>();
+        private List<Policy> policies = new ArrayList<>();
+
+        @Data
+        public static class Policy {
+            private String name;
+            private String pattern;
+            /** HTTP methods the policy applies to; empty means all. */
+            private Set<String> methods = new LinkedHashSet<>();
+            private Integer capacity;
+            @DurationUnit(ChronoUnit.SECONDS)
+            private Duration window;
+        }
+    }
+}
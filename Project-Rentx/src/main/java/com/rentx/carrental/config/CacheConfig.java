@@ -1,27 +1,113 @@
 package com.rentx.carrental.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.rentx.carrental.entity.Car;
+import com.rentx.carrental.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.hibernate.autoconfigure.metrics.HibernateMetricsAutoConfiguration;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
+import java.util.OptionalLong;
+import javax.cache.Caching;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
+
+    public static final List<String> CACHE_NAMES = List.of(
+        "cars", 
+        "reviews", 
+        "loyaltyTiers",
+        "carDetails",
+        "availableCars",
+        "principals",
+        "carRatings",
+        "verifiedPayments"
+    );
+
+    /** Hibernate second-level cache regions, sized by the same {@code app.cache.specs} entries. */
+    public static final List<String> ENTITY_REGIONS = List.of(
+        Car.CACHE_REGION,
+        User.CACHE_REGION,
+        User.NATURAL_ID_CACHE_REGION
+    );
     
     @Bean
-    public CacheManager cacheManager() {
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        cacheManager.setCacheNames(List.of(
-            "cars", 
-            "reviews", 
-            "loyaltyTiers",
-            "carDetails",
-            "availableCars"
-        ));
+    public CacheManager cacheManager(AppConfig appConfig, CacheLoaders cacheLoaders, MeterRegistry meterRegistry) {
+        AppConfig.Cache cacheConfig = appConfig.getCache();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                    com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new CoalescingCaffeineCache(name, cache, isAllowNullValues(), meterRegistry);
+            }
+        };
+        cacheManager.setCaffeine(cacheConfig.getDefaults().newBuilder());
+        for (String cacheName : CACHE_NAMES) {
+            AppConfig.Cache.CacheSpec spec = cacheConfig.specFor(cacheName);
+            Caffeine<Object, Object> builder = spec.newBuilder();
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
+            if (spec.getRefreshAfterWrite() != null) {
+                builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+                cache = builder.build(cacheLoaders.loaderFor(cacheName));
+            } else {
+                cache = builder.build();
+            }
+            // Bound here rather than by Boot's registrar, which lazy initialization never creates.
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, cacheName);
+            cacheManager.registerCustomCache(cacheName, cache);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * JCache manager backing Hibernate's second-level cache, with one bounded
+     * Caffeine cache per region. Entries are disassembled entity state, so they
+     * expire after write like the Spring caches and never refresh.
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager entityCacheManager(AppConfig appConfig) {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName());
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(
+                provider.getDefaultURI(), CacheConfig.class.getClassLoader());
+        for (String region : ENTITY_REGIONS) {
+            AppConfig.Cache.CacheSpec spec = appConfig.getCache().specFor(region);
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(spec.getMaximumSize()));
+            if (spec.getExpireAfterWrite() != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(spec.getExpireAfterWrite().toNanos()));
+            }
+            if (spec.getExpireAfterAccess() != null) {
+                configuration.setExpireAfterAccess(OptionalLong.of(spec.getExpireAfterAccess().toNanos()));
+            }
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, configuration);
+            }
+        }
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(javax.cache.CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    // Binds the hibernate.* statistics meters once singletons are up, which lazy initialization would skip.
+    @Bean
+    static LazyInitializationExcludeFilter hibernateMetricsEagerFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(HibernateMetricsAutoConfiguration.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.rentx.carrental.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Loaders used to refresh hot cache entries ahead of expiry. Services register
+ * a loader per cache name; caches configured with {@code refresh-after-write}
+ * reload through it in the background while readers keep getting the old value.
+ * Without a registered loader a refresh keeps the current value until it expires.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheLoaders {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Function<Object, Object>> loaders = new ConcurrentHashMap<>();
+
+    public void register(String cacheName, Function<Object, Object> loader) {
+        loaders.put(cacheName, loader);
+    }
+
+    public CacheLoader<Object, Object> loaderFor(String cacheName) {
+        return new CacheLoader<>() {
+
+            @Override
+            public Object load(Object key) {
+                Function<Object, Object> loader = loaders.get(cacheName);
+                return loader != null ? loader.apply(key) : null;
+            }
+
+            @Override
+            public Object reload(Object key, Object oldValue) {
+                Function<Object, Object> loader = loaders.get(cacheName);
+                if (loader == null) {
+                    return oldValue;
+                }
+                meterRegistry.counter("cache.loads", "cache", cacheName, "result", "refreshed").increment();
+                Object value = loader.apply(key);
+                return value != null ? value : oldValue;
+            }
+        };
+    }
+}
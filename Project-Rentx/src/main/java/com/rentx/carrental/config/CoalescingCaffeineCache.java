@@ -0,0 +1,45 @@
+package com.rentx.carrental.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caffeine cache that reports how {@code @Cacheable(sync = true)} misses were
+ * served. Caffeine runs a single load per key and parks concurrent callers on
+ * it; the caller that ran the loader counts as {@code originated}, everyone who
+ * missed but received that result counts as {@code coalesced}.
+ */
+public class CoalescingCaffeineCache extends CaffeineCache {
+
+    private final Counter originated;
+    private final Counter coalesced;
+
+    public CoalescingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues,
+            MeterRegistry meterRegistry) {
+        super(name, cache, allowNullValues);
+        this.originated = meterRegistry.counter("cache.loads", "cache", name, "result", "originated");
+        this.coalesced = meterRegistry.counter("cache.loads", "cache", name, "result", "coalesced");
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Quiet so the lookup below is the only one the cache statistics record.
+        Object cached = getNativeCache().policy().getIfPresentQuietly(key);
+        if (cached != null) {
+            return super.get(key, valueLoader);
+        }
+        boolean[] loaded = { false };
+        T value = super.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        (loaded[0] ? originated : coalesced).increment();
+        return value;
+    }
+}
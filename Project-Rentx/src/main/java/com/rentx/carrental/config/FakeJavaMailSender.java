@@ -0,0 +1,92 @@
+package com.rentx.carrental.config;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory {@link JavaMailSender} for local runs and tests, enabled with
+ * {@code app.mail.fake=true}. Sent messages are kept for inspection and
+ * {@link #failNext(int)} makes the next sends throw to exercise retries.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.mail.fake", havingValue = "true")
+public class FakeJavaMailSender implements JavaMailSender {
+
+    private final Session session = Session.getInstance(new Properties());
+    private final ConcurrentLinkedQueue<SimpleMailMessage> sentMessages = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<MimeMessage> sentMimeMessages = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger failuresToSimulate = new AtomicInteger();
+
+    @Override
+    public void send(SimpleMailMessage... simpleMessages) throws MailException {
+        for (SimpleMailMessage message : simpleMessages) {
+            failIfRequested();
+            sentMessages.add(new SimpleMailMessage(message));
+            log.info("Fake mail to {}: {}", Arrays.toString(message.getTo()), message.getSubject());
+        }
+    }
+
+    @Override
+    public MimeMessage createMimeMessage() {
+        return new MimeMessage(session);
+    }
+
+    @Override
+    public MimeMessage createMimeMessage(InputStream contentStream) throws MailException {
+        try {
+            return new MimeMessage(session, contentStream);
+        } catch (MessagingException e) {
+            throw new MailSendException("Could not parse MIME message", e);
+        }
+    }
+
+    @Override
+    public void send(MimeMessage... mimeMessages) throws MailException {
+        for (MimeMessage message : mimeMessages) {
+            failIfRequested();
+            sentMimeMessages.add(message);
+        }
+    }
+
+    public List<SimpleMailMessage> getSentMessages() {
+        return new ArrayList<>(sentMessages);
+    }
+
+    public List<MimeMessage> getSentMimeMessages() {
+        return new ArrayList<>(sentMimeMessages);
+    }
+
+    public void failNext(int count) {
+        failuresToSimulate.set(count);
+    }
+
+    public void clear() {
+        sentMessages.clear();
+        sentMimeMessages.clear();
+        failuresToSimulate.set(0);
+    }
+
+    private void failIfRequested() {
+        if (failuresToSimulate.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new MailSendException("Simulated mail failure");
+        }
+    }
+}
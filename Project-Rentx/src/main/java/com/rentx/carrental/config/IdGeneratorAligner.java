@@ -0,0 +1,73 @@
+package com.rentx.carrental.config;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.rentx.carrental.entity.IdGenerators;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves every pooled id generator past the highest id already in its table
+ * before the application writes anything. Rows inserted while the table still
+ * used {@code AUTO_INCREMENT}, or by hand, would otherwise collide with the
+ * first blocks handed out. Generators only ever move forward, so instances
+ * starting concurrently cannot hand out an id twice.
+ */
+@Slf4j
+@Component
+@Lazy(false) // Nothing depends on it, and it must run before the first insert even with lazy initialization.
+public class IdGeneratorAligner {
+
+	/** Generator segment to the table whose ids it hands out. */
+	private static final Map<String, String> SEGMENTS = Map.of(
+			"booking", "booking",
+			"review", "reviews",
+			"email_outbox", "email_outbox");
+
+	private static final String UPDATE_SQL = "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN
+			+ " = ? WHERE " + IdGenerators.SEGMENT_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < ?";
+	private static final String EXISTS_SQL = "SELECT COUNT(*) FROM " + IdGenerators.TABLE + " WHERE "
+			+ IdGenerators.SEGMENT_COLUMN + " = ?";
+	private static final String INSERT_SQL = "INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.SEGMENT_COLUMN
+			+ ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	// The factory is injected so the schema, including the generator table, exists before aligning.
+	public IdGeneratorAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@PostConstruct
+	public void align() {
+		SEGMENTS.forEach(this::align);
+	}
+
+	private void align(String segment, String table) {
+		Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+		// The pooled optimizer hands out the block below the value it reads, so stay a full block ahead.
+		long floor = (maxId != null ? maxId : 0) + IdGenerators.ALLOCATION_SIZE + 1;
+		if (jdbcTemplate.update(UPDATE_SQL, floor, segment, floor) > 0) {
+			log.info("Moved {} id generator to {}", segment, floor);
+			return;
+		}
+		Integer rows = jdbcTemplate.queryForObject(EXISTS_SQL, Integer.class, segment);
+		if (rows != null && rows > 0) {
+			return;
+		}
+		try {
+			jdbcTemplate.update(INSERT_SQL, segment, floor);
+			log.info("Initialised {} id generator at {}", segment, floor);
+		} catch (DuplicateKeyException e) {
+			// Another instance created it first; make sure it is still far enough ahead.
+			jdbcTemplate.update(UPDATE_SQL, floor, segment, floor);
+		}
+	}
+}
@@ -1,15 +1,22 @@
 package com.rentx.carrental.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -35,13 +42,43 @@ public class SecurityConfig {
 		return config.getAuthenticationManager();
 	}
 
+	/**
+	 * Prometheus cannot obtain an admin JWT, so the scrape endpoint has its own
+	 * chain that accepts only the configured scrape credential over HTTP Basic.
+	 */
+	@Bean
+	@Order(1)
+	public SecurityFilterChain prometheusFilterChain(HttpSecurity http, AppConfig appConfig) throws Exception {
+		AppConfig.Metrics.Scrape scrape = appConfig.getMetrics().getScrape();
+		http.securityMatcher("/actuator/prometheus").csrf(csrf -> csrf.disable())
+				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+		if (scrape.getPassword() == null || scrape.getPassword().isBlank()) {
+			http.authorizeHttpRequests(authz -> authz.anyRequest().denyAll());
+			return http.build();
+		}
+		PasswordEncoder encoder = passwordEncoder();
+		InMemoryUserDetailsManager scrapeUser = new InMemoryUserDetailsManager(User.withUsername(scrape.getUsername())
+				.password(encoder.encode(scrape.getPassword())).authorities("ROLE_METRICS").build());
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(scrapeUser);
+		provider.setPasswordEncoder(encoder);
+		http.authenticationManager(new ProviderManager(provider))
+				.authorizeHttpRequests(authz -> authz.anyRequest().hasAuthority("ROLE_METRICS"))
+				.httpBasic(Customizer.withDefaults());
+		return http.build();
+	}
+
 	@Bean
 	public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 		http.cors(cors -> cors.configurationSource(corsConfigurationSource())).csrf(csrf -> csrf.disable())
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-				.authorizeHttpRequests(authz -> authz.requestMatchers("/api/auth/**").permitAll()
+				.authorizeHttpRequests(authz -> authz
+						// Async results are re-dispatched after the original request was authorized.
+						.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+						.requestMatchers("/api/auth/**").permitAll()
 						.requestMatchers("/api/cars/**").permitAll().requestMatchers("/api/health/**").permitAll()
 						.requestMatchers("/api/reviews/**").permitAll()
+						.requestMatchers("/actuator/health").permitAll()
+						.requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
 
 						.requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN")
 
@@ -66,6 +103,8 @@ public class SecurityConfig {
 		configuration.setAllowedHeaders(
 				Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin"));
 
+		configuration.setExposedHeaders(Arrays.asList("X-Next-Cursor", "X-Correlation-ID", "Retry-After"));
+
 		configuration.setAllowCredentials(true);
 		configuration.setMaxAge(3600L);
 
@@ -1,18 +1,16 @@
 package com.rentx.carrental.controller;
 
+import com.rentx.carrental.dto.AdminRequestDTO;
 import com.rentx.carrental.dto.BookingResponse;
 import com.rentx.carrental.dto.UserDTO;
 import com.rentx.carrental.entity.AdminRequest;
-import com.rentx.carrental.entity.Booking;
-import com.rentx.carrental.entity.User;
 import com.rentx.carrental.repository.AdminRequestRepository;
-import com.rentx.carrental.repository.BookingRepository;
-import com.rentx.carrental.repository.CarRepository;
-import com.rentx.carrental.repository.UserRepository;
 import com.rentx.carrental.service.AdminRequestService;
-import com.rentx.carrental.service.BookingService;
+import com.rentx.carrental.service.AdminListingService;
+import com.rentx.carrental.service.AdminStatsService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -21,34 +19,40 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController 
 @RequestMapping("/api/admin") 
 @RequiredArgsConstructor
+@Slf4j
 @CrossOrigin(origins = "http://localhost:5173")
 public class AdminController {
     private final AdminRequestRepository adminRequestRepository;
     private final AdminRequestService adminRequestService;
-private final  BookingService bookingService;
-private final  UserRepository userRepository;
-private final  CarRepository  carRepository;
-private final BookingRepository bookingRepository;
+private final AdminListingService adminListingService;
+private final AdminStatsService adminStatsService;
+private final JsonMapper jsonMapper;
     @GetMapping("/requests")
-    public ResponseEntity<List<AdminRequest>> getAllAdminRequests() {
+    public ResponseEntity<List<AdminRequestDTO>> getAllAdminRequests(@RequestParam(required = false) Long cursor,
+                                                                  @RequestParam(required = false) Integer limit) {
         try {
-            List<AdminRequest> allRequests = adminRequestRepository.findAll();
-            return ResponseEntity.ok(allRequests);
+            return CursorResponses.page(adminListingService.adminRequests(cursor, limit));
         } catch (Exception e) {
+            log.error("Error listing admin requests: {}", e.getMessage());
             return ResponseEntity.status(500).body(null);
         }
     }
 
+    @GetMapping(value = "/requests", params = CursorResponses.NDJSON_PARAM)
+    public ResponseEntity<StreamingResponseBody> streamAdminRequests() {
+        return CursorResponses.ndjson(jsonMapper, adminListingService::streamAdminRequests);
+    }
+
 
     @GetMapping("/requests/user/name/{username}")
     public ResponseEntity<List<AdminRequest>> getAdminRequestsByUsername(@PathVariable String username) {
@@ -62,12 +66,12 @@ private final BookingRepository bookingRepository;
     @GetMapping("/pending-requests")
     public ResponseEntity<List<AdminRequest>> getPendingRequests() {
         try {
-            System.out.println("📥 Received request for /api/admin/pending-requests");
+            log.debug("📥 Received request for /api/admin/pending-requests");
             List<AdminRequest> pendingRequests = adminRequestRepository.findByStatusOrderByRequestedAtDesc(AdminRequest.RequestStatus.PENDING);
-            System.out.println("✅ Found " + pendingRequests.size() + " pending requests");
+            log.debug("✅ Found {} pending requests", pendingRequests.size());
             return ResponseEntity.ok(pendingRequests);
         } catch (Exception e) {
-            System.err.println("❌ Error in /api/admin/pending-requests: " + e.getMessage());
+            log.error("❌ Error in /api/admin/pending-requests: {}", e.getMessage());
             return ResponseEntity.status(500).body(null);
         }
     }
@@ -75,13 +79,13 @@ private final BookingRepository bookingRepository;
     public ResponseEntity<?> processAdminRequest(@PathVariable Long requestId, 
                                                @RequestBody Map<String, String> request) {
         try {
-            System.out.println("🎯 POST /api/admin/requests/" + requestId + "/action called");
+            log.debug("🎯 POST /api/admin/requests/{}/action called", requestId);
             String action = request.get("action");
             String notes = request.get("notes");
             AdminRequest processedRequest = adminRequestService.processAdminRequest(requestId, action, notes);
             return ResponseEntity.ok(processedRequest);
         } catch (Exception e) {
-            System.err.println("❌ Error in processAdminRequest: " + e.getMessage());
+            log.error("❌ Error in processAdminRequest: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
@@ -89,116 +93,55 @@ private final BookingRepository bookingRepository;
     @GetMapping("/requests/user/{userId}")
     public ResponseEntity<List<AdminRequest>> getAdminRequestsByUserId(@PathVariable Long userId) {
         try {
-            System.out.println("🎯 GET /api/admin/requests/user/" + userId + " called");
+            log.debug("🎯 GET /api/admin/requests/user/{} called", userId);
             List<AdminRequest> userRequests = adminRequestRepository.findByUserId(userId);
             return ResponseEntity.ok(userRequests);
         } catch (Exception e) {
-            System.err.println("❌ Error in getAdminRequestsByUserId: " + e.getMessage());
+            log.error("❌ Error in getAdminRequestsByUserId: {}", e.getMessage());
             return ResponseEntity.status(500).body(null);
         }
     }
 
 @GetMapping("/test")
 public ResponseEntity<String> testEndpoint() {
-    System.out.println("✅ AdminController is working!");
+    log.debug("✅ AdminController is working!");
     return ResponseEntity.ok("AdminController is working properly!");
 }
 @GetMapping("/users")
 @PreAuthorize("hasRole('ADMIN')")
-public ResponseEntity<List<UserDTO>> getAllUsers() {
-    List<User> users = userRepository.findAll();
-    List<UserDTO> userDTOs = users.stream()
-            .map(this::convertToUserDTO)
-            .collect(Collectors.toList());
-    return ResponseEntity.ok(userDTOs);
+public ResponseEntity<List<UserDTO>> getAllUsers(@RequestParam(required = false) Long cursor,
+                                                 @RequestParam(required = false) Integer limit) {
+    return CursorResponses.page(adminListingService.users(cursor, limit));
 }
 
-private BookingResponse convertToBookingResponse(Booking booking) {
-    double discount = booking.getDiscountAmount() != null ? 
-        booking.getDiscountAmount() : 0.0;
-    return bookingService.convertToResponse(booking, discount);
+@GetMapping(value = "/users", params = CursorResponses.NDJSON_PARAM)
+@PreAuthorize("hasRole('ADMIN')")
+public ResponseEntity<StreamingResponseBody> streamUsers() {
+    return CursorResponses.ndjson(jsonMapper, adminListingService::streamUsers);
 }
 
 @GetMapping("/bookings")
 @PreAuthorize("hasRole('ADMIN')")
-public ResponseEntity<List<BookingResponse>> getAllBookings() {
-    List<Booking> bookings = bookingRepository.findAll();
-    
-    List<BookingResponse> responses = bookings.stream()
-        .map(this::convertToBookingResponse)
-        .collect(Collectors.toList());
-    
-    return ResponseEntity.ok(responses);
+public ResponseEntity<List<BookingResponse>> getAllBookings(@RequestParam(required = false) Long cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+    return CursorResponses.page(adminListingService.bookings(cursor, limit));
 }
-private UserDTO convertToUserDTO(User user) {
-    UserDTO dto = new UserDTO();
-    dto.setId(user.getId());
-    dto.setUsername(user.getUsername());
-    dto.setEmail(user.getEmail());
-    dto.setFirstName(user.getFirstName());
-    dto.setLastName(user.getLastName());
-    dto.setPhoneNumber(user.getPhoneNumber());
-    dto.setRole(user.getRole().name());
-    dto.setCreatedAt(user.getCreatedAt());
-    return dto;
+
+@GetMapping(value = "/bookings", params = CursorResponses.NDJSON_PARAM)
+@PreAuthorize("hasRole('ADMIN')")
+public ResponseEntity<StreamingResponseBody> streamBookings() {
+    return CursorResponses.ndjson(jsonMapper, adminListingService::streamBookings);
 }
 
 
 @PostConstruct
 public void init() {
-    System.out.println("✅ AdminController initialized!");
-    System.out.println("✅ Endpoints registered:");
-    System.out.println("   - GET /api/admin/pending-requests");
-    System.out.println("   - POST /api/admin/requests/{requestId}/action"); 
-    System.out.println("   - GET /api/admin/requests");
-    System.out.println("   - GET /api/admin/requests/user/{userId}");
+    log.debug("AdminController initialized");
 }
 @GetMapping("/stats")
 @PreAuthorize("hasRole('ADMIN')")
 public ResponseEntity<Map<String, Object>> getAdminStats() {
-    Map<String, Object> stats = new HashMap<>();
-    
-    long totalUsers = userRepository.count();
-    long adminUsers = userRepository.countByRole(User.UserRole.ADMIN);
-    long regularUsers = totalUsers - adminUsers;
-    
-    long totalBookings = bookingRepository.count();
-    long confirmedBookings = bookingRepository.countByStatus(Booking.BookingStatus.CONFIRMED);
-    long activeBookings = bookingRepository.countByStatus(Booking.BookingStatus.ACTIVE);
-    long completedBookings = bookingRepository.countByStatus(Booking.BookingStatus.COMPLETED);
-    long cancelledBookings = bookingRepository.countByStatus(Booking.BookingStatus.CANCELLED);
-    
-    long totalCars = carRepository.count();
-    long availableCars = carRepository.countByAvailableTrue();
-    long unavailableCars = totalCars - availableCars;
-    
-
-    Double totalRevenue = bookingRepository.sumPaidRevenue();
-    
-    stats.put("users", Map.of(
-        "total", totalUsers,
-        "admins", adminUsers,
-        "customers", regularUsers
-    ));
-    
-    stats.put("bookings", Map.of(
-        "total", totalBookings,
-        "confirmed", confirmedBookings,
-        "active", activeBookings,
-        "completed", completedBookings,
-        "cancelled", cancelledBookings
-    ));
-    
-    stats.put("cars", Map.of(
-        "total", totalCars,
-        "available", availableCars,
-        "unavailable", unavailableCars
-    ));
-    
-    stats.put("revenue", totalRevenue != null ? totalRevenue : 0.0);
-    stats.put("timestamp", LocalDateTime.now());
-    
-    return ResponseEntity.ok(stats);
+    return ResponseEntity.ok(adminStatsService.snapshot());
 }
 
 }
\ No newline at end of file
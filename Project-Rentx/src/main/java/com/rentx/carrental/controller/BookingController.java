@@ -21,10 +21,12 @@ import com.rentx.carrental.service.BookingService;
 import com.rentx.carrental.service.EmailService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @RestController
 @RequestMapping("/api/bookings")
 @RequiredArgsConstructor
+@Slf4j
 @CrossOrigin(origins = "http://localhost:5173")
 public class BookingController {
 
@@ -121,9 +123,9 @@ public class BookingController {
 
 			try {
 				emailService.sendPaymentConfirmation(booking.getUser(), savedBooking);
-				System.out.println("Payment confirmation email sent for booking: " + booking.getId());
+				log.info("Payment confirmation email queued for booking: {}", booking.getId());
 			} catch (Exception e) {
-				System.err.println("Failed to send payment email: " + e.getMessage());
+				log.warn("Failed to send payment email: {}", e.getMessage());
 			}
 
 			double discount = savedBooking.getDiscountAmount() != null ? savedBooking.getDiscountAmount() : 0.0;
@@ -131,7 +133,7 @@ public class BookingController {
 			return ResponseEntity.ok(bookingService.convertToResponse(savedBooking, discount));
 
 		} catch (Exception e) {
-			System.err.println(" Error marking booking as paid: " + e.getMessage());
+			log.error("Error marking booking as paid: {}", e.getMessage());
 			return ResponseEntity.badRequest().body(null);
 		}
 	}
@@ -1,10 +1,12 @@
 package com.rentx.carrental.controller;
 
+import com.rentx.carrental.dto.MonthAvailability;
 import com.rentx.carrental.entity.Booking;
 import com.rentx.carrental.entity.Car;
 import com.rentx.carrental.exception.CarNotFoundException;
 import com.rentx.carrental.repository.BookingRepository;
 import com.rentx.carrental.repository.CarRepository;
+import com.rentx.carrental.service.CarAvailabilityCalendar;
 import com.rentx.carrental.service.CarService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,11 +26,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -40,6 +42,7 @@ public class CarController {
 	private final CarService carService;
 	private final CarRepository carRepository;
 	private final BookingRepository bookingRepository;
+	private final CarAvailabilityCalendar carAvailabilityCalendar;
 
 	@GetMapping
 	public ResponseEntity<List<Car>> getAllCars() {
@@ -49,41 +52,20 @@ public class CarController {
 	@PostMapping
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<Car> addCar(@Valid @RequestBody Car car) {
-		car.setActive(true);
-		car.setAvailable(true);
-		Car savedCar = carRepository.save(car);
+		Car savedCar = carService.createCar(car);
 		return ResponseEntity.status(HttpStatus.CREATED).body(savedCar);
 	}
 
 	@PutMapping("/{id}")
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<Car> updateCar(@PathVariable Long id, @Valid @RequestBody Car carDetails) {
-		Car car = carRepository.findById(id).orElseThrow(() -> new CarNotFoundException(id));
-
-		car.setBrand(carDetails.getBrand());
-		car.setModel(carDetails.getModel());
-		car.setYear(carDetails.getYear());
-		car.setColor(carDetails.getColor());
-		car.setDailyRate(carDetails.getDailyRate());
-		car.setLicensePlate(carDetails.getLicensePlate());
-		car.setCategory(carDetails.getCategory());
-		car.setImagePath(carDetails.getImagePath());
-
-		Car updatedCar = carRepository.save(car);
-		return ResponseEntity.ok(updatedCar);
+		return ResponseEntity.ok(carService.updateCar(id, carDetails));
 	}
 
 	@PutMapping("/{id}/toggle")
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<Car> toggleAvailability(@PathVariable Long id) {
-		Car car = carRepository.findById(id).orElseThrow(() -> new CarNotFoundException(id));
-
-		car.setAvailable(!car.getAvailable());
-		Car updatedCar = carRepository.save(car);
-
-		carService.clearCarCaches();
-
-		return ResponseEntity.ok(updatedCar);
+		return ResponseEntity.ok(carService.toggleAvailability(id));
 	}
 
 	@DeleteMapping("/{id}")
@@ -98,9 +80,7 @@ public class CarController {
 			return ResponseEntity.badRequest().body("Cannot delete car with active bookings");
 		}
 
-		carRepository.delete(car);
-
-		carService.clearCarCaches();
+		carService.deleteCar(car.getCarId());
 
 		return ResponseEntity.ok().build();
 	}
@@ -125,32 +105,42 @@ public class CarController {
 
 	@GetMapping("/{id}/availability")
 	public ResponseEntity<Map<String, Object>> getCarAvailability(@PathVariable Long id,
-			@RequestParam(required = false) Integer year, @RequestParam(required = false) Integer month) {
+			@RequestParam(required = false) Integer year, @RequestParam(required = false) Integer month,
+			@RequestParam(defaultValue = "1") int months) {
 
-		Car car = carRepository.findById(id).orElseThrow(() -> new CarNotFoundException(id));
-
-		LocalDateTime now = LocalDateTime.now();
-		int targetYear = year != null ? year : now.getYear();
-		int targetMonth = month != null ? month : now.getMonthValue();
-
-		LocalDateTime startOfMonth = LocalDateTime.of(targetYear, targetMonth, 1, 0, 0);
-		LocalDateTime endOfMonth = startOfMonth.plusMonths(1).minusSeconds(1);
+		carService.getCarById(id);
 
-		List<Booking> bookings = bookingRepository.findByCarCarIdAndDatesBetween(id, startOfMonth, endOfMonth);
+		LocalDate today = LocalDate.now();
+		int targetYear = year != null ? year : today.getYear();
+		int targetMonth = month != null ? month : today.getMonthValue();
+		if (targetMonth < 1 || targetMonth > 12) {
+			throw new IllegalArgumentException("month must be between 1 and 12");
+		}
+		int firstYear = today.getYear() - 1;
+		int lastYear = today.getYear() + CarAvailabilityCalendar.MAX_YEARS_AHEAD;
+		if (targetYear < firstYear || targetYear > lastYear) {
+			throw new IllegalArgumentException("year must be between " + firstYear + " and " + lastYear);
+		}
 
-		Set<LocalDate> bookedDates = bookings.stream().flatMap(booking -> {
-			LocalDate start = booking.getStartDate().toLocalDate();
-			LocalDate end = booking.getEndDate().toLocalDate();
-			return start.datesUntil(end.plusDays(1));
-		}).collect(Collectors.toSet());
+		List<MonthAvailability> range = carAvailabilityCalendar.getMonths(id, YearMonth.of(targetYear, targetMonth),
+				months);
+		MonthAvailability requested = range.get(0);
 
 		Map<String, Object> response = new HashMap<>();
 		response.put("carId", id);
 		response.put("year", targetYear);
 		response.put("month", targetMonth);
-		response.put("bookedDates", bookedDates.stream().map(LocalDate::toString).collect(Collectors.toList()));
-		response.put("totalBookings", bookings.size());
+		response.put("bookedDates", requested.bookedDates());
+		response.put("totalBookings", requested.totalBookings());
+
+		if (range.size() > 1) {
+			response.put("months", range.stream().map(availability -> Map.of(
+					"year", availability.month().getYear(),
+					"month", availability.month().getMonthValue(),
+					"bookedDates", availability.bookedDates(),
+					"totalBookings", availability.totalBookings())).collect(Collectors.toList()));
+		}
 
 		return ResponseEntity.ok(response);
 	}
-}
\ No newline at end of file
+}
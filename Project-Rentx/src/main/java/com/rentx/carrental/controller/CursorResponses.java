@@ -0,0 +1,53 @@
+package com.rentx.carrental.controller;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.rentx.carrental.dto.CursorPage;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Response shapes shared by the paginated admin listings: a JSON array with the
+ * next cursor in {@value #NEXT_CURSOR_HEADER}, or newline-delimited JSON
+ * written row by row as the database cursor advances.
+ */
+final class CursorResponses {
+
+	static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+	static final String NDJSON_PARAM = "format=ndjson";
+
+	private CursorResponses() {
+	}
+
+	static <T> ResponseEntity<List<T>> page(CursorPage<T> page) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.nextCursor() != null) {
+			response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+		}
+		return response.body(page.items());
+	}
+
+	static <T> ResponseEntity<StreamingResponseBody> ndjson(JsonMapper jsonMapper, Consumer<Consumer<T>> producer) {
+		StreamingResponseBody body = outputStream -> {
+			BufferedOutputStream buffered = new BufferedOutputStream(outputStream, 16 * 1024);
+			producer.accept(row -> {
+				try {
+					buffered.write(jsonMapper.writeValueAsBytes(row));
+					buffered.write('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			buffered.flush();
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+}
@@ -1,8 +1,12 @@
 package com.rentx.carrental.controller;
 
+import com.rentx.carrental.exception.PaymentGatewayUnavailableException;
+import com.rentx.carrental.exception.PaymentOutcomeUnknownException;
 import com.rentx.carrental.service.PaymentService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,10 +17,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/payments")
 @RequiredArgsConstructor
+@Slf4j
 @CrossOrigin(origins = "http://localhost:5173")
 public class PaymentController {
 
@@ -26,18 +33,31 @@ public class PaymentController {
 	private String razorpayKeyId;
 
 	@PostMapping("/create-order")
-	public ResponseEntity<?> createOrder(@RequestBody Map<String, Object> request) {
+	public CompletableFuture<ResponseEntity<?>> createOrder(@RequestBody Map<String, Object> request) {
 		try {
 			Long bookingId = Long.valueOf(request.get("bookingId").toString());
 			Double amount = Double.valueOf(request.get("amount").toString());
 
-			String order = paymentService.createOrder(bookingId, amount);
-			return ResponseEntity.ok(order);
+			return paymentService.createOrder(bookingId, amount)
+					.<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+					.exceptionally(this::orderError);
 		} catch (Exception e) {
-			return ResponseEntity.badRequest().body("Error creating order: " + e.getMessage());
+			return CompletableFuture.completedFuture(orderError(e));
 		}
 	}
 
+	private ResponseEntity<?> orderError(Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		if (cause instanceof PaymentGatewayUnavailableException) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error creating order: " + cause.getMessage());
+		}
+		if (cause instanceof PaymentOutcomeUnknownException) {
+			// The order may exist at Razorpay, so this is not a bad request and not safe to retry blindly.
+			return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body("Error creating order: " + cause.getMessage());
+		}
+		return ResponseEntity.badRequest().body("Error creating order: " + cause.getMessage());
+	}
+
 	@GetMapping("/config")
 	public ResponseEntity<?> getRazorpayConfig() {
 		try {
@@ -67,20 +87,20 @@ public class PaymentController {
 			String razorpayPaymentId = request.get("razorpay_payment_id");
 			String razorpaySignature = request.get("razorpay_signature");
 
-			System.out.println("Order ID: " + razorpayOrderId);
-			System.out.println("Payment ID: " + razorpayPaymentId);
+			log.debug("Order ID: {}", razorpayOrderId);
+			log.debug("Payment ID: {}", razorpayPaymentId);
 
 			boolean isVerified = paymentService.verifyPayment(razorpayOrderId, razorpayPaymentId, razorpaySignature);
 
 			if (isVerified) {
-				System.out.println("Payment verification successful");
+				log.info("Payment verification successful");
 				return ResponseEntity.ok().body("Payment verified successfully");
 			} else {
-				System.out.println("Payment verification failed");
+				log.warn("Payment verification failed for order {}", razorpayOrderId);
 				return ResponseEntity.badRequest().body("Payment verification failed");
 			}
 		} catch (Exception e) {
-			System.err.println("Error in payment verification: " + e.getMessage());
+			log.error("Error in payment verification: {}", e.getMessage());
 			return ResponseEntity.badRequest().body("Error verifying payment: " + e.getMessage());
 		}
 	}
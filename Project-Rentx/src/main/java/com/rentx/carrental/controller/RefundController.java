@@ -1,8 +1,10 @@
 package com.rentx.carrental.controller;
 
+import com.rentx.carrental.dto.BookingResponse;
 import com.rentx.carrental.entity.Booking;
 import com.rentx.carrental.entity.Booking.RefundStatus;
 import com.rentx.carrental.repository.BookingRepository;
+import com.rentx.carrental.service.AdminListingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,7 +12,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 import java.util.List;
 import java.util.Map;
 
@@ -20,11 +25,18 @@ import java.util.Map;
 public class RefundController {
     
     private final BookingRepository bookingRepository;
+    private final AdminListingService adminListingService;
+    private final JsonMapper jsonMapper;
     
     @GetMapping("/pending")
-    public ResponseEntity<List<Booking>> getPendingRefunds() {
-        List<Booking> pendingRefunds = bookingRepository.findByRefundStatus(RefundStatus.PENDING);
-        return ResponseEntity.ok(pendingRefunds);
+    public ResponseEntity<List<BookingResponse>> getPendingRefunds(@RequestParam(required = false) Long cursor,
+                                                           @RequestParam(required = false) Integer limit) {
+        return CursorResponses.page(adminListingService.pendingRefunds(cursor, limit));
+    }
+    
+    @GetMapping(value = "/pending", params = CursorResponses.NDJSON_PARAM)
+    public ResponseEntity<StreamingResponseBody> streamPendingRefunds() {
+        return CursorResponses.ndjson(jsonMapper, adminListingService::streamPendingRefunds);
     }
     
     @PostMapping("/{bookingId}/process")
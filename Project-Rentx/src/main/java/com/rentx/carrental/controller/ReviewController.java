@@ -1,6 +1,8 @@
 package com.rentx.carrental.controller;
 
+import com.rentx.carrental.entity.CarRating;
 import com.rentx.carrental.entity.Review;
+import com.rentx.carrental.service.CarRatingService;
 import com.rentx.carrental.service.ReviewService;
 
 import lombok.Data;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import java.util.HashMap;
 import java.util.List;
@@ -23,6 +26,7 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:5173")
 public class ReviewController {
 	private final ReviewService reviewService;
+	private final CarRatingService carRatingService;
 
 	@PostMapping
 	public ResponseEntity<?> createReview(@RequestBody ReviewRequest request) {
@@ -36,18 +40,20 @@ public class ReviewController {
 	}
 
 	@GetMapping("/car/{carId}")
-	public ResponseEntity<List<Review>> getCarReviews(@PathVariable Long carId) {
-		return ResponseEntity.ok(reviewService.getCarReviews(carId));
+	public ResponseEntity<List<Review>> getCarReviews(@PathVariable Long carId,
+			@RequestParam(required = false) Long cursor, @RequestParam(required = false) Integer limit) {
+		return CursorResponses.page(reviewService.getCarReviews(carId, cursor, limit));
 	}
 
 	@GetMapping("/car/{carId}/rating")
 	public ResponseEntity<Map<String, Object>> getCarRating(@PathVariable Long carId) {
-		Double averageRating = reviewService.getCarAverageRating(carId);
-		Long reviewCount = reviewService.getCarReviewCount(carId);
+		CarRating rating = carRatingService.getRating(carId);
 
 		Map<String, Object> response = new HashMap<>();
-		response.put("averageRating", averageRating != null ? Math.round(averageRating * 10.0) / 10.0 : 0);
-		response.put("reviewCount", reviewCount);
+		response.put("averageRating", rating.getReviewCount() > 0
+				? Math.round(rating.getAverageRating() * 10.0) / 10.0
+				: 0);
+		response.put("reviewCount", rating.getReviewCount());
 		response.put("carId", carId);
 
 		return ResponseEntity.ok(response);
@@ -19,6 +19,7 @@ import com.rentx.carrental.entity.AdminRequest;
 import com.rentx.carrental.entity.User;
 import com.rentx.carrental.repository.AdminRequestRepository;
 import com.rentx.carrental.repository.UserRepository;
+import com.rentx.carrental.security.PrincipalCache;
 import com.rentx.carrental.service.AdminRequestService;
 import lombok.RequiredArgsConstructor;
 
@@ -31,6 +32,7 @@ public class UserController {
 	private final AdminRequestService adminRequestService;
 	private final UserRepository userRepository;
 	private final AdminRequestRepository adminRequestRepository;
+	private final PrincipalCache principalCache;
 
 	@PostMapping("/request-admin")
 	public ResponseEntity<?> requestAdminRole(@RequestBody Map<String, String> request) {
@@ -46,11 +48,7 @@ public class UserController {
 	@GetMapping("/my-admin-requests")
 	public ResponseEntity<?> getMyAdminRequests() {
 		try {
-			Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-			String username = authentication.getName();
-
-			User user = userRepository.findByUsername(username)
-					.orElseThrow(() -> new RuntimeException("User not found"));
+			User user = principalCache.currentUser();
 
 			List<AdminRequest> userRequests = adminRequestRepository.findByUserId(user.getId());
 
@@ -81,11 +79,7 @@ public class UserController {
 	@GetMapping("/profile")
 	public ResponseEntity<?> getCurrentUserProfile() {
 		try {
-			Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-			String username = authentication.getName();
-
-			User user = userRepository.findByUsername(username)
-					.orElseThrow(() -> new RuntimeException("User not found"));
+			User user = principalCache.currentUser();
 
 			Map<String, Object> userProfile = new HashMap<>();
 			userProfile.put("id", user.getId());
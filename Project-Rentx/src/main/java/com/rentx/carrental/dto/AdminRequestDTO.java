@@ -0,0 +1,19 @@
+package com.rentx.carrental.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class AdminRequestDTO {
+    private Long id;
+    private UserDTO user;
+    private String message;
+    private String status;
+    private LocalDateTime requestedAt;
+    private LocalDateTime processedAt;
+    private UserDTO processedBy;
+    private String adminNotes;
+}
@@ -0,0 +1,20 @@
+package com.rentx.carrental.dto;
+
+import java.time.LocalDateTime;
+
+import com.rentx.carrental.entity.Booking.BookingStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingWindow {
+	private Long bookingId;
+	private Long carId;
+	private LocalDateTime startDate;
+	private LocalDateTime endDate;
+	private BookingStatus status;
+}
@@ -0,0 +1,10 @@
+package com.rentx.carrental.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page. {@code nextCursor} is the id to pass as {@code cursor} for
+ * the following page, or {@code null} when this was the last one.
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor) {
+}
@@ -0,0 +1,26 @@
+package com.rentx.carrental.dto;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Booked days of one car in one month; bit {@code d - 1} of {@code bookedDays}
+ * is set when day {@code d} is booked.
+ */
+public record MonthAvailability(YearMonth month, int bookedDays, int totalBookings) {
+
+	public boolean isBooked(int dayOfMonth) {
+		return (bookedDays & (1 << (dayOfMonth - 1))) != 0;
+	}
+
+	public List<String> bookedDates() {
+		List<String> dates = new ArrayList<>(Integer.bitCount(bookedDays));
+		for (int day = 1; day <= month.lengthOfMonth(); day++) {
+			if (isBooked(day)) {
+				dates.add(month.atDay(day).toString());
+			}
+		}
+		return dates;
+	}
+}
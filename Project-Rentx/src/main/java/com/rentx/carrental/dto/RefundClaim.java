@@ -0,0 +1,14 @@
+package com.rentx.carrental.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefundClaim {
+	private Long bookingId;
+	private Double refundAmount;
+	private String paymentStatus;
+}
@@ -0,0 +1,16 @@
+package com.rentx.carrental.dto;
+
+/**
+ * One row of the admin statistics aggregate: how many {@code kind} rows
+ * (BOOKING, USER or CAR) fall into {@code bucket} (a booking status, user role
+ * or AVAILABLE/UNAVAILABLE), plus the paid revenue for booking buckets.
+ */
+public interface StatsBucket {
+	String getKind();
+
+	String getBucket();
+
+	Long getTotal();
+
+	Double getAmount();
+}
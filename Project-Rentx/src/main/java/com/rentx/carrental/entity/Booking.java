@@ -6,8 +6,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.rentx.carrental.event.BookingEntityListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -18,15 +20,21 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Transient;
 
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners(BookingEntityListener.class)
 @Table(name = "booking")
 @Data
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "booking_ids")
+    @TableGenerator(name = "booking_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "booking",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
     
     @JsonIgnore
@@ -65,6 +73,13 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     private RefundStatus refundStatus = RefundStatus.NONE;
     
+    // Set while the refund processor owns this booking's pending refund.
+    @JsonIgnore
+    private String refundClaimToken;
+    
+    @JsonIgnore
+    private LocalDateTime refundClaimedAt;
+    
     @Enumerated(EnumType.STRING)
     private PickupStatus pickupStatus = PickupStatus.PENDING;
     
@@ -72,6 +87,23 @@ public class Booking {
     private Double extraCharges = 0.0;
     private String pickupNotes;
     
+    // State as last loaded or flushed, so change events can carry what a write changed.
+    @Transient
+    @JsonIgnore
+    private BookingStatus loadedStatus;
+    
+    @Transient
+    @JsonIgnore
+    private double loadedPaidAmount;
+    
+    @Transient
+    @JsonIgnore
+    private LocalDateTime loadedStartDate;
+    
+    @Transient
+    @JsonIgnore
+    private LocalDateTime loadedEndDate;
+    
     @PrePersist
     protected void onCreate() {
         bookingDate = LocalDateTime.now();
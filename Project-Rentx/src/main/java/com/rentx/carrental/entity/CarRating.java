@@ -0,0 +1,34 @@
+package com.rentx.carrental.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running review totals for one car, so a rating is a primary-key read instead
+ * of an aggregate over all of the car's reviews.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "car_rating")
+@Data
+public class CarRating {
+    @Id
+    @Column(name = "car_id")
+    private Long carId;
+    
+    @Column(nullable = false)
+    private long ratingSum;
+    
+    @Column(nullable = false)
+    private long reviewCount;
+    
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+}
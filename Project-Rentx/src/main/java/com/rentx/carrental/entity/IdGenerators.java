@@ -0,0 +1,18 @@
+package com.rentx.carrental.entity;
+
+/**
+ * Shared settings of the pooled table generator used by entities written in
+ * bulk. Unlike {@code IDENTITY}, ids are handed out from blocks reserved in
+ * {@link #TABLE}, so Hibernate can batch their inserts.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    /** Ids reserved per round-trip; matches {@code hibernate.jdbc.batch_size}. */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
@@ -0,0 +1,98 @@
+package com.rentx.carrental.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_due", columnList = "status, nextAttemptAt"),
+        @Index(name = "idx_email_outbox_claim", columnList = "claimToken") })
+@Data
+@NoArgsConstructor
+public class OutboxEmail {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "email_outbox_ids")
+    @TableGenerator(name = "email_outbox_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "email_outbox",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String subject;
+
+    /** Plain-text body; always present, and the alternative part of an HTML mail. */
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    /** TEXT for plain mail, HTML for multipart mail that also carries {@link #htmlBody}. */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private ContentType contentType = ContentType.TEXT;
+
+    @Column(columnDefinition = "TEXT")
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String claimToken;
+    private LocalDateTime claimedAt;
+    private LocalDateTime sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    public OutboxEmail(String recipient, String subject, String body) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public OutboxEmail(String recipient, String subject, String body, String htmlBody) {
+        this(recipient, subject, body);
+        if (htmlBody != null) {
+            this.contentType = ContentType.HTML;
+            this.htmlBody = htmlBody;
+        }
+    }
+
+    /** Rows written before the column existed have no content type and are plain text. */
+    public boolean isHtml() {
+        return contentType == ContentType.HTML && htmlBody != null;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public enum OutboxStatus {
+        PENDING, SENDING, SENT, DEAD
+    }
+
+    public enum ContentType {
+        TEXT, HTML
+    }
+}
@@ -3,15 +3,26 @@ package com.rentx.carrental.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import java.time.LocalDateTime;
+import org.springframework.data.domain.Persistable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "payment")
+@Table(name = "payment", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_payment_razorpay_order_id", columnNames = "razorpay_order_id"),
+    @UniqueConstraint(name = "uk_payment_razorpay_payment_id", columnNames = "razorpay_payment_id")
+})
 @Data
-public class Payment {
+public class Payment implements Persistable<String> {
     @Id
     private String paymentId;
     
@@ -20,7 +31,7 @@ public class Payment {
     
     private Double amount;
     private String currency = "INR";
-    private String status; // CREATED, CAPTURED, FAILED, REFUNDED, PARTIALLY_REFUNDED
+    private String status; // CREATED, CAPTURED, FAILED, REFUND_PENDING, REFUNDED, PARTIALLY_REFUNDED
     private LocalDateTime paymentDate;
     private LocalDateTime refundDate;
     private Double refundAmount;
@@ -28,17 +39,44 @@ public class Payment {
     private String razorpayOrderId;
     private String razorpayPaymentId;
     private String razorpaySignature;
+
+    // The id is assigned, so save() cannot tell a new payment from a detached one and would merge it,
+    // a SELECT per row. Tracking whether the row exists lets new payments go straight to an INSERT.
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private boolean persisted;
     
     public static class PaymentStatus {
         public static final String CREATED = "CREATED";
         public static final String CAPTURED = "CAPTURED";
         public static final String FAILED = "FAILED";
+        /** A refund was sent but Razorpay has not confirmed it; look it up before sending another. */
+        public static final String REFUND_PENDING = "REFUND_PENDING";
         public static final String REFUNDED = "REFUNDED";
         public static final String PARTIALLY_REFUNDED = "PARTIALLY_REFUNDED";
     }
     
+    @Override
+    @JsonIgnore
+    public String getId() {
+        return paymentId;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
     @PrePersist
     protected void onCreate() {
         paymentDate = LocalDateTime.now();
     }
+
+    @PostLoad
+    @PostPersist
+    protected void markPersisted() {
+        persisted = true;
+    }
 }
\ No newline at end of file
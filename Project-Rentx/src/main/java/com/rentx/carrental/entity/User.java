@@ -2,6 +2,7 @@ package com.rentx.carrental.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -12,28 +13,43 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.rentx.carrental.event.UserEntityListener;
 
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "users")
+@EntityListeners(UserEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 @Data
 public class User implements UserDetails {
+    /** Second-level cache regions, sized by {@code app.cache.specs[userEntities]} and {@code [userNaturalIds]}. */
+    public static final String CACHE_REGION = "userEntities";
+    public static final String NATURAL_ID_CACHE_REGION = "userNaturalIds";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
     
@@ -51,6 +67,18 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private UserRole role = UserRole.CUSTOMER;
     
+    // Role as last loaded or flushed, so change events can tell a promotion apart.
+    @Transient
+    @JsonIgnore
+    private UserRole loadedRole;
+    
+    // Confirmed and completed bookings, kept current by LoyaltyService with SQL increments. Those bypass the
+    // entity cache, so read the counter with UserRepository.findLoyaltyBookingsById, never from a loaded user.
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "loyalty_bookings", nullable = false, insertable = false, updatable = false)
+    private int loyaltyBookings;
+    
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     @JsonIgnore
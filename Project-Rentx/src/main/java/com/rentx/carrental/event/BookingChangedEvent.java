@@ -0,0 +1,63 @@
+package com.rentx.carrental.event;
+
+import java.time.LocalDateTime;
+
+import com.rentx.carrental.entity.Booking;
+import com.rentx.carrental.entity.Booking.BookingStatus;
+
+/**
+ * A booking was saved or deleted. The user and payment fields are only known
+ * when the event comes from the entity itself and are {@code null} for bulk
+ * status transitions. {@code previousStatus} is the status before this write
+ * and {@code null} for a new booking; {@code paidAmountDelta} is how much this
+ * write changed the booking's contribution to paid revenue.
+ * {@code previousStartDate} and {@code previousEndDate} are the dates before
+ * this write, {@code null} for a new booking.
+ */
+public record BookingChangedEvent(Long bookingId, Long carId, Long userId, LocalDateTime startDate,
+		LocalDateTime endDate, BookingStatus status, boolean removed, LocalDateTime bookingDate,
+		String paymentMethodSelected, String paymentStatus, BookingStatus previousStatus, double paidAmountDelta,
+		LocalDateTime previousStartDate, LocalDateTime previousEndDate) {
+
+	public BookingChangedEvent(Long bookingId, Long carId, LocalDateTime startDate, LocalDateTime endDate,
+			BookingStatus status, LocalDateTime bookingDate, String paymentMethodSelected, String paymentStatus) {
+		this(bookingId, carId, null, startDate, endDate, status, false, bookingDate, paymentMethodSelected,
+				paymentStatus, status, 0.0, startDate, endDate);
+	}
+
+	public static BookingChangedEvent created(Booking booking) {
+		return of(booking, false, null, paidAmount(booking), null, null);
+	}
+
+	public static BookingChangedEvent updated(Booking booking) {
+		return of(booking, false, booking.getLoadedStatus(), paidAmount(booking) - booking.getLoadedPaidAmount(),
+				booking.getLoadedStartDate(), booking.getLoadedEndDate());
+	}
+
+	public static BookingChangedEvent removed(Booking booking) {
+		return of(booking, true, booking.getLoadedStatus(), -booking.getLoadedPaidAmount(),
+				booking.getLoadedStartDate(), booking.getLoadedEndDate());
+	}
+
+	public static BookingChangedEvent transitioned(Long bookingId, Long carId, LocalDateTime startDate,
+			LocalDateTime endDate, BookingStatus from, BookingStatus to) {
+		return new BookingChangedEvent(bookingId, carId, null, startDate, endDate, to, false, null, null, null, from,
+				0.0, startDate, endDate);
+	}
+
+	/** What the booking currently adds to paid revenue: its price once paid, otherwise nothing. */
+	public static double paidAmount(Booking booking) {
+		return Booking.PaymentStatus.PAID.equals(booking.getPaymentStatus()) && booking.getTotalPrice() != null
+				? booking.getTotalPrice()
+				: 0.0;
+	}
+
+	private static BookingChangedEvent of(Booking booking, boolean removed, BookingStatus previousStatus,
+			double paidAmountDelta, LocalDateTime previousStartDate, LocalDateTime previousEndDate) {
+		Long carId = booking.getCar() != null ? booking.getCar().getCarId() : null;
+		Long userId = booking.getUser() != null ? booking.getUser().getId() : null;
+		return new BookingChangedEvent(booking.getId(), carId, userId, booking.getStartDate(), booking.getEndDate(),
+				booking.getStatus(), removed, booking.getBookingDate(), booking.getPaymentMethodSelected(),
+				booking.getPaymentStatus(), previousStatus, paidAmountDelta, previousStartDate, previousEndDate);
+	}
+}
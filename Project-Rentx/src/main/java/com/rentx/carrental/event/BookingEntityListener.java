@@ -0,0 +1,47 @@
+package com.rentx.carrental.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.rentx.carrental.entity.Booking;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class BookingEntityListener {
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	@PostLoad
+	public void onLoaded(Booking booking) {
+		remember(booking);
+	}
+
+	@PostPersist
+	public void onCreated(Booking booking) {
+		eventPublisher.publishEvent(BookingChangedEvent.created(booking));
+		remember(booking);
+	}
+
+	@PostUpdate
+	public void onUpdated(Booking booking) {
+		eventPublisher.publishEvent(BookingChangedEvent.updated(booking));
+		remember(booking);
+	}
+
+	@PostRemove
+	public void onRemoved(Booking booking) {
+		eventPublisher.publishEvent(BookingChangedEvent.removed(booking));
+	}
+
+	// The flushed state is the baseline the next write in this persistence context is compared against.
+	private static void remember(Booking booking) {
+		booking.setLoadedStatus(booking.getStatus());
+		booking.setLoadedPaidAmount(BookingChangedEvent.paidAmount(booking));
+		booking.setLoadedStartDate(booking.getStartDate());
+		booking.setLoadedEndDate(booking.getEndDate());
+	}
+}
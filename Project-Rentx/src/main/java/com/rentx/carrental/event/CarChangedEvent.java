@@ -0,0 +1,27 @@
+package com.rentx.carrental.event;
+
+import com.rentx.carrental.entity.Car;
+
+/**
+ * A car was created, updated or deleted. {@code previous} is {@code null} for a
+ * new car and {@code current} is {@code null} for a deleted one.
+ */
+public record CarChangedEvent(Long carId, CarState previous, CarState current) {
+
+	public boolean removed() {
+		return current == null;
+	}
+
+	public record CarState(String brand, Car.CarCategory category, Double dailyRate, Boolean available,
+			Boolean active) {
+
+		public static CarState of(Car car) {
+			return new CarState(car.getBrand(), car.getCategory(), car.getDailyRate(), car.getAvailable(),
+					car.getActive());
+		}
+
+		public boolean listed() {
+			return Boolean.TRUE.equals(available) && Boolean.TRUE.equals(active);
+		}
+	}
+}
@@ -0,0 +1,4 @@
+package com.rentx.carrental.event;
+
+public record EmailQueuedEvent(Long outboxId) {
+}
@@ -0,0 +1,20 @@
+package com.rentx.carrental.event;
+
+import com.rentx.carrental.entity.User.UserRole;
+
+/**
+ * A user was created, changed their profile, role or credentials, or was
+ * deleted. Anything cached per user (most importantly the authenticated
+ * principal) must be reloaded. {@code previousRole} is {@code null} for a new
+ * user and {@code role} is {@code null} for a deleted one.
+ */
+public record UserChangedEvent(Long userId, String username, UserRole previousRole, UserRole role) {
+
+	public boolean created() {
+		return previousRole == null && role != null;
+	}
+
+	public boolean removed() {
+		return role == null;
+	}
+}
@@ -0,0 +1,40 @@
+package com.rentx.carrental.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.rentx.carrental.entity.User;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	@PostLoad
+	public void onLoaded(User user) {
+		user.setLoadedRole(user.getRole());
+	}
+
+	@PostPersist
+	public void onCreated(User user) {
+		eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), null, user.getRole()));
+		user.setLoadedRole(user.getRole());
+	}
+
+	@PostUpdate
+	public void onUpdated(User user) {
+		eventPublisher.publishEvent(
+				new UserChangedEvent(user.getId(), user.getUsername(), user.getLoadedRole(), user.getRole()));
+		user.setLoadedRole(user.getRole());
+	}
+
+	@PostRemove
+	public void onRemoved(User user) {
+		eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), user.getLoadedRole(), null));
+	}
+}
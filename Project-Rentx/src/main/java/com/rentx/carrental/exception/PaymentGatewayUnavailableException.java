@@ -0,0 +1,7 @@
+package com.rentx.carrental.exception;
+
+public class PaymentGatewayUnavailableException extends PaymentException {
+    public PaymentGatewayUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.rentx.carrental.exception;
+
+/**
+ * The gateway call may or may not have taken effect, typically because it timed
+ * out while the request was in flight. Callers must not repeat it blindly.
+ */
+public class PaymentOutcomeUnknownException extends PaymentException {
+    public PaymentOutcomeUnknownException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,119 @@
+package com.rentx.carrental.payment;
+
+import java.util.function.LongSupplier;
+
+import com.rentx.carrental.config.AppConfig;
+
+/**
+ * Count-based circuit breaker. Outcomes of the last {@code slidingWindowSize}
+ * calls are kept in a ring; once at least {@code minimumCalls} were seen and
+ * the failure share reaches the threshold the breaker opens and rejects calls
+ * for {@code openDuration}. It then lets {@code halfOpenCalls} probes through
+ * and closes when all of them succeed, or opens again on the first failure.
+ * Guarded by the instance lock; the calls it protects are remote round trips,
+ * so contention is irrelevant.
+ */
+final class CircuitBreaker {
+
+	enum State {
+		CLOSED, HALF_OPEN, OPEN
+	}
+
+	private final AppConfig.Payment.CircuitBreaker config;
+	private final LongSupplier nanoClock;
+	private final boolean[] failed;
+
+	private State state = State.CLOSED;
+	private int next;
+	private int recorded;
+	private int failures;
+	private long openedAt;
+	private int probesInFlight;
+	private int probesSucceeded;
+
+	CircuitBreaker(AppConfig.Payment.CircuitBreaker config, LongSupplier nanoClock) {
+		this.config = config;
+		this.nanoClock = nanoClock;
+		this.failed = new boolean[Math.max(1, config.getSlidingWindowSize())];
+	}
+
+	synchronized State state() {
+		return state;
+	}
+
+	/** Whether a call may go ahead; every admitted call must be reported back exactly once. */
+	synchronized boolean tryAcquire() {
+		if (state == State.OPEN) {
+			if (nanoClock.getAsLong() - openedAt < config.getOpenDuration().toNanos()) {
+				return false;
+			}
+			state = State.HALF_OPEN;
+			probesInFlight = 0;
+			probesSucceeded = 0;
+		}
+		if (state == State.HALF_OPEN) {
+			if (probesInFlight >= config.getHalfOpenCalls()) {
+				return false;
+			}
+			probesInFlight++;
+		}
+		return true;
+	}
+
+	synchronized void onSuccess() {
+		if (state == State.HALF_OPEN) {
+			if (++probesSucceeded >= config.getHalfOpenCalls()) {
+				reset(State.CLOSED);
+			}
+		} else if (state == State.CLOSED) {
+			record(false);
+		}
+	}
+
+	synchronized void onFailure() {
+		if (state == State.HALF_OPEN) {
+			open();
+		} else if (state == State.CLOSED) {
+			record(true);
+			if (recorded >= config.getMinimumCalls() && failures >= config.getFailureRateThreshold() * recorded) {
+				open();
+			}
+		}
+	}
+
+	/** An admitted call that says nothing about the gateway's health, e.g. a rejected request. */
+	synchronized void onIgnored() {
+		if (state == State.HALF_OPEN && probesInFlight > 0) {
+			probesInFlight--;
+		}
+	}
+
+	private void record(boolean failure) {
+		if (recorded == failed.length) {
+			if (failed[next]) {
+				failures--;
+			}
+		} else {
+			recorded++;
+		}
+		failed[next] = failure;
+		if (failure) {
+			failures++;
+		}
+		next = (next + 1) % failed.length;
+	}
+
+	private void open() {
+		reset(State.OPEN);
+		openedAt = nanoClock.getAsLong();
+	}
+
+	private void reset(State newState) {
+		state = newState;
+		next = 0;
+		recorded = 0;
+		failures = 0;
+		probesInFlight = 0;
+		probesSucceeded = 0;
+	}
+}
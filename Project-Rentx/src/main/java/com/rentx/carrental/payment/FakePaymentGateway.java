@@ -0,0 +1,98 @@
+package com.rentx.carrental.payment;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.json.JSONObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.rentx.carrental.config.AppConfig;
+import com.rentx.carrental.exception.PaymentException;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process {@link PaymentGateway} for local runs and load tests, enabled with
+ * {@code app.payment.gateway=fake}. Orders and refunds succeed after
+ * {@code app.payment.fake.latency}, and {@code app.payment.fake.failure-rate}
+ * makes that share of calls fail, so the booking and payment flow can be
+ * driven at full speed without touching Razorpay.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.payment.gateway", havingValue = "fake")
+public class FakePaymentGateway implements PaymentGateway {
+
+	private final AppConfig.Payment.Fake config;
+	private final Executor delayed;
+	// Issued refunds by payment and receipt, so lookups after an unconfirmed refund find them.
+	private final Map<String, GatewayRefund> refunds = new ConcurrentHashMap<>();
+
+	public FakePaymentGateway(AppConfig appConfig) {
+		this.config = appConfig.getPayment().getFake();
+		this.delayed = CompletableFuture.delayedExecutor(config.getLatency().toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@PostConstruct
+	void warn() {
+		log.warn("Fake payment gateway active: no real orders or refunds will be made");
+	}
+
+	@Override
+	public CompletableFuture<GatewayOrder> createOrder(long amountPaise, String currency, String receipt) {
+		return respond(() -> {
+			String id = newId("order_");
+			JSONObject order = new JSONObject();
+			order.put("id", id);
+			order.put("entity", "order");
+			order.put("amount", amountPaise);
+			order.put("amount_paid", 0);
+			order.put("amount_due", amountPaise);
+			order.put("currency", currency);
+			order.put("receipt", receipt);
+			order.put("status", "created");
+			order.put("attempts", 0);
+			order.put("created_at", System.currentTimeMillis() / 1000);
+			return new GatewayOrder(id, order.toString());
+		});
+	}
+
+	@Override
+	public CompletableFuture<GatewayRefund> refund(String paymentId, long amountPaise, String receipt) {
+		return respond(
+				() -> refunds.computeIfAbsent(paymentId + "|" + receipt, key -> new GatewayRefund(newId("rfnd_"))));
+	}
+
+	@Override
+	public CompletableFuture<Optional<GatewayRefund>> findRefund(String paymentId, String receipt) {
+		return respond(() -> Optional.ofNullable(refunds.get(paymentId + "|" + receipt)));
+	}
+
+	/** Razorpay-shaped id; random so ids stay unique across restarts. */
+	private static String newId(String prefix) {
+		String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+		StringBuilder id = new StringBuilder(prefix).append("fake");
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < 14; i++) {
+			id.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return id.toString();
+	}
+
+	private <T> CompletableFuture<T> respond(Supplier<T> body) {
+		return CompletableFuture.supplyAsync(() -> {
+			if (ThreadLocalRandom.current().nextDouble() < config.getFailureRate()) {
+				throw new PaymentException("Simulated payment gateway failure");
+			}
+			return body.get();
+		}, delayed);
+	}
+}
@@ -0,0 +1,29 @@
+package com.rentx.carrental.payment;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The card payment provider. Calls never block the caller: each returns a
+ * future that the gateway completes, exceptionally with a
+ * {@link com.rentx.carrental.exception.PaymentException} when the call failed
+ * or was not attempted, or with a
+ * {@link com.rentx.carrental.exception.PaymentOutcomeUnknownException} when it
+ * may have taken effect at the provider anyway.
+ */
+public interface PaymentGateway {
+
+	CompletableFuture<GatewayOrder> createOrder(long amountPaise, String currency, String receipt);
+
+	CompletableFuture<GatewayRefund> refund(String paymentId, long amountPaise, String receipt);
+
+	/** The refund of {@code paymentId} issued with {@code receipt}, if the provider has one. */
+	CompletableFuture<Optional<GatewayRefund>> findRefund(String paymentId, String receipt);
+
+	/** A created order; {@code json} is the provider's order object as handed to the checkout page. */
+	record GatewayOrder(String id, String json) {
+	}
+
+	record GatewayRefund(String id) {
+	}
+}
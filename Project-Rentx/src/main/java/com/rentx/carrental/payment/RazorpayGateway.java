@@ -0,0 +1,231 @@
+package com.rentx.carrental.payment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.json.JSONObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.razorpay.Order;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import com.razorpay.Refund;
+import com.rentx.carrental.config.AppConfig;
+import com.rentx.carrental.exception.PaymentException;
+import com.rentx.carrental.exception.PaymentGatewayUnavailableException;
+import com.rentx.carrental.exception.PaymentOutcomeUnknownException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link PaymentGateway} backed by the blocking Razorpay SDK. Calls run on a
+ * dedicated pool so request threads never wait on the network, and are guarded
+ * by, in order:
+ * <ul>
+ * <li>a circuit breaker that fails fast while Razorpay keeps failing,</li>
+ * <li>a bulkhead of {@code maxConcurrentCalls} permits; a call that finds none
+ * is rejected rather than queued,</li>
+ * <li>a per-attempt timeout. The permit is only returned when the SDK call
+ * itself ends, so hung calls keep counting against the bulkhead,</li>
+ * <li>retries with exponential backoff for order creation and lookups, limited
+ * by a {@link RetryBudget}. A timed-out order is not retried because the
+ * abandoned call may still create it, and refunds are never retried because a
+ * retried refund could be paid out twice.</li>
+ * </ul>
+ * Razorpay's 4xx answers ({@code BAD_REQUEST_ERROR}) are the caller's fault:
+ * they are neither retried nor counted against the breaker. A timeout, or any
+ * other failure of a refund, completes with
+ * {@link PaymentOutcomeUnknownException} since Razorpay may have acted on it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.payment.gateway", havingValue = "razorpay", matchIfMissing = true)
+public class RazorpayGateway implements PaymentGateway {
+
+	private final RazorpayClient razorpayClient;
+	private final MeterRegistry meterRegistry;
+	private final AppConfig.Payment config;
+	private final ExecutorService workers;
+	private final Semaphore permits;
+	private final CircuitBreaker circuitBreaker;
+	private final RetryBudget retryBudget;
+
+	public RazorpayGateway(RazorpayClient razorpayClient, AppConfig appConfig, MeterRegistry meterRegistry) {
+		this.razorpayClient = razorpayClient;
+		this.meterRegistry = meterRegistry;
+		this.config = appConfig.getPayment();
+		this.permits = new Semaphore(config.getMaxConcurrentCalls());
+		this.circuitBreaker = new CircuitBreaker(config.getCircuitBreaker(), System::nanoTime);
+		this.retryBudget = new RetryBudget(config.getRetry(), System::nanoTime);
+
+		AtomicInteger threads = new AtomicInteger();
+		this.workers = Executors.newFixedThreadPool(config.getMaxConcurrentCalls(), runnable -> {
+			Thread thread = new Thread(runnable, "razorpay-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		new ExecutorServiceMetrics(workers, "razorpay", List.of()).bindTo(meterRegistry);
+		Gauge.builder("payment.gateway.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+				.description("0 closed, 1 half-open, 2 open")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public CompletableFuture<GatewayOrder> createOrder(long amountPaise, String currency, String receipt) {
+		JSONObject orderRequest = new JSONObject();
+		orderRequest.put("amount", amountPaise);
+		orderRequest.put("currency", currency);
+		orderRequest.put("receipt", receipt);
+		orderRequest.put("payment_capture", 1);
+
+		return call("orders.create", true, () -> {
+			Order order = razorpayClient.orders.create(orderRequest);
+			return new GatewayOrder(order.get("id"), order.toString());
+		});
+	}
+
+	@Override
+	public CompletableFuture<GatewayRefund> refund(String paymentId, long amountPaise, String receipt) {
+		JSONObject refundRequest = new JSONObject();
+		refundRequest.put("amount", amountPaise);
+		refundRequest.put("speed", "normal");
+		refundRequest.put("receipt", receipt);
+
+		return call("payments.refund", false, () -> {
+			Refund refund = razorpayClient.payments.refund(paymentId, refundRequest);
+			return new GatewayRefund(refund.get("id"));
+		});
+	}
+
+	@Override
+	public CompletableFuture<Optional<GatewayRefund>> findRefund(String paymentId, String receipt) {
+		return call("payments.refunds", true, () -> razorpayClient.payments.fetchAllRefunds(paymentId).stream()
+				.filter(refund -> receipt.equals(refund.toJson().optString("receipt")))
+				.map(refund -> new GatewayRefund(refund.get("id")))
+				.findFirst());
+	}
+
+	@FunctionalInterface
+	private interface RazorpayCall<T> {
+		T call() throws RazorpayException;
+	}
+
+	private <T> CompletableFuture<T> call(String operation, boolean retryable, RazorpayCall<T> call) {
+		retryBudget.onRequest();
+		CompletableFuture<T> result = new CompletableFuture<>();
+		attempt(operation, retryable, call, 0, result);
+		return result;
+	}
+
+	private <T> void attempt(String operation, boolean retryable, RazorpayCall<T> call, int attempt,
+			CompletableFuture<T> result) {
+		if (!circuitBreaker.tryAcquire()) {
+			reject(operation, "circuit_open", result);
+			return;
+		}
+		if (!permits.tryAcquire()) {
+			circuitBreaker.onIgnored();
+			reject(operation, "bulkhead_full", result);
+			return;
+		}
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		CompletableFuture<T> future;
+		try {
+			future = CompletableFuture.supplyAsync(() -> {
+				try {
+					return call.call();
+				} catch (RazorpayException e) {
+					throw new CompletionException(e);
+				} finally {
+					permits.release();
+				}
+			}, workers);
+		} catch (RejectedExecutionException e) {
+			permits.release();
+			circuitBreaker.onIgnored();
+			reject(operation, "shutdown", result);
+			return;
+		}
+
+		future.orTimeout(config.getCallTimeout().toMillis(), TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+			Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+					: error;
+			sample.stop(meterRegistry.timer("razorpay.requests", "operation", operation, "outcome", outcome(cause)));
+			if (cause == null) {
+				circuitBreaker.onSuccess();
+				result.complete(value);
+				return;
+			}
+			if (isClientError(cause)) {
+				circuitBreaker.onIgnored();
+				result.completeExceptionally(new PaymentException(cause.getMessage(), cause));
+				return;
+			}
+			circuitBreaker.onFailure();
+			boolean timedOut = cause instanceof TimeoutException;
+			if (retryable && !timedOut && attempt < config.getRetry().getMaxRetries() && retryBudget.tryRetry()) {
+				long backoff = backoffMillis(attempt);
+				log.warn("Razorpay {} failed ({}), retrying in {}ms", operation, cause.getMessage(), backoff);
+				meterRegistry.counter("payment.gateway.retries", "operation", operation).increment();
+				CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS)
+						.execute(() -> attempt(operation, true, call, attempt + 1, result));
+				return;
+			}
+			if (timedOut || !retryable) {
+				String message = timedOut ? "timed out" : cause.getMessage();
+				result.completeExceptionally(
+						new PaymentOutcomeUnknownException("Payment gateway did not confirm " + operation + ": " + message,
+								cause));
+				return;
+			}
+			result.completeExceptionally(new PaymentException("Payment gateway call failed: " + cause.getMessage(), cause));
+		});
+	}
+
+	private void reject(String operation, String reason, CompletableFuture<?> result) {
+		meterRegistry.counter("payment.gateway.rejected", "operation", operation, "reason", reason).increment();
+		result.completeExceptionally(
+				new PaymentGatewayUnavailableException("Payment gateway temporarily unavailable, please retry"));
+	}
+
+	private long backoffMillis(int attempt) {
+		Duration initial = config.getRetry().getInitialBackoff();
+		long base = initial.toMillis() << Math.min(attempt, 10);
+		return base + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+	}
+
+	private static boolean isClientError(Throwable cause) {
+		return cause instanceof RazorpayException && cause.getMessage() != null
+				&& cause.getMessage().startsWith("BAD_REQUEST_ERROR");
+	}
+
+	private static String outcome(Throwable cause) {
+		if (cause == null) {
+			return "success";
+		}
+		return cause instanceof TimeoutException ? "timeout" : "error";
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		workers.shutdown();
+	}
+}
@@ -0,0 +1,65 @@
+package com.rentx.carrental.payment;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks Razorpay checkout signatures, {@code HMAC-SHA256(orderId|paymentId)}
+ * under the key secret. Each thread keeps its own initialised {@link Mac}, so a
+ * check costs one digest rather than a provider lookup and key setup.
+ */
+@Component
+public class RazorpaySignatureVerifier {
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	private final SecretKeySpec key;
+	private final ThreadLocal<Mac> macs;
+
+	public RazorpaySignatureVerifier(@Value("${razorpay.key.secret:}") String keySecret) {
+		this.key = keySecret.isEmpty() ? null : new SecretKeySpec(keySecret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+		this.macs = ThreadLocal.withInitial(this::newMac);
+	}
+
+	public boolean isConfigured() {
+		return key != null;
+	}
+
+	/** Hex signature Razorpay sends for a successful checkout of {@code orderId}. */
+	public String sign(String orderId, String paymentId) {
+		Mac mac = macs.get();
+		byte[] digest = mac.doFinal((orderId + "|" + paymentId).getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(digest);
+	}
+
+	public boolean verify(String orderId, String paymentId, String signature) {
+		return signature != null && matches(sign(orderId, paymentId), signature);
+	}
+
+	/** Constant-time comparison of two signatures. */
+	public static boolean matches(String expected, String actual) {
+		return expected != null && actual != null && MessageDigest.isEqual(
+				expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Mac newMac() {
+		if (key == null) {
+			throw new IllegalStateException("Razorpay key secret is not configured");
+		}
+		try {
+			Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("HmacSHA256 is not available", e);
+		}
+	}
+}
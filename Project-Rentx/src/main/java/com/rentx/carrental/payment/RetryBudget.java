@@ -0,0 +1,49 @@
+package com.rentx.carrental.payment;
+
+import java.util.function.LongSupplier;
+
+import com.rentx.carrental.config.AppConfig;
+
+/**
+ * Caps retries at a share of recent traffic, so that retrying cannot multiply
+ * the load on a gateway that is already failing. Within each budget window,
+ * {@code minRetriesPerWindow + budgetRatio * requests} retries are allowed.
+ */
+final class RetryBudget {
+
+	private final AppConfig.Payment.Retry config;
+	private final LongSupplier nanoClock;
+
+	private long windowStart;
+	private long requests;
+	private long retries;
+
+	RetryBudget(AppConfig.Payment.Retry config, LongSupplier nanoClock) {
+		this.config = config;
+		this.nanoClock = nanoClock;
+		this.windowStart = nanoClock.getAsLong();
+	}
+
+	synchronized void onRequest() {
+		roll();
+		requests++;
+	}
+
+	synchronized boolean tryRetry() {
+		roll();
+		if (retries >= config.getMinRetriesPerWindow() + (long) (config.getBudgetRatio() * requests)) {
+			return false;
+		}
+		retries++;
+		return true;
+	}
+
+	private void roll() {
+		long now = nanoClock.getAsLong();
+		if (now - windowStart >= config.getBudgetWindow().toNanos()) {
+			windowStart = now;
+			requests = 0;
+			retries = 0;
+		}
+	}
+}
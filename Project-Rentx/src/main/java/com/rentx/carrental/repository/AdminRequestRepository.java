@@ -1,11 +1,18 @@
 package com.rentx.carrental.repository;
 
 import com.rentx.carrental.entity.AdminRequest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AdminRequestRepository extends JpaRepository<AdminRequest, Long> {
@@ -14,11 +21,13 @@ public interface AdminRequestRepository extends JpaRepository<AdminRequest, Long
     boolean existsByUserIdAndStatus(Long userId, AdminRequest.RequestStatus status);
 	List<AdminRequest> findByUserId(Long userId);
 	List<AdminRequest> findByUserUsername(String username);
-	
-	
-	
-	
-	
-	
-	
+
+	@Query("SELECT r FROM AdminRequest r JOIN FETCH r.user LEFT JOIN FETCH r.processedBy " +
+	       "WHERE r.id < :beforeId ORDER BY r.id DESC")
+	List<AdminRequest> findPageBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+	              @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT r FROM AdminRequest r JOIN FETCH r.user LEFT JOIN FETCH r.processedBy ORDER BY r.id DESC")
+	Stream<AdminRequest> streamAllWithUsers();
 }
\ No newline at end of file
@@ -1,18 +1,30 @@
 package com.rentx.carrental.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.rentx.carrental.dto.BookingWindow;
+import com.rentx.carrental.dto.RefundClaim;
+import com.rentx.carrental.dto.StatsBucket;
 import com.rentx.carrental.entity.Booking;
 import com.rentx.carrental.entity.Booking.BookingStatus;
 import com.rentx.carrental.entity.Booking.PickupStatus;
 import com.rentx.carrental.entity.Booking.RefundStatus;
 import com.rentx.carrental.entity.User;
+import com.rentx.carrental.event.BookingChangedEvent;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -51,11 +63,6 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b JOIN FETCH b.car WHERE b.user = :user AND b.startDate > :date ORDER BY b.bookingDate DESC")
     List<Booking> findByUserAndStartDateAfterOrderByBookingDateDesc(@Param("user") User user, 
                                                                    @Param("date") LocalDateTime date);
-
-    @Query("SELECT b FROM Booking b JOIN FETCH b.car WHERE b.status = :status AND b.refundStatus = :refundStatus AND b.cancellationDate < :date")
-    List<Booking> findByStatusAndRefundStatusAndCancellationDateBefore(@Param("status") BookingStatus status, 
-                                                                      @Param("refundStatus") RefundStatus refundStatus,
-                                                                      @Param("date") LocalDateTime date);
     
     @Query("SELECT b FROM Booking b JOIN FETCH b.car WHERE b.refundStatus = :refundStatus")
     List<Booking> findByRefundStatus(@Param("refundStatus") RefundStatus refundStatus);
@@ -93,10 +100,11 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 	    @Param("cutoffDate") LocalDateTime cutoffDate
 	);
 
-	@Query("SELECT b FROM Booking b WHERE b.status = :status AND b.paymentMethodSelected = :paymentMethod AND b.startDate < :cutoffDate")
-	List<Booking> findByStatusAndPaymentMethodSelectedAndStartDateBefore(
-	    @Param("status") BookingStatus status,
+	@Query("SELECT b FROM Booking b WHERE b.status IN :statuses AND b.paymentMethodSelected = :paymentMethod AND b.pickupStatus = :pickupStatus AND b.startDate < :cutoffDate")
+	List<Booking> findByStatusInAndPaymentMethodSelectedAndPickupStatusAndStartDateBefore(
+	    @Param("statuses") Collection<BookingStatus> statuses,
 	    @Param("paymentMethod") String paymentMethod,
+	    @Param("pickupStatus") PickupStatus pickupStatus,
 	    @Param("cutoffDate") LocalDateTime cutoffDate
 	);
 
@@ -121,4 +129,98 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 	
 	@Query("SELECT COALESCE(SUM(b.totalPrice), 0.0) FROM Booking b WHERE b.paymentStatus = 'PAID'")
 	Double sumPaidRevenue();
-}
\ No newline at end of file
+
+	@Query("SELECT new com.rentx.carrental.dto.BookingWindow(b.id, b.car.carId, b.startDate, b.endDate, b.status) " +
+	       "FROM Booking b WHERE b.status IN :statuses")
+	List<BookingWindow> findWindowsByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+
+	@Query("SELECT new com.rentx.carrental.dto.BookingWindow(b.id, b.car.carId, b.startDate, b.endDate, b.status) " +
+	       "FROM Booking b WHERE b.status = :status AND b.startDate < :date AND b.id > :afterId ORDER BY b.id")
+	List<BookingWindow> findWindowsStartedBefore(@Param("status") BookingStatus status,
+	                                             @Param("date") LocalDateTime date,
+	                                             @Param("afterId") Long afterId,
+	                                             Pageable pageable);
+
+	@Query("SELECT new com.rentx.carrental.dto.BookingWindow(b.id, b.car.carId, b.startDate, b.endDate, b.status) " +
+	       "FROM Booking b WHERE b.status = :status AND b.endDate < :date AND b.id > :afterId ORDER BY b.id")
+	List<BookingWindow> findWindowsEndedBefore(@Param("status") BookingStatus status,
+	                                           @Param("date") LocalDateTime date,
+	                                           @Param("afterId") Long afterId,
+	                                           Pageable pageable);
+
+	@Query("SELECT new com.rentx.carrental.dto.BookingWindow(b.id, b.car.carId, b.startDate, b.endDate, b.status) " +
+	       "FROM Booking b WHERE b.id IN :ids")
+	List<BookingWindow> findWindowsByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Query("SELECT DISTINCT b.user.id FROM Booking b WHERE b.id IN :ids")
+	List<Long> findUserIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Query("UPDATE Booking b SET b.status = :to WHERE b.id IN :ids AND b.status = :from")
+	int transitionStatus(@Param("ids") Collection<Long> ids,
+	                     @Param("from") BookingStatus from,
+	                     @Param("to") BookingStatus to);
+
+	@Query("SELECT new com.rentx.carrental.event.BookingChangedEvent(b.id, b.car.carId, b.startDate, b.endDate, b.status, " +
+	       "b.bookingDate, b.paymentMethodSelected, b.paymentStatus) FROM Booking b WHERE b.status IN :statuses")
+	List<BookingChangedEvent> findDeadlineStatesByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+
+	@Query("SELECT b FROM Booking b JOIN FETCH b.car WHERE b.id < :beforeId ORDER BY b.id DESC")
+	List<Booking> findPageBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+	              @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT b FROM Booking b JOIN FETCH b.car ORDER BY b.id DESC")
+	Stream<Booking> streamAllWithCar();
+
+	@Query("SELECT b FROM Booking b JOIN FETCH b.car WHERE b.refundStatus = :refundStatus AND b.id < :beforeId " +
+	       "ORDER BY b.id DESC")
+	List<Booking> findByRefundStatusBefore(@Param("refundStatus") RefundStatus refundStatus,
+	                                       @Param("beforeId") Long beforeId,
+	                                       Pageable pageable);
+
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+	              @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT b FROM Booking b JOIN FETCH b.car WHERE b.refundStatus = :refundStatus ORDER BY b.id DESC")
+	Stream<Booking> streamByRefundStatus(@Param("refundStatus") RefundStatus refundStatus);
+
+	// Enum columns are cast so the UNION does not coerce every bucket to the booking status enum.
+	@Query(value = "SELECT 'BOOKING' AS kind, CAST(b.status AS CHAR(20)) AS bucket, COUNT(*) AS total, " +
+	       "COALESCE(SUM(CASE WHEN b.payment_status = 'PAID' THEN b.total_price ELSE 0 END), 0) AS amount " +
+	       "FROM booking b GROUP BY b.status " +
+	       "UNION ALL SELECT 'USER', CAST(u.role AS CHAR(20)), COUNT(*), 0 FROM users u GROUP BY u.role " +
+	       "UNION ALL SELECT 'CAR', CASE WHEN c.available = TRUE THEN 'AVAILABLE' ELSE 'UNAVAILABLE' END, COUNT(*), 0 " +
+	       "FROM car c GROUP BY CASE WHEN c.available = TRUE THEN 'AVAILABLE' ELSE 'UNAVAILABLE' END",
+	       nativeQuery = true)
+	List<StatsBucket> aggregateAdminStats();
+
+	@Query("SELECT b.id FROM Booking b WHERE b.status = 'CANCELLED' AND b.refundStatus = 'PENDING' " +
+	       "AND b.cancellationDate < :cutoff AND b.refundClaimToken IS NULL AND b.id > :afterId ORDER BY b.id")
+	List<Long> findDueRefundIds(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId,
+	                            Pageable pageable);
+
+	@Modifying
+	@Query("UPDATE Booking b SET b.refundClaimToken = :token, b.refundClaimedAt = :now " +
+	       "WHERE b.id IN :ids AND b.refundStatus = 'PENDING' AND b.refundClaimToken IS NULL")
+	int claimRefunds(@Param("ids") Collection<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now);
+
+	@Query("SELECT new com.rentx.carrental.dto.RefundClaim(b.id, b.refundAmount, b.paymentStatus) " +
+	       "FROM Booking b WHERE b.refundClaimToken = :token ORDER BY b.id")
+	List<RefundClaim> findRefundClaims(@Param("token") String token);
+
+	@Modifying
+	@Query("UPDATE Booking b SET b.refundStatus = :refundStatus, b.refundClaimToken = NULL, b.refundClaimedAt = NULL " +
+	       "WHERE b.id = :id AND b.refundClaimToken = :token")
+	int completeRefundClaim(@Param("id") Long id, @Param("token") String token,
+	                        @Param("refundStatus") RefundStatus refundStatus);
+
+	@Modifying
+	@Query("UPDATE Booking b SET b.refundClaimToken = NULL, b.refundClaimedAt = NULL " +
+	       "WHERE b.id IN :ids AND b.refundClaimToken = :token")
+	int releaseRefundClaims(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+	@Modifying
+	@Query("UPDATE Booking b SET b.refundClaimToken = NULL, b.refundClaimedAt = NULL " +
+	       "WHERE b.refundClaimToken IS NOT NULL AND b.refundClaimedAt < :cutoff")
+	int releaseStaleRefundClaims(@Param("cutoff") LocalDateTime cutoff);
+}
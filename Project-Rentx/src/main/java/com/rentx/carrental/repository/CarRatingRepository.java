@@ -0,0 +1,34 @@
+package com.rentx.carrental.repository;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.rentx.carrental.entity.CarRating;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface CarRatingRepository extends JpaRepository<CarRating, Long> {
+
+    // Without the native spaces hint every review would clear the Car and User second-level caches.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "car_rating"))
+    @Query(value = "INSERT INTO car_rating (car_id, rating_sum, review_count) VALUES (:carId, :rating, 1) " +
+                   "ON DUPLICATE KEY UPDATE rating_sum = rating_sum + :rating, review_count = review_count + 1",
+           nativeQuery = true)
+    int addRating(@Param("carId") Long carId, @Param("rating") int rating);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "car_rating"))
+    @Query(value = "INSERT INTO car_rating (car_id, rating_sum, review_count) " +
+                   "SELECT r.car_id, SUM(r.rating), COUNT(*) FROM reviews r " +
+                   "WHERE r.car_id IS NOT NULL AND r.rating IS NOT NULL GROUP BY r.car_id " +
+                   "ON DUPLICATE KEY UPDATE rating_sum = VALUES(rating_sum), review_count = VALUES(review_count)",
+           nativeQuery = true)
+    int rebuildFromReviews();
+}
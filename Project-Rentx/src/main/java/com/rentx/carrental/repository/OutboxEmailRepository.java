@@ -0,0 +1,50 @@
+package com.rentx.carrental.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.rentx.carrental.entity.OutboxEmail;
+import com.rentx.carrental.entity.OutboxEmail.OutboxStatus;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    @Query("SELECT e.id FROM OutboxEmail e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.status = 'SENDING', e.claimToken = :token, e.claimedAt = :now " +
+           "WHERE e.id IN :ids AND e.status = 'PENDING'")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    List<OutboxEmail> findByClaimToken(String claimToken);
+
+    List<OutboxEmail> findByStatusAndClaimedAtBefore(OutboxStatus status, LocalDateTime cutoff);
+
+    /** Counts a timed-out claim as a failed attempt, unless the row was sent or reclaimed meanwhile. */
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.status = :status, e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+           "e.claimToken = NULL, e.lastError = :error " +
+           "WHERE e.id = :id AND e.status = 'SENDING' AND e.claimToken = :token")
+    int releaseStaleClaim(@Param("id") Long id, @Param("token") String token, @Param("status") OutboxStatus status,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e WHERE e.status = 'SENT' AND e.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.status = 'SENT', e.sentAt = :now, e.claimToken = NULL, e.lastError = NULL " +
+           "WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    long countByStatus(OutboxStatus status);
+}
@@ -2,6 +2,9 @@ package com.rentx.carrental.repository;
 
 import com.rentx.carrental.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -9,4 +12,15 @@ import java.util.Optional;
 public interface PaymentRepository extends JpaRepository<Payment, String> {
     Optional<Payment> findByRazorpayOrderId(String razorpayOrderId);
     Optional<Payment> findByBookingId(Long bookingId); 
-}
\ No newline at end of file
+
+    /**
+     * Captures the order's payment only if it is still {@code CREATED}. Exactly one
+     * of several concurrent verifications of the same order sees {@code 1}.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = 'CAPTURED', p.razorpayPaymentId = :paymentId, "
+            + "p.razorpaySignature = :signature WHERE p.razorpayOrderId = :orderId AND p.status = 'CREATED'")
+    int markCaptured(@Param("orderId") String razorpayOrderId,
+                     @Param("paymentId") String razorpayPaymentId,
+                     @Param("signature") String razorpaySignature);
+}
@@ -3,6 +3,7 @@ package com.rentx.carrental.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +17,15 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT r FROM Review r WHERE r.car.carId = :carId ORDER BY r.createdAt DESC")
     List<Review> findByCarCarIdOrderByCreatedAtDesc(@Param("carId") Long carId);
     
+    @Query("SELECT r FROM Review r WHERE r.car.carId = :carId ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findFirstPage(@Param("carId") Long carId, Pageable pageable);
+
+    /** The reviews after {@code cursorId} in (createdAt, id) order, newest first. */
+    @Query("SELECT r FROM Review r, Review c WHERE c.id = :cursorId AND r.car.carId = :carId " +
+           "AND (r.createdAt < c.createdAt OR (r.createdAt = c.createdAt AND r.id < c.id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findPageAfter(@Param("carId") Long carId, @Param("cursorId") Long cursorId, Pageable pageable);
+    
     @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM Review r WHERE r.user.id = :userId AND r.booking.id = :bookingId")
     Boolean existsByUserIdAndBookingId(@Param("userId") Long userId, @Param("bookingId") Long bookingId);
     
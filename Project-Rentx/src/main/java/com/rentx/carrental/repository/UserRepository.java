@@ -3,18 +3,39 @@ package com.rentx.carrental.repository;
 
 
 import com.rentx.carrental.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
     long countByRole(User.UserRole role);
 
+    @Query("SELECT u FROM User u WHERE u.id < :beforeId ORDER BY u.id DESC")
+    List<User> findPageBefore(@Param("beforeId") Long beforeId, Pageable pageable);
 
-}
\ No newline at end of file
+    // Exports walk every user once; reading them through the cache would only evict the hot ones.
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                  @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+                  @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE") })
+    @Query("SELECT u FROM User u ORDER BY u.id DESC")
+    Stream<User> streamAll();
+
+    @Query("SELECT u.loyaltyBookings FROM User u WHERE u.id = :id")
+    Optional<Integer> findLoyaltyBookingsById(@Param("id") Long id);
+
+    @Query("SELECT COALESCE(MAX(u.id), 0) FROM User u")
+    long findMaxId();
+}
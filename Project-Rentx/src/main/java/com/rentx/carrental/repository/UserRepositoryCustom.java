@@ -0,0 +1,28 @@
+package com.rentx.carrental.repository;
+
+import com.rentx.carrental.entity.User;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Looks the user up by its natural id, so a cached username resolves from the
+     * second-level cache without a query.
+     */
+    Optional<User> findByUsername(String username);
+
+    /**
+     * Adds {@code delta} to the loyalty counter of each of {@code userIds} once per
+     * booking in {@code bookingIds} they own. Must run in the transaction that
+     * moved those bookings.
+     */
+    int adjustLoyaltyBookings(Collection<Long> userIds, Collection<Long> bookingIds, int delta);
+
+    /**
+     * Recomputes the loyalty counter of users in {@code (afterId, upToId]} from
+     * their bookings in {@code statuses}, touching only rows that disagree.
+     */
+    int reconcileLoyaltyBookings(long afterId, long upToId, Collection<String> statuses);
+}
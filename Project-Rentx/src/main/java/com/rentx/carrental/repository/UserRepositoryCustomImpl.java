@@ -0,0 +1,74 @@
+package com.rentx.carrental.repository;
+
+import com.rentx.carrental.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // The session must stay open for the load, which outside a transaction it would not.
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+
+    // The loyalty counter is never read from a cached user, so its updates go straight to the
+    // connection: as a native query, Hibernate would evict the whole users region on every run.
+    @Override
+    @Transactional
+    public int adjustLoyaltyBookings(Collection<Long> userIds, Collection<Long> bookingIds, int delta) {
+        String sql = "UPDATE users u SET u.loyalty_bookings = u.loyalty_bookings + ? * " +
+                     "(SELECT COUNT(*) FROM booking b WHERE b.user_id = u.id AND b.id IN (" + placeholders(bookingIds) + ")) " +
+                     "WHERE u.id IN (" + placeholders(userIds) + ")";
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int index = 1;
+                statement.setInt(index++, delta);
+                index = bind(statement, index, bookingIds);
+                bind(statement, index, userIds);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public int reconcileLoyaltyBookings(long afterId, long upToId, Collection<String> statuses) {
+        String counted = "(SELECT COUNT(*) FROM booking b WHERE b.user_id = u.id AND b.status IN (" +
+                         placeholders(statuses) + "))";
+        String sql = "UPDATE users u SET u.loyalty_bookings = " + counted +
+                     " WHERE u.id > ? AND u.id <= ? AND u.loyalty_bookings <> " + counted;
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int index = bind(statement, 1, statuses);
+                statement.setLong(index++, afterId);
+                statement.setLong(index++, upToId);
+                bind(statement, index, statuses);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    private static String placeholders(Collection<?> values) {
+        return String.join(", ", Collections.nCopies(values.size(), "?"));
+    }
+
+    private static int bind(PreparedStatement statement, int index, Collection<?> values) throws SQLException {
+        for (Object value : values) {
+            statement.setObject(index++, value);
+        }
+        return index;
+    }
+}
@@ -1,29 +1,75 @@
 package com.rentx.carrental.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import com.rentx.carrental.exception.AuthenticationException;
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
+	private final MeterRegistry meterRegistry;
+
 	@Value("${jwt.secret}")
 	private String jwtSecret;
 
 	@Value("${jwt.expiration:86400000}")
 	private long jwtExpiration;
 
-	private SecretKey getSigningKey() {
-		return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+	@Value("${jwt.verified-cache-size:10000}")
+	private long verifiedCacheSize;
+
+	private SecretKey signingKey;
+	private JwtParser parser;
+	// Tokens whose signature was already checked, kept until the token itself expires.
+	private Cache<String, Claims> verifiedTokens;
+
+	public JwtTokenProvider(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	void init() {
+		signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+		parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+		verifiedTokens = Caffeine.newBuilder()
+				.maximumSize(verifiedCacheSize)
+				.recordStats()
+				.expireAfter(new Expiry<String, Claims>() {
+					@Override
+					public long expireAfterCreate(String token, Claims claims, long currentTime) {
+						return remainingNanos(claims);
+					}
+
+					@Override
+					public long expireAfterUpdate(String token, Claims claims, long currentTime,
+							long currentDuration) {
+						return remainingNanos(claims);
+					}
+
+					@Override
+					public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtVerifiedTokens");
 	}
 
 	public String generateToken(String username) {
@@ -31,19 +77,26 @@ public class JwtTokenProvider {
 		Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
 		return Jwts.builder().setSubject(username).setIssuedAt(now).setExpiration(expiryDate)
-				.signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
-	}
-
-	public String getUsernameFromJWT(String token) {
-		Claims claims = Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
-
-		return claims.getSubject();
+				.signWith(signingKey, SignatureAlgorithm.HS256).compact();
 	}
 
-	public boolean validateToken(String authToken) {
+	/**
+	 * Verifies the token once and returns its claims. Repeated calls with a
+	 * token that was already verified are answered from memory until it expires.
+	 */
+	public Claims parseClaims(String authToken) {
+		if (authToken != null) {
+			Claims cached = verifiedTokens.getIfPresent(authToken);
+			if (cached != null && !isExpired(cached)) {
+				return cached;
+			}
+		}
 		try {
-			Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-			return true;
+			Claims claims = parser.parseClaimsJws(authToken).getBody();
+			if (claims.getExpiration() != null) {
+				verifiedTokens.put(authToken, claims);
+			}
+			return claims;
 		} catch (MalformedJwtException ex) {
 			throw new AuthenticationException("Invalid token format");
 		} catch (ExpiredJwtException ex) {
@@ -57,4 +110,22 @@ public class JwtTokenProvider {
 		}
 	}
 
+	public String getUsernameFromJWT(String token) {
+		return parseClaims(token).getSubject();
+	}
+
+	public boolean validateToken(String authToken) {
+		parseClaims(authToken);
+		return true;
+	}
+
+	private static boolean isExpired(Claims claims) {
+		return claims.getExpiration().getTime() <= System.currentTimeMillis();
+	}
+
+	private static long remainingNanos(Claims claims) {
+		long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+		return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+	}
+
 }
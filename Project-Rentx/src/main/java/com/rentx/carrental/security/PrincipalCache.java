@@ -0,0 +1,80 @@
+package com.rentx.carrental.security;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.rentx.carrental.entity.User;
+import com.rentx.carrental.event.UserChangedEvent;
+import com.rentx.carrental.exception.UserNotFoundException;
+import com.rentx.carrental.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Authenticated users keyed by username, held in the bounded, TTL-based
+ * {@code principals} cache so that a request resolves its {@link User} at most
+ * once: the JWT filter loads it through here and services read it back from the
+ * security context. Entries are evicted after commit whenever a user row
+ * changes.
+ * <p>
+ * Cached users are detached and shared between requests; code that modifies a
+ * user must load a managed copy from {@link UserRepository} instead.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+	public static final String CACHE_NAME = "principals";
+
+	private final UserRepository userRepository;
+	private final Cache cache;
+
+	public PrincipalCache(UserRepository userRepository, CacheManager cacheManager) {
+		this.userRepository = userRepository;
+		this.cache = cacheManager.getCache(CACHE_NAME);
+	}
+
+	public User load(String username) {
+		try {
+			return cache.get(username, () -> userRepository.findByUsername(username)
+					.orElseThrow(() -> new UserNotFoundException(username)));
+		} catch (Cache.ValueRetrievalException e) {
+			if (e.getCause() instanceof UserNotFoundException notFound) {
+				throw notFound;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * The user behind the current request. Taken straight from the security
+	 * context when the JWT filter put a {@link User} there, otherwise looked up
+	 * by the authentication's name.
+	 */
+	public User currentUser() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null) {
+			throw new UserNotFoundException("anonymous");
+		}
+		if (authentication.getPrincipal() instanceof User user) {
+			return user;
+		}
+		return load(authentication.getName());
+	}
+
+	public void evict(String username) {
+		if (username != null) {
+			cache.evict(username);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		evict(event.username());
+		log.debug("Evicted cached principal for user {}", event.userId());
+	}
+}
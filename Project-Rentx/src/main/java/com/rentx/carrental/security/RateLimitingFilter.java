@@ -8,101 +8,247 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rentx.carrental.config.AppConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
 import java.io.IOException;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
+/**
+ * Per-client token buckets for the routes listed under
+ * {@code app.rate-limit.policies}. The first policy whose pattern and method
+ * match a request applies; a policy allows {@code capacity} requests in a burst
+ * and refills one token every {@code window / capacity}.
+ * <p>
+ * Buckets are keyed by policy and client address and live in a bounded map that
+ * forgets idle clients, so the number of tracked keys cannot grow without limit.
+ * {@code X-Forwarded-For} is only honoured when the direct peer is a configured
+ * trusted proxy.
+ */
 @Component
 @Order(1)
 @Slf4j
 public class RateLimitingFilter implements Filter {
-    
-    @Value("${app.rate-limit.max-requests:5}")
-    private int maxRequests;
-    
-    @Value("${app.rate-limit.time-window:60}")
-    private int timeWindowSeconds;
-    
-    private final ConcurrentHashMap<String, RequestCounter> requestCounts = new ConcurrentHashMap<>();
-    
+
+    private final List<Policy> policies;
+    private final List<IpAddressMatcher> trustedProxies;
+    private final Cache<String, TokenBucket> buckets;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RateLimitingFilter(AppConfig appConfig, MeterRegistry meterRegistry) {
+        this(appConfig, meterRegistry, System::nanoTime);
+    }
+
+    RateLimitingFilter(AppConfig appConfig, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        AppConfig.RateLimit config = appConfig.getRateLimit();
+        this.policies = compilePolicies(config, meterRegistry);
+        this.trustedProxies = config.getTrustedProxies().stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+
+        Duration longestWindow = policies.stream()
+                .map(policy -> Duration.ofNanos(policy.windowNanos()))
+                .max(Duration::compareTo)
+                .orElse(Duration.ZERO);
+        this.buckets = Caffeine.newBuilder()
+                .ticker(nanoClock::getAsLong)
+                .maximumSize(config.getMaxKeys())
+                .expireAfterAccess(longestWindow.compareTo(config.getIdleTimeout()) > 0
+                        ? longestWindow : config.getIdleTimeout())
+                .build();
+        Gauge.builder("http.ratelimit.keys", buckets, Cache::estimatedSize)
+                .description("Client buckets currently tracked by the rate limiter")
+                .register(meterRegistry);
+    }
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
-        
+
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
-        
-        String clientIp = getClientIp(httpRequest);
-        String requestPath = httpRequest.getRequestURI();
-        
-        if (requestPath.startsWith("/api/auth/")) {
-            String key = clientIp + ":" + requestPath;
-            
-            if (isRateLimited(key)) {
-                log.warn("Rate limit exceeded for IP: {}, Path: {}", clientIp, requestPath);
+
+        Policy policy = policyFor(httpRequest);
+        if (policy != null) {
+            String clientIp = getClientIp(httpRequest);
+            long now = nanoClock.getAsLong();
+            TokenBucket bucket = buckets.get(policy.name() + ":" + clientIp, key -> new TokenBucket(now));
+            long waitNanos = bucket.tryAcquire(now, policy.intervalNanos(), policy.windowNanos());
+
+            if (waitNanos > 0) {
+                policy.rejected().increment();
+                log.warn("Rate limit '{}' exceeded for IP: {}, Path: {}", policy.name(), clientIp,
+                        httpRequest.getRequestURI());
                 httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                httpResponse.setHeader(HttpHeaders.RETRY_AFTER,
+                        String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
                 httpResponse.getWriter().write("Too many requests. Please try again later.");
                 return;
             }
         }
-        
+
         chain.doFilter(request, response);
     }
-    
-    private boolean isRateLimited(String key) {
-        long currentTime = System.currentTimeMillis();
-        RequestCounter counter = requestCounts.computeIfAbsent(key, k -> new RequestCounter());
-        
-        synchronized (counter) {
-            if (currentTime - counter.getWindowStart() > TimeUnit.SECONDS.toMillis(timeWindowSeconds)) {
-                counter.reset(currentTime);
+
+    /** Buckets still tracked once idle ones have been dropped. */
+    long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private Policy policyFor(HttpServletRequest request) {
+        PathContainer path = null;
+        for (Policy policy : policies) {
+            if (!policy.methods().isEmpty() && !policy.methods().contains(request.getMethod())) {
+                continue;
             }
-            
-            if (counter.getCount() >= maxRequests) {
-                return true;
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI());
+            }
+            if (policy.pattern().matches(path)) {
+                return policy;
             }
-            
-            counter.increment();
-            return false;
         }
+        return null;
     }
-    
+
+    /**
+     * The peer address, or, when the peer is a trusted proxy, the nearest
+     * untrusted hop in {@code X-Forwarded-For} read from the right. Hops left of
+     * that one are client-supplied and ignored.
+     */
     private String getClientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
         String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader != null) {
-            return xfHeader.split(",")[0];
+        if (xfHeader == null || !isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
         }
-        return request.getRemoteAddr();
+        String[] hops = xfHeader.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!isIpLiteral(hop)) {
+                break;
+            }
+            if (!isTrustedProxy(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
     }
-    
-    private static class RequestCounter {
-        private long windowStart;
-        private int count;
-        
-        public RequestCounter() {
-            this.windowStart = System.currentTimeMillis();
-            this.count = 0;
+
+    private boolean isTrustedProxy(String address) {
+        for (IpAddressMatcher matcher : trustedProxies) {
+            if (matcher.matches(address)) {
+                return true;
+            }
         }
-        
-        public void reset(long currentTime) {
-            this.windowStart = currentTime;
-            this.count = 0;
+        return false;
+    }
+
+    /** Guards the matcher against host names, which it would otherwise resolve. */
+    private static boolean isIpLiteral(String value) {
+        if (value.isEmpty() || value.length() > 45) {
+            return false;
         }
-        
-        public void increment() {
-            this.count++;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean valid = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')
+                    || c == '.' || c == ':';
+            if (!valid) {
+                return false;
+            }
         }
-        
-        public long getWindowStart() {
-            return windowStart;
+        return true;
+    }
+
+    private static List<Policy> compilePolicies(AppConfig.RateLimit config, MeterRegistry meterRegistry) {
+        List<AppConfig.RateLimit.Policy> configured = config.getPolicies();
+        if (configured.isEmpty()) {
+            AppConfig.RateLimit.Policy auth = new AppConfig.RateLimit.Policy();
+            auth.setName("auth");
+            auth.setPattern("/api/auth/**");
+            configured = List.of(auth);
         }
-        
-        public int getCount() {
-            return count;
+        return configured.stream().map(policy -> {
+            int capacity = policy.getCapacity() != null ? policy.getCapacity() : config.getMaxRequests();
+            Duration window = policy.getWindow() != null ? policy.getWindow() : config.getTimeWindow();
+            if (capacity <= 0 || window.isZero() || window.isNegative()) {
+                throw new IllegalStateException("Rate limit policy '" + policy.getName()
+                        + "' needs a positive capacity and window");
+            }
+            long windowNanos = window.toNanos();
+            Set<String> methods = policy.getMethods().stream()
+                    .map(method -> method.trim().toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            Counter rejected = Counter.builder("http.ratelimit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("policy", policy.getName())
+                    .register(meterRegistry);
+            log.info("Rate limit '{}': {} requests per {} on {}", policy.getName(), capacity, window,
+                    policy.getPattern());
+            return new Policy(policy.getName(), PathPatternParser.defaultInstance.parse(policy.getPattern()),
+                    methods, windowNanos / capacity, windowNanos, rejected);
+        }).toList();
+    }
+
+    private record Policy(String name, PathPattern pattern, Set<String> methods, long intervalNanos,
+            long windowNanos, Counter rejected) {
+    }
+
+    /**
+     * Token bucket held as a single theoretical arrival time (GCRA): each
+     * accepted request pushes it forward by one refill interval, and a request
+     * is rejected when that would put it more than one window ahead of now.
+     * Updated with compare-and-set, so concurrent requests never block.
+     */
+    static final class TokenBucket {
+
+        private final AtomicLong theoreticalArrival;
+
+        /** A new bucket starts full. */
+        TokenBucket(long now) {
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        /** Returns 0 when a token was taken, otherwise the nanoseconds until one is available. */
+        long tryAcquire(long now, long intervalNanos, long windowNanos) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long ahead = next - now;
+                if (ahead > windowNanos) {
+                    return ahead - windowNanos;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package com.rentx.carrental.service;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rentx.carrental.dto.AdminRequestDTO;
+import com.rentx.carrental.dto.BookingResponse;
+import com.rentx.carrental.dto.CursorPage;
+import com.rentx.carrental.dto.UserDTO;
+import com.rentx.carrental.entity.AdminRequest;
+import com.rentx.carrental.entity.Booking;
+import com.rentx.carrental.entity.Booking.RefundStatus;
+import com.rentx.carrental.entity.User;
+import com.rentx.carrental.repository.AdminRequestRepository;
+import com.rentx.carrental.repository.BookingRepository;
+import com.rentx.carrental.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Admin listings read newest first with keyset pagination ({@code id < cursor})
+ * and fetch joins, so a page costs one indexed range query regardless of table
+ * size or page depth. The {@code stream*} variants walk the whole table through
+ * a database cursor inside one read-only transaction, detaching each row once
+ * it has been handed to the sink so the persistence context stays small.
+ */
+@Service
+public class AdminListingService {
+
+	public static final int DEFAULT_LIMIT = 50;
+	public static final int MAX_LIMIT = 500;
+
+	private final BookingRepository bookingRepository;
+	private final UserRepository userRepository;
+	private final AdminRequestRepository adminRequestRepository;
+	private final BookingService bookingService;
+	private final EntityManager entityManager;
+	private final TransactionTemplate readOnlyTransaction;
+
+	public AdminListingService(BookingRepository bookingRepository, UserRepository userRepository,
+			AdminRequestRepository adminRequestRepository, BookingService bookingService,
+			EntityManager entityManager, PlatformTransactionManager transactionManager) {
+		this.bookingRepository = bookingRepository;
+		this.userRepository = userRepository;
+		this.adminRequestRepository = adminRequestRepository;
+		this.bookingService = bookingService;
+		this.entityManager = entityManager;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPage<BookingResponse> bookings(Long cursor, Integer limit) {
+		return page(cursor, limit, bookingRepository::findPageBefore, Booking::getId, this::toBookingResponse);
+	}
+
+	public void streamBookings(Consumer<BookingResponse> sink) {
+		stream(bookingRepository::streamAllWithCar, this::toBookingResponse, sink);
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPage<UserDTO> users(Long cursor, Integer limit) {
+		return page(cursor, limit, userRepository::findPageBefore, User::getId, AdminListingService::toUserDto);
+	}
+
+	public void streamUsers(Consumer<UserDTO> sink) {
+		stream(userRepository::streamAll, AdminListingService::toUserDto, sink);
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPage<AdminRequestDTO> adminRequests(Long cursor, Integer limit) {
+		return page(cursor, limit, adminRequestRepository::findPageBefore, AdminRequest::getId,
+				AdminListingService::toAdminRequestDto);
+	}
+
+	public void streamAdminRequests(Consumer<AdminRequestDTO> sink) {
+		stream(adminRequestRepository::streamAllWithUsers, AdminListingService::toAdminRequestDto, sink);
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPage<BookingResponse> pendingRefunds(Long cursor, Integer limit) {
+		return page(cursor, limit,
+				(beforeId, pageable) -> bookingRepository.findByRefundStatusBefore(RefundStatus.PENDING, beforeId,
+						pageable),
+				Booking::getId, this::toBookingResponse);
+	}
+
+	public void streamPendingRefunds(Consumer<BookingResponse> sink) {
+		stream(() -> bookingRepository.streamByRefundStatus(RefundStatus.PENDING), this::toBookingResponse, sink);
+	}
+
+	private <E, T> CursorPage<T> page(Long cursor, Integer limit, BiFunction<Long, Pageable, List<E>> query,
+			Function<E, Long> id, Function<E, T> mapper) {
+		int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+		List<E> rows = query.apply(cursor != null ? cursor : Long.MAX_VALUE, PageRequest.ofSize(size));
+		List<T> items = rows.stream().map(mapper).toList();
+		Long nextCursor = rows.size() == size ? id.apply(rows.get(rows.size() - 1)) : null;
+		return new CursorPage<>(items, nextCursor);
+	}
+
+	private <E, T> void stream(Supplier<Stream<E>> query, Function<E, T> mapper, Consumer<T> sink) {
+		readOnlyTransaction.executeWithoutResult(status -> {
+			try (Stream<E> rows = query.get()) {
+				rows.forEach(row -> {
+					sink.accept(mapper.apply(row));
+					entityManager.detach(row);
+				});
+			}
+		});
+	}
+
+	private BookingResponse toBookingResponse(Booking booking) {
+		double discount = booking.getDiscountAmount() != null ? booking.getDiscountAmount() : 0.0;
+		return bookingService.convertToResponse(booking, discount);
+	}
+
+	private static UserDTO toUserDto(User user) {
+		UserDTO dto = new UserDTO();
+		dto.setId(user.getId());
+		dto.setUsername(user.getUsername());
+		dto.setEmail(user.getEmail());
+		dto.setFirstName(user.getFirstName());
+		dto.setLastName(user.getLastName());
+		dto.setPhoneNumber(user.getPhoneNumber());
+		dto.setRole(user.getRole().name());
+		dto.setCreatedAt(user.getCreatedAt());
+		return dto;
+	}
+
+	// Only the fetched columns are copied; serializing the entity would pull in User.reviews and the password.
+	private static AdminRequestDTO toAdminRequestDto(AdminRequest request) {
+		AdminRequestDTO dto = new AdminRequestDTO();
+		dto.setId(request.getId());
+		dto.setUser(toUserDto(request.getUser()));
+		dto.setMessage(request.getMessage());
+		dto.setStatus(request.getStatus() != null ? request.getStatus().name() : null);
+		dto.setRequestedAt(request.getRequestedAt());
+		dto.setProcessedAt(request.getProcessedAt());
+		dto.setProcessedBy(request.getProcessedBy() != null ? toUserDto(request.getProcessedBy()) : null);
+		dto.setAdminNotes(request.getAdminNotes());
+		return dto;
+	}
+}
@@ -4,9 +4,9 @@ import com.rentx.carrental.entity.AdminRequest;
 import com.rentx.carrental.entity.User;
 import com.rentx.carrental.repository.AdminRequestRepository;
 import com.rentx.carrental.repository.UserRepository;
+import com.rentx.carrental.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
@@ -14,17 +14,16 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional
 public class AdminRequestService {
 	private final AdminRequestRepository adminRequestRepository;
 	private final UserRepository userRepository;
 	private final EmailService emailService;
+	private final PrincipalCache principalCache;
 
 	public AdminRequest requestAdminRole(String message) {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		String username = authentication.getName();
-
-		User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+		User user = principalCache.currentUser();
 
 		if (user.getRole() == User.UserRole.ADMIN) {
 			throw new RuntimeException("You are already an admin");
@@ -52,11 +51,7 @@ public class AdminRequestService {
 	}
 
 	public AdminRequest processAdminRequest(Long requestId, String action, String notes) {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		String username = authentication.getName();
-
-		User adminUser = userRepository.findByUsername(username)
-				.orElseThrow(() -> new RuntimeException("Admin user not found"));
+		User adminUser = principalCache.currentUser();
 
 		if (adminUser.getRole() != User.UserRole.ADMIN) {
 			throw new RuntimeException("Only admins can process admin requests");
@@ -72,11 +67,7 @@ public class AdminRequestService {
 
 			request.setStatus(AdminRequest.RequestStatus.APPROVED);
 
-			try {
-				emailService.sendAdminApprovalEmail(user);
-			} catch (Exception e) {
-				System.err.println("Failed to send approval email: " + e.getMessage());
-			}
+			emailService.sendAdminApprovalEmail(user);
 
 		} else if (action.equalsIgnoreCase("REJECT")) {
 			request.setStatus(AdminRequest.RequestStatus.REJECTED);
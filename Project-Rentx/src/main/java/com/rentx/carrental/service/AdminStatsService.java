@@ -0,0 +1,203 @@
+package com.rentx.carrental.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.rentx.carrental.dto.StatsBucket;
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.entity.User.UserRole;
+import com.rentx.carrental.event.BookingChangedEvent;
+import com.rentx.carrental.event.CarChangedEvent;
+import com.rentx.carrental.event.CarChangedEvent.CarState;
+import com.rentx.carrental.event.UserChangedEvent;
+import com.rentx.carrental.repository.BookingRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the admin dashboard counters in memory so reading them costs nothing.
+ * Counters are adjusted from committed booking, user and car change events and
+ * overwritten every few minutes from one grouped aggregate query, which also
+ * corrects any drift from writes that bypass the events or race a
+ * reconciliation.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdminStatsService {
+
+	private final BookingRepository bookingRepository;
+
+	private final AtomicLongArray bookingsByStatus = new AtomicLongArray(BookingStatus.values().length);
+	private final AtomicLongArray usersByRole = new AtomicLongArray(UserRole.values().length);
+	// Rows without a status or role; they count towards the totals but no bucket.
+	private final AtomicLong unclassifiedBookings = new AtomicLong();
+	private final AtomicLong unclassifiedUsers = new AtomicLong();
+	private final AtomicLong totalCars = new AtomicLong();
+	private final AtomicLong availableCars = new AtomicLong();
+	// Paid revenue in paise, so concurrent deltas add up exactly.
+	private final AtomicLong paidRevenuePaise = new AtomicLong();
+	private volatile boolean ready;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		try {
+			reconcile();
+		} catch (Exception e) {
+			log.error("Failed to load admin statistics, retrying on first request: {}", e.getMessage());
+		}
+	}
+
+	@Scheduled(fixedDelay = 300000, initialDelay = 300000)
+	public void reconcile() {
+		long startTime = System.currentTimeMillis();
+		List<StatsBucket> buckets = bookingRepository.aggregateAdminStats();
+
+		long[] bookings = new long[BookingStatus.values().length];
+		long[] users = new long[UserRole.values().length];
+		long otherBookings = 0;
+		long otherUsers = 0;
+		long cars = 0;
+		long available = 0;
+		double revenue = 0;
+		for (StatsBucket bucket : buckets) {
+			long total = bucket.getTotal() != null ? bucket.getTotal() : 0;
+			switch (bucket.getKind()) {
+			case "BOOKING" -> {
+				if (bucket.getBucket() == null) {
+					otherBookings += total;
+				} else {
+					bookings[BookingStatus.valueOf(bucket.getBucket()).ordinal()] += total;
+				}
+				revenue += bucket.getAmount() != null ? bucket.getAmount() : 0;
+			}
+			case "USER" -> {
+				if (bucket.getBucket() == null) {
+					otherUsers += total;
+				} else {
+					users[UserRole.valueOf(bucket.getBucket()).ordinal()] += total;
+				}
+			}
+			case "CAR" -> {
+				cars += total;
+				if ("AVAILABLE".equals(bucket.getBucket())) {
+					available += total;
+				}
+			}
+			default -> log.warn("Unknown statistics bucket kind {}", bucket.getKind());
+			}
+		}
+
+		for (int i = 0; i < bookings.length; i++) {
+			bookingsByStatus.set(i, bookings[i]);
+		}
+		for (int i = 0; i < users.length; i++) {
+			usersByRole.set(i, users[i]);
+		}
+		unclassifiedBookings.set(otherBookings);
+		unclassifiedUsers.set(otherUsers);
+		totalCars.set(cars);
+		availableCars.set(available);
+		paidRevenuePaise.set(toPaise(revenue));
+		ready = true;
+		log.debug("Admin statistics reconciled in {}ms", System.currentTimeMillis() - startTime);
+	}
+
+	public Map<String, Object> snapshot() {
+		if (!ready) {
+			reconcile();
+		}
+		long admins = usersByRole.get(UserRole.ADMIN.ordinal());
+		long users = usersByRole.get(UserRole.CUSTOMER.ordinal()) + admins + unclassifiedUsers.get();
+		long cars = totalCars.get();
+		long available = availableCars.get();
+
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("users", Map.of(
+			"total", users,
+			"admins", admins,
+			// Everyone who is not an admin, users without a role included.
+			"customers", users - admins
+		));
+		stats.put("bookings", Map.of(
+			"total", totalBookings(),
+			"confirmed", bookingsByStatus.get(BookingStatus.CONFIRMED.ordinal()),
+			"active", bookingsByStatus.get(BookingStatus.ACTIVE.ordinal()),
+			"completed", bookingsByStatus.get(BookingStatus.COMPLETED.ordinal()),
+			"cancelled", bookingsByStatus.get(BookingStatus.CANCELLED.ordinal())
+		));
+		stats.put("cars", Map.of(
+			"total", cars,
+			"available", available,
+			"unavailable", cars - available
+		));
+		stats.put("revenue", paidRevenuePaise.get() / 100.0);
+		stats.put("timestamp", LocalDateTime.now());
+		return stats;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookingChanged(BookingChangedEvent event) {
+		BookingStatus before = event.previousStatus();
+		BookingStatus after = event.removed() ? null : event.status();
+		if (before != after) {
+			if (before != null) {
+				bookingsByStatus.decrementAndGet(before.ordinal());
+			}
+			if (after != null) {
+				bookingsByStatus.incrementAndGet(after.ordinal());
+			}
+		}
+		if (event.paidAmountDelta() != 0) {
+			paidRevenuePaise.addAndGet(toPaise(event.paidAmountDelta()));
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChanged(UserChangedEvent event) {
+		if (event.previousRole() == event.role()) {
+			return;
+		}
+		if (event.previousRole() != null) {
+			usersByRole.decrementAndGet(event.previousRole().ordinal());
+		}
+		if (event.role() != null) {
+			usersByRole.incrementAndGet(event.role().ordinal());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCarChanged(CarChangedEvent event) {
+		CarState previous = event.previous();
+		CarState current = event.current();
+		totalCars.addAndGet((current != null ? 1 : 0) - (previous != null ? 1 : 0));
+		availableCars.addAndGet(available(current) - available(previous));
+	}
+
+	private long totalBookings() {
+		long total = unclassifiedBookings.get();
+		for (int i = 0; i < bookingsByStatus.length(); i++) {
+			total += bookingsByStatus.get(i);
+		}
+		return total;
+	}
+
+	private static int available(CarState state) {
+		return state != null && Boolean.TRUE.equals(state.available()) ? 1 : 0;
+	}
+
+	private static long toPaise(double amount) {
+		return Math.round(amount * 100);
+	}
+}
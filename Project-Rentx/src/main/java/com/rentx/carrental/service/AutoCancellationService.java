@@ -1,13 +1,14 @@
 package com.rentx.carrental.service;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import com.rentx.carrental.entity.Booking;
 import com.rentx.carrental.entity.Car;
 import com.rentx.carrental.repository.BookingRepository;
-import com.rentx.carrental.repository.CarRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,11 +19,24 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class AutoCancellationService {
 
+	/**
+	 * The lifecycle job activates bookings at their start time whether or not the
+	 * car was collected, so a no-show may already be ACTIVE; its pickup status
+	 * tells it apart from a booking that was picked up.
+	 */
+	static final Set<Booking.BookingStatus> NO_SHOW_STATUSES = EnumSet.of(Booking.BookingStatus.CONFIRMED,
+			Booking.BookingStatus.ACTIVE);
+
 	private final BookingRepository bookingRepository;
 	private final EmailService emailService;
-	private final CarRepository carRepository;
-
-	@Scheduled(cron = "0 */30 * * * ?")
+	private final CarService carService;
+
+	/**
+	 * Hourly reconciliation for anything the deadline scheduler missed, e.g.
+	 * bookings changed by another instance. Pickup reminders are only sent by
+	 * the scheduler so customers are not reminded twice.
+	 */
+	@Scheduled(cron = "0 35 * * * ?")
 	public void autoCancelBookings() {
 		LocalDateTime now = LocalDateTime.now();
 		log.info("🔄 Running auto-cancellation at {}", now);
@@ -30,8 +44,41 @@ public class AutoCancellationService {
 		cancelUnpaidOnlineBookings(now);
 
 		cancelNoShowPickupBookings(now);
+	}
+
+	public void cancelIfUnpaid(Long bookingId) {
+		LocalDateTime now = LocalDateTime.now();
+		bookingRepository.findById(bookingId)
+				.filter(booking -> booking.getStatus() == Booking.BookingStatus.CONFIRMED
+						&& "PAY_NOW".equals(booking.getPaymentMethodSelected())
+						&& "PENDING".equals(booking.getPaymentStatus()) && booking.getBookingDate() != null
+						&& !booking.getBookingDate().plusHours(24).isAfter(now))
+				.ifPresent(booking -> {
+					cancelBooking(booking, now, "Auto-cancelled: Online payment not completed within 24 hours");
+					log.info("💰 Cancelled unpaid online booking {} (24h expired)", booking.getId());
+				});
+	}
 
-		cancelLastMinuteNoShows(now);
+	public void cancelIfNoShow(Long bookingId) {
+		LocalDateTime now = LocalDateTime.now();
+		bookingRepository.findById(bookingId)
+				.filter(booking -> NO_SHOW_STATUSES.contains(booking.getStatus())
+						&& booking.getPickupStatus() == Booking.PickupStatus.PENDING
+						&& "PAY_AT_PICKUP".equals(booking.getPaymentMethodSelected())
+						&& !booking.getStartDate().plusHours(2).isAfter(now))
+				.ifPresent(booking -> {
+					cancelBooking(booking, now, "Auto-cancelled: Customer didn't show up for pickup (2+ hours late)");
+					log.info("⏰ Cancelled no-show booking {} (2h late)", booking.getId());
+				});
+	}
+
+	public void remindPickup(Long bookingId) {
+		bookingRepository.findById(bookingId)
+				.filter(booking -> booking.getStatus() == Booking.BookingStatus.CONFIRMED)
+				.ifPresent(booking -> {
+					emailService.sendPickupReminder(booking.getUser(), booking);
+					log.info("🔔 Sent pickup reminder for booking {}", booking.getId());
+				});
 	}
 
 	private void cancelUnpaidOnlineBookings(LocalDateTime now) {
@@ -50,8 +97,8 @@ public class AutoCancellationService {
 	private void cancelNoShowPickupBookings(LocalDateTime now) {
 		LocalDateTime twoHoursAfterPickup = now.minusHours(2);
 
-		List<Booking> noShows = bookingRepository.findByStatusAndPaymentMethodSelectedAndStartDateBefore(
-				Booking.BookingStatus.CONFIRMED, "PAY_AT_PICKUP", twoHoursAfterPickup);
+		List<Booking> noShows = bookingRepository.findByStatusInAndPaymentMethodSelectedAndPickupStatusAndStartDateBefore(
+				NO_SHOW_STATUSES, "PAY_AT_PICKUP", Booking.PickupStatus.PENDING, twoHoursAfterPickup);
 
 		for (Booking booking : noShows) {
 			cancelBooking(booking, now, "Auto-cancelled: Customer didn't show up for pickup (2+ hours late)");
@@ -59,22 +106,6 @@ public class AutoCancellationService {
 		}
 	}
 
-	private void cancelLastMinuteNoShows(LocalDateTime now) {
-		LocalDateTime oneHourBeforePickup = now.plusHours(1);
-
-		List<Booking> lastMinute = bookingRepository.findByStatusAndStartDateBefore(Booking.BookingStatus.CONFIRMED,
-				oneHourBeforePickup);
-
-		for (Booking booking : lastMinute) {
-			try {
-				emailService.sendPickupReminder(booking.getUser(), booking);
-				log.info("🔔 Sent pickup reminder for booking {}", booking.getId());
-			} catch (Exception e) {
-				log.error("Failed to send reminder: {}", e.getMessage());
-			}
-		}
-	}
-
 	private void cancelBooking(Booking booking, LocalDateTime now, String reason) {
 		booking.setStatus(Booking.BookingStatus.CANCELLED);
 		booking.setCancellationReason(reason);
@@ -82,17 +113,12 @@ public class AutoCancellationService {
 
 		Car car = booking.getCar();
 		if (car != null) {
-			car.setAvailable(true);
-			carRepository.save(car);
+			carService.markAvailable(car);
 			log.info("🚗 Freed up car {} after cancellation", car.getCarId());
 		}
 
 		bookingRepository.save(booking);
 
-		try {
-			emailService.sendBookingCancellation(booking.getUser(), booking);
-		} catch (Exception e) {
-			log.error("Failed to send cancellation email: {}", e.getMessage());
-		}
+		emailService.sendBookingCancellation(booking.getUser(), booking);
 	}
 }
\ No newline at end of file
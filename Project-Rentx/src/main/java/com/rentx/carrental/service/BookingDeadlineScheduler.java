@@ -0,0 +1,155 @@
+package com.rentx.carrental.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.event.BookingChangedEvent;
+import com.rentx.carrental.repository.BookingRepository;
+import com.rentx.carrental.util.HierarchicalTimingWheel;
+import com.rentx.carrental.util.HierarchicalTimingWheel.Timeout;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fires booking deadlines at the moment they fall due instead of discovering
+ * them by polling: activation at pickup, completion at return, the pay-at-pickup
+ * no-show cancellation two hours after pickup (kept when activation moves the
+ * booking to ACTIVE first), the pay-now cancellation 24 hours after booking and
+ * the pickup reminder one hour before. Deadlines are
+ * re-registered whenever a booking changes and rebuilt from the database on
+ * startup. Every action re-checks the stored booking before acting, so a
+ * deadline that went stale is harmless.
+ */
+@Slf4j
+@Component
+public class BookingDeadlineScheduler {
+
+	private static final long TICK_MILLIS = 1000;
+
+	private final BookingRepository bookingRepository;
+	private final BookingLifecycleJob bookingLifecycleJob;
+	private final AutoCancellationService autoCancellationService;
+
+	private final ExecutorService executor;
+	private final HierarchicalTimingWheel wheel;
+	private final ConcurrentHashMap<Long, List<Timeout>> deadlines = new ConcurrentHashMap<>();
+
+	public BookingDeadlineScheduler(BookingRepository bookingRepository, BookingLifecycleJob bookingLifecycleJob,
+			AutoCancellationService autoCancellationService) {
+		this.bookingRepository = bookingRepository;
+		this.bookingLifecycleJob = bookingLifecycleJob;
+		this.autoCancellationService = autoCancellationService;
+		AtomicInteger threads = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(2, runnable -> {
+			Thread thread = new Thread(runnable, "booking-deadline-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.wheel = new HierarchicalTimingWheel(TICK_MILLIS, executor);
+		this.wheel.start("booking-deadline-wheel");
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		long startTime = System.currentTimeMillis();
+		try {
+			List<BookingChangedEvent> bookings = bookingRepository
+					.findDeadlineStatesByStatusIn(EnumSet.of(BookingStatus.CONFIRMED, BookingStatus.ACTIVE));
+			bookings.forEach(booking -> register(booking, true));
+			log.info("Booking deadline scheduler rebuilt with {} deadlines for {} bookings in {}ms", wheel.size(),
+					deadlines.size(), System.currentTimeMillis() - startTime);
+		} catch (Exception e) {
+			log.error("Failed to rebuild booking deadlines, relying on reconciliation jobs: {}", e.getMessage());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookingChanged(BookingChangedEvent event) {
+		if (event.bookingId() != null) {
+			register(event, false);
+		}
+	}
+
+	public int pendingDeadlines() {
+		return wheel.size();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		wheel.stop();
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Replaces the booking's deadlines. With {@code keepExisting} the booking is
+	 * skipped if a change event already registered it, since that state is newer
+	 * than a startup snapshot.
+	 */
+	private void register(BookingChangedEvent booking, boolean keepExisting) {
+		deadlines.compute(booking.bookingId(), (bookingId, existing) -> {
+			if (existing != null) {
+				if (keepExisting) {
+					return existing;
+				}
+				existing.forEach(Timeout::cancel);
+			}
+			if (booking.removed()) {
+				return null;
+			}
+			List<Timeout> timeouts = new ArrayList<>(4);
+			if (booking.status() == BookingStatus.CONFIRMED && booking.startDate() != null) {
+				schedule(timeouts, booking.startDate(), bookingId, bookingLifecycleJob::advance);
+				if ("PAY_AT_PICKUP".equals(booking.paymentMethodSelected())) {
+					schedule(timeouts, booking.startDate().plusHours(2), bookingId,
+							autoCancellationService::cancelIfNoShow);
+				}
+				if ("PAY_NOW".equals(booking.paymentMethodSelected()) && "PENDING".equals(booking.paymentStatus())
+						&& booking.bookingDate() != null) {
+					schedule(timeouts, booking.bookingDate().plusHours(24), bookingId,
+							autoCancellationService::cancelIfUnpaid);
+				}
+				LocalDateTime reminderAt = booking.startDate().minusHours(1);
+				if (reminderAt.isAfter(LocalDateTime.now())) {
+					schedule(timeouts, reminderAt, bookingId, autoCancellationService::remindPickup);
+				}
+			} else if (booking.status() == BookingStatus.ACTIVE && booking.endDate() != null) {
+				schedule(timeouts, booking.endDate(), bookingId, bookingLifecycleJob::advance);
+				// Activation at pickup time comes before the no-show deadline, so keep that deadline. Bulk
+				// transitions carry no payment method; the check itself re-reads it and the pickup status.
+				LocalDateTime noShowAt = booking.startDate() != null ? booking.startDate().plusHours(2) : null;
+				if (noShowAt != null && noShowAt.isAfter(LocalDateTime.now())
+						&& (booking.paymentMethodSelected() == null
+								|| "PAY_AT_PICKUP".equals(booking.paymentMethodSelected()))) {
+					schedule(timeouts, noShowAt, bookingId, autoCancellationService::cancelIfNoShow);
+				}
+			}
+			return timeouts.isEmpty() ? null : timeouts;
+		});
+	}
+
+	private void schedule(List<Timeout> timeouts, LocalDateTime at, Long bookingId, Consumer<Long> action) {
+		long deadline = at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		timeouts.add(wheel.schedule(deadline, () -> {
+			try {
+				action.accept(bookingId);
+			} catch (Exception e) {
+				log.error("Booking deadline for {} failed: {}", bookingId, e.getMessage());
+			}
+		}));
+	}
+}
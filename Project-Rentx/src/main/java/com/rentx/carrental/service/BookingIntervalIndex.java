@@ -0,0 +1,326 @@
+package com.rentx.carrental.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.rentx.carrental.dto.BookingWindow;
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.event.BookingChangedEvent;
+import com.rentx.carrental.repository.BookingRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory per-car index of the booking intervals that block a car. Each car
+ * keeps an immutable array of intervals sorted by start time, so conflict checks
+ * are a binary search plus a short scan and never take a lock. Until the index
+ * is warmed every lookup reports "no conflict" and callers fall back to the
+ * database check.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+
+	public static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.CONFIRMED,
+			BookingStatus.PENDING, BookingStatus.ACTIVE);
+
+	private final BookingRepository bookingRepository;
+
+	private final ConcurrentHashMap<Long, CarTimeline> timelines = new ConcurrentHashMap<>();
+	// Booking id to car id of windows removed while the warm-up query was running.
+	private final Map<Long, Long> removedDuringWarmup = new ConcurrentHashMap<>();
+	private volatile boolean warming;
+	private volatile boolean ready;
+
+	/**
+	 * Loads every blocking window. Removals are buffered from before the query
+	 * starts, so a booking cancelled while it runs is dropped again after the
+	 * loaded windows are merged in rather than blocking its car until restart.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		long startTime = System.currentTimeMillis();
+		warming = true;
+		try {
+			load(bookingRepository.findWindowsByStatusIn(BLOCKING_STATUSES));
+			log.info("Booking interval index warmed with {} cars in {}ms", timelines.size(),
+					System.currentTimeMillis() - startTime);
+		} catch (Exception e) {
+			log.error("Failed to warm booking interval index, conflict checks stay on the database: {}",
+					e.getMessage());
+		} finally {
+			warming = false;
+			removedDuringWarmup.clear();
+		}
+	}
+
+	public void load(Collection<BookingWindow> windows) {
+		Map<Long, List<BookingWindow>> byCar = new HashMap<>();
+		for (BookingWindow window : windows) {
+			if (window.getCarId() != null && !removedDuringWarmup.containsKey(window.getBookingId())) {
+				byCar.computeIfAbsent(window.getCarId(), k -> new ArrayList<>()).add(window);
+			}
+		}
+		byCar.forEach((carId, carWindows) -> timelines.merge(carId, CarTimeline.of(carWindows),
+				(current, loaded) -> loaded.withAll(current)));
+		// Removals that raced the filter above may have been merged back in.
+		removedDuringWarmup.forEach((bookingId, carId) -> timelines.computeIfPresent(carId,
+				(id, timeline) -> timeline.without(bookingId)));
+		ready = true;
+	}
+
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookingChanged(BookingChangedEvent event) {
+		if (event.bookingId() == null || event.carId() == null) {
+			return;
+		}
+		if (!event.removed() && BLOCKING_STATUSES.contains(event.status()) && event.startDate() != null
+				&& event.endDate() != null) {
+			long start = toEpoch(event.startDate());
+			long end = toEpoch(event.endDate());
+			removedDuringWarmup.remove(event.bookingId());
+			timelines.compute(event.carId(),
+					(carId, timeline) -> (timeline != null ? timeline : CarTimeline.EMPTY).with(event.bookingId(),
+							start, end));
+		} else {
+			if (warming) {
+				removedDuringWarmup.put(event.bookingId(), event.carId());
+			}
+			timelines.computeIfPresent(event.carId(), (carId, timeline) -> timeline.without(event.bookingId()));
+		}
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	public boolean hasConflict(Long carId, LocalDateTime startDate, LocalDateTime endDate, Long excludeBookingId) {
+		if (!ready || carId == null || startDate == null || endDate == null) {
+			return false;
+		}
+		CarTimeline timeline = timelines.get(carId);
+		return timeline != null && timeline.firstOverlap(toEpoch(startDate), toEpoch(endDate),
+				excludeBookingId != null ? excludeBookingId : Long.MIN_VALUE) >= 0;
+	}
+
+	public List<Long> findConflicts(Long carId, LocalDateTime startDate, LocalDateTime endDate) {
+		if (!ready || carId == null || startDate == null || endDate == null) {
+			return List.of();
+		}
+		CarTimeline timeline = timelines.get(carId);
+		return timeline != null ? timeline.overlapping(toEpoch(startDate), toEpoch(endDate)) : List.of();
+	}
+
+	/**
+	 * Whether an indexed booking of the car has {@code start <= to} and
+	 * {@code end >= from}. Unlike {@link #hasConflict}, a booking that only
+	 * touches the window counts, matching the inclusive bounds of the fleet
+	 * availability query.
+	 */
+	public boolean hasBookingTouching(Long carId, LocalDateTime from, LocalDateTime to) {
+		if (!ready || carId == null || from == null || to == null) {
+			return false;
+		}
+		CarTimeline timeline = timelines.get(carId);
+		return timeline != null && timeline.anyTouching(toEpoch(from), toEpoch(to));
+	}
+
+	/**
+	 * Visits every indexed booking of the car with {@code start <= to} and
+	 * {@code end >= from}, the same inclusive bounds the availability query used.
+	 */
+	public void forEachWindow(Long carId, LocalDateTime from, LocalDateTime to, WindowConsumer consumer) {
+		CarTimeline timeline = carId != null ? timelines.get(carId) : null;
+		if (timeline != null) {
+			timeline.forEachTouching(toEpoch(from), toEpoch(to), consumer);
+		}
+	}
+
+	private static long toEpoch(LocalDateTime dateTime) {
+		return dateTime.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	private static LocalDateTime fromEpoch(long epochSecond) {
+		return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+	}
+
+	@FunctionalInterface
+	public interface WindowConsumer {
+		void accept(long bookingId, LocalDateTime startDate, LocalDateTime endDate);
+	}
+
+	/**
+	 * Intervals of one car, sorted by start. {@code maxEnds[i]} is the largest end
+	 * among the first {@code i + 1} intervals, which bounds the backwards scan of
+	 * an overlap query even when intervals overlap each other.
+	 */
+	static final class CarTimeline {
+
+		static final CarTimeline EMPTY = new CarTimeline(new long[0], new long[0], new long[0]);
+
+		private final long[] ids;
+		private final long[] starts;
+		private final long[] ends;
+		private final long[] maxEnds;
+
+		private CarTimeline(long[] ids, long[] starts, long[] ends) {
+			this.ids = ids;
+			this.starts = starts;
+			this.ends = ends;
+			this.maxEnds = new long[ids.length];
+			long max = Long.MIN_VALUE;
+			for (int i = 0; i < ids.length; i++) {
+				max = Math.max(max, ends[i]);
+				maxEnds[i] = max;
+			}
+		}
+
+		static CarTimeline of(List<BookingWindow> windows) {
+			List<BookingWindow> sorted = new ArrayList<>(windows.size());
+			for (BookingWindow window : windows) {
+				if (window.getStartDate() != null && window.getEndDate() != null) {
+					sorted.add(window);
+				}
+			}
+			if (sorted.isEmpty()) {
+				return EMPTY;
+			}
+			sorted.sort(Comparator.comparing(BookingWindow::getStartDate));
+			long[] ids = new long[sorted.size()];
+			long[] starts = new long[sorted.size()];
+			long[] ends = new long[sorted.size()];
+			for (int i = 0; i < ids.length; i++) {
+				BookingWindow window = sorted.get(i);
+				ids[i] = window.getBookingId();
+				starts[i] = toEpoch(window.getStartDate());
+				ends[i] = toEpoch(window.getEndDate());
+			}
+			return new CarTimeline(ids, starts, ends);
+		}
+
+		CarTimeline with(long id, long start, long end) {
+			CarTimeline base = without(id);
+			if (base == null) {
+				base = EMPTY;
+			}
+			int n = base.ids.length;
+			int pos = base.insertionPoint(start);
+			long[] newIds = new long[n + 1];
+			long[] newStarts = new long[n + 1];
+			long[] newEnds = new long[n + 1];
+			System.arraycopy(base.ids, 0, newIds, 0, pos);
+			System.arraycopy(base.starts, 0, newStarts, 0, pos);
+			System.arraycopy(base.ends, 0, newEnds, 0, pos);
+			newIds[pos] = id;
+			newStarts[pos] = start;
+			newEnds[pos] = end;
+			System.arraycopy(base.ids, pos, newIds, pos + 1, n - pos);
+			System.arraycopy(base.starts, pos, newStarts, pos + 1, n - pos);
+			System.arraycopy(base.ends, pos, newEnds, pos + 1, n - pos);
+			return new CarTimeline(newIds, newStarts, newEnds);
+		}
+
+		CarTimeline withAll(CarTimeline other) {
+			CarTimeline merged = this;
+			for (int i = 0; i < other.ids.length; i++) {
+				merged = merged.with(other.ids[i], other.starts[i], other.ends[i]);
+			}
+			return merged;
+		}
+
+		/** Returns {@code null} when the last interval is removed so the map entry is dropped. */
+		CarTimeline without(long id) {
+			int index = -1;
+			for (int i = 0; i < ids.length; i++) {
+				if (ids[i] == id) {
+					index = i;
+					break;
+				}
+			}
+			if (index < 0) {
+				return this;
+			}
+			if (ids.length == 1) {
+				return null;
+			}
+			long[] newIds = new long[ids.length - 1];
+			long[] newStarts = new long[ids.length - 1];
+			long[] newEnds = new long[ids.length - 1];
+			System.arraycopy(ids, 0, newIds, 0, index);
+			System.arraycopy(starts, 0, newStarts, 0, index);
+			System.arraycopy(ends, 0, newEnds, 0, index);
+			System.arraycopy(ids, index + 1, newIds, index, ids.length - index - 1);
+			System.arraycopy(starts, index + 1, newStarts, index, ids.length - index - 1);
+			System.arraycopy(ends, index + 1, newEnds, index, ids.length - index - 1);
+			return new CarTimeline(newIds, newStarts, newEnds);
+		}
+
+		int firstOverlap(long start, long end, long excludeId) {
+			for (int i = insertionPoint(end) - 1; i >= 0 && maxEnds[i] > start; i--) {
+				if (ends[i] > start && ids[i] != excludeId) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		List<Long> overlapping(long start, long end) {
+			List<Long> result = new ArrayList<>();
+			for (int i = insertionPoint(end) - 1; i >= 0 && maxEnds[i] > start; i--) {
+				if (ends[i] > start) {
+					result.add(ids[i]);
+				}
+			}
+			return result;
+		}
+
+		boolean anyTouching(long from, long to) {
+			for (int i = insertionPoint(to + 1) - 1; i >= 0 && maxEnds[i] >= from; i--) {
+				if (ends[i] >= from) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		void forEachTouching(long from, long to, WindowConsumer consumer) {
+			for (int i = insertionPoint(to + 1) - 1; i >= 0 && maxEnds[i] >= from; i--) {
+				if (ends[i] >= from) {
+					consumer.accept(ids[i], fromEpoch(starts[i]), fromEpoch(ends[i]));
+				}
+			}
+		}
+
+		/** Index of the first interval starting at or after {@code time}. */
+		private int insertionPoint(long time) {
+			int pos = Arrays.binarySearch(starts, time);
+			if (pos < 0) {
+				return -pos - 1;
+			}
+			while (pos > 0 && starts[pos - 1] == time) {
+				pos--;
+			}
+			return pos;
+		}
+	}
+}
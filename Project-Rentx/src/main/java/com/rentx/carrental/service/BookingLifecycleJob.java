@@ -0,0 +1,158 @@
+package com.rentx.carrental.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rentx.carrental.dto.BookingWindow;
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.event.BookingChangedEvent;
+import com.rentx.carrental.repository.BookingRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves bookings through CONFIRMED -> ACTIVE -> COMPLETED. Candidates are read
+ * as id-ordered keyset pages of lightweight projections and each page is
+ * switched with one set-based UPDATE in its own short transaction, so a run
+ * never holds thousands of managed entities or one long transaction. The bulk
+ * update bypasses the entity listener, so change events are published and
+ * loyalty counters adjusted here for the rows that were actually transitioned.
+ */
+@Slf4j
+@Service
+public class BookingLifecycleJob {
+
+	static final int CHUNK_SIZE = 500;
+
+	private final BookingRepository bookingRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+	private final LoyaltyService loyaltyService;
+
+	public BookingLifecycleJob(BookingRepository bookingRepository, ApplicationEventPublisher eventPublisher,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			LoyaltyService loyaltyService) {
+		this.bookingRepository = bookingRepository;
+		this.eventPublisher = eventPublisher;
+		this.meterRegistry = meterRegistry;
+		this.loyaltyService = loyaltyService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	public record RunResult(int activated, int completed, long durationMs) {
+	}
+
+	@FunctionalInterface
+	private interface PageQuery {
+		List<BookingWindow> fetch(BookingStatus status, LocalDateTime now, Long afterId, Pageable pageable);
+	}
+
+	/**
+	 * Moves a single booking on if its start or end has passed. Used by the
+	 * deadline scheduler; re-checks the stored dates so a stale deadline is a no-op.
+	 */
+	public boolean advance(Long bookingId) {
+		return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+			List<BookingWindow> windows = bookingRepository.findWindowsByIdIn(List.of(bookingId));
+			if (windows.isEmpty()) {
+				return false;
+			}
+			BookingWindow window = windows.get(0);
+			LocalDateTime now = LocalDateTime.now();
+			BookingStatus to;
+			if (window.getStatus() == BookingStatus.CONFIRMED && !window.getStartDate().isAfter(now)) {
+				to = BookingStatus.ACTIVE;
+			} else if (window.getStatus() == BookingStatus.ACTIVE && !window.getEndDate().isAfter(now)) {
+				to = BookingStatus.COMPLETED;
+			} else {
+				return false;
+			}
+			if (bookingRepository.transitionStatus(List.of(bookingId), window.getStatus(), to) == 0) {
+				return false;
+			}
+			loyaltyService.onBulkTransition(List.of(bookingId), window.getStatus(), to);
+			publishTransition(window, window.getStatus(), to);
+			meterRegistry.counter("booking.lifecycle.transitions", "to", to.name(), "trigger", "deadline").increment();
+			log.info("Booking {} set to {}", bookingId, to);
+			return true;
+		}));
+	}
+
+	/** Hourly reconciliation; exact transitions are fired by {@link BookingDeadlineScheduler}. */
+	@Scheduled(cron = "0 5 * * * ?")
+	public RunResult run() {
+		long startTime = System.currentTimeMillis();
+		LocalDateTime now = LocalDateTime.now();
+
+		int activated = transition(bookingRepository::findWindowsStartedBefore, BookingStatus.CONFIRMED,
+				BookingStatus.ACTIVE, now);
+		int completed = transition(bookingRepository::findWindowsEndedBefore, BookingStatus.ACTIVE,
+				BookingStatus.COMPLETED, now);
+
+		RunResult result = new RunResult(activated, completed, System.currentTimeMillis() - startTime);
+		if (activated > 0 || completed > 0) {
+			log.info("Booking lifecycle run: {} activated, {} completed in {}ms", activated, completed,
+					result.durationMs());
+		} else {
+			log.debug("Booking lifecycle run: nothing to transition ({}ms)", result.durationMs());
+		}
+		return result;
+	}
+
+	private int transition(PageQuery query, BookingStatus from, BookingStatus to, LocalDateTime now) {
+		Pageable page = PageRequest.ofSize(CHUNK_SIZE);
+		DistributionSummary chunkSizes = meterRegistry.summary("booking.lifecycle.chunk.size", "to", to.name());
+		long afterId = 0L;
+		int total = 0;
+		while (true) {
+			long cursor = afterId;
+			Chunk chunk = transactionTemplate.execute(status -> {
+				List<BookingWindow> windows = query.fetch(from, now, cursor, page);
+				if (windows.isEmpty()) {
+					return new Chunk(0, cursor, true);
+				}
+				List<Long> ids = windows.stream().map(BookingWindow::getBookingId).toList();
+				int updated = bookingRepository.transitionStatus(ids, from, to);
+				List<BookingWindow> changed = updated == ids.size() ? windows
+						: bookingRepository.findWindowsByIdIn(ids).stream().filter(w -> w.getStatus() == to)
+								.toList();
+				loyaltyService.onBulkTransition(changed.stream().map(BookingWindow::getBookingId).toList(), from, to);
+				changed.forEach(window -> publishTransition(window, from, to));
+				return new Chunk(updated, ids.get(ids.size() - 1), windows.size() < CHUNK_SIZE);
+			});
+			Objects.requireNonNull(chunk);
+			total += chunk.updated();
+			if (chunk.updated() > 0) {
+				chunkSizes.record(chunk.updated());
+			}
+			if (chunk.last()) {
+				meterRegistry.counter("booking.lifecycle.transitions", "to", to.name(), "trigger", "sweep")
+						.increment(total);
+				return total;
+			}
+			afterId = chunk.lastId();
+		}
+	}
+
+	private void publishTransition(BookingWindow window, BookingStatus from, BookingStatus to) {
+		eventPublisher.publishEvent(BookingChangedEvent.transitioned(window.getBookingId(), window.getCarId(),
+				window.getStartDate(), window.getEndDate(), from, to));
+	}
+
+	private record Chunk(int updated, long lastId, boolean last) {
+	}
+}
@@ -7,9 +7,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.hibernate.validator.internal.util.stereotypes.Lazy;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.rentx.carrental.dto.BookingRequest;
@@ -25,20 +22,24 @@ import com.rentx.carrental.exception.BookingAlreadyStartedException;
 import com.rentx.carrental.exception.BookingCompletedException;
 import com.rentx.carrental.exception.BookingConflictException;
 import com.rentx.carrental.exception.CarNotFoundException;
+import com.rentx.carrental.exception.EmailSendingException;
 import com.rentx.carrental.exception.InvalidCancellationException;
 import com.rentx.carrental.repository.BookingRepository;
 import com.rentx.carrental.repository.CarRepository;
-import com.rentx.carrental.repository.UserRepository;
+import com.rentx.carrental.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional
 public class BookingService {
     private final EmailService emailService;
     private final BookingRepository bookingRepository;
     private final CarRepository carRepository;
-    private final UserRepository userRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final PrincipalCache principalCache;
     @Lazy
     private final LoyaltyService loyaltyService;
     @Lazy
@@ -47,15 +48,15 @@ public class BookingService {
   
     @Transactional
     public BookingResponse createBooking(BookingRequest request) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = principalCache.currentUser();
         
         Car car = carRepository.findById(request.getCarId())
                 .orElseThrow(() -> new CarNotFoundException(request.getCarId()));
         
+        if (bookingIntervalIndex.hasConflict(request.getCarId(), request.getStartDate(), request.getEndDate(), null)) {
+            throw new BookingConflictException("Car is already booked for the selected dates");
+        }
+
         List<Booking> existingBookings = bookingRepository.findConflictingBookings(request.getCarId(),
                 request.getStartDate(), request.getEndDate());
 
@@ -92,9 +93,9 @@ public class BookingService {
         
         try {
             emailService.sendBookingConfirmation(user, savedBooking);
-            System.out.println("Booking confirmation email sent to: " + user.getEmail());
-        } catch (Exception e) {
-            System.err.println("Failed to send email: " + e.getMessage());
+            log.info("Booking confirmation email queued for: {}", user.getEmail());
+        } catch (EmailSendingException e) {
+            log.warn("Failed to send email: {}", e.getMessage());
         }
         
         return convertToResponse(savedBooking, discount);
@@ -102,16 +103,12 @@ public class BookingService {
     @Transactional(readOnly = true)
     public List<BookingResponse> getUserBookings() {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            User user = principalCache.currentUser();
             
-            System.out.println("User: " + user.getUsername() + ", ID: " + user.getId());
+            log.debug("User: {}, ID: {}", user.getUsername(), user.getId());
 
             List<Booking> bookings = bookingRepository.findByUserOrderByBookingDateDesc(user);
-            System.out.println("Found " + bookings.size() + " bookings");
+            log.debug("Found {} bookings", bookings.size());
 
             return bookings.stream().map(booking -> {
                 double originalPrice = calculateOriginalPrice(booking);
@@ -120,8 +117,7 @@ public class BookingService {
             }).collect(Collectors.toList());
 
         } catch (Exception e) {
-            System.err.println("ERROR in getUserBookings: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in getUserBookings", e);
             throw e;
         }
     }
@@ -138,7 +134,7 @@ public class BookingService {
              double dailyRate = booking.getCar().getDailyRate();
              return dailyRate * Math.max(1, days);
         } catch (Exception e) {
-            System.err.println("Error calculating original price: " + e.getMessage());
+            log.error("Error calculating original price: {}", e.getMessage());
             return 0.0;
         }
     }
@@ -179,16 +175,16 @@ public class BookingService {
         if (isPaidOnline) {
             long hoursUntilPickup = ChronoUnit.HOURS.between(now, booking.getStartDate());
             refundAmount = calculateRefundAmount(booking.getTotalPrice(), hoursUntilPickup);
-            System.out.println("Online payment - Refund calculated: " + refundAmount);
+            log.debug("Online payment - Refund calculated: {}", refundAmount);
             
             if (refundAmount > 0) {
                 booking.setRefundStatus(RefundStatus.PENDING);
             }
         } else if (isPendingPayment) {
             booking.setPaymentStatus("PAY_AT_PICKUP");
-            System.out.println("Pending payment converted to Pay at Pickup upon cancellation");
+            log.debug("Pending payment converted to Pay at Pickup upon cancellation");
         } else {
-            System.out.println(" Pay at Pickup - No refund applicable");
+            log.debug("Pay at Pickup - No refund applicable");
         }
 
         booking.setStatus(Booking.BookingStatus.CANCELLED);
@@ -198,18 +194,12 @@ public class BookingService {
 
         bookingRepository.save(booking);
 
-        System.out.println(" Cancellation Details:");
-        System.out.println("   - Payment Method: " + booking.getPaymentStatus());
-        System.out.println("   - Original Amount: " + booking.getTotalPrice());
-        System.out.println("   - Refund Amount: " + refundAmount);
-        System.out.println("   - Final Charge: " + (booking.getTotalPrice() - refundAmount));
+        log.info("Booking {} cancelled - payment: {}, original amount: {}, refund: {}, final charge: {}", bookingId,
+                booking.getPaymentStatus(), booking.getTotalPrice(), refundAmount,
+                booking.getTotalPrice() - refundAmount);
 
-        try {
-            emailService.sendBookingCancellation(booking.getUser(), booking);
-            System.out.println("Cancellation email sent to: " + booking.getUser().getEmail());
-        } catch (Exception e) {
-            System.err.println("Failed to send cancellation email: " + e.getMessage());
-        }
+        emailService.sendBookingCancellation(booking.getUser(), booking);
+        log.info("Cancellation email queued for: {}", booking.getUser().getEmail());
 
         if (isPaidOnline && refundAmount > 0) {
             processRefund(booking, refundAmount);
@@ -225,10 +215,10 @@ public class BookingService {
 
     private void processRefund(Booking booking, double refundAmount) {
         try {
-            System.out.println("Processing refund of $" + refundAmount + " for booking " + booking.getId());
-            System.out.println("Refund will be processed to original payment method");
+            log.info("Processing refund of {} for booking {}", refundAmount, booking.getId());
+            log.info("Refund will be processed to original payment method");
         } catch (Exception e) {
-            System.err.println("Refund processing failed: " + e.getMessage());
+            log.error("Refund processing failed: {}", e.getMessage());
         }
     }
 
@@ -245,8 +235,7 @@ public class BookingService {
 
     @Transactional(readOnly = true)
     public List<BookingResponse> getUserBookingsByFilter(String filter) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = (User) authentication.getPrincipal();
+        User user = principalCache.currentUser();
 
         List<Booking> bookings;
         LocalDateTime now = LocalDateTime.now();
@@ -281,25 +270,6 @@ public class BookingService {
             return convertToResponse(booking, discount);
         }).collect(Collectors.toList());
     }
-    @Transactional
-    @Scheduled(fixedRate = 300000) 
-    public void updateBookingStatuses() {
-        LocalDateTime now = LocalDateTime.now();
-
-        List<Booking> toActivate = bookingRepository.findByStartDateBeforeAndStatus(now, Booking.BookingStatus.CONFIRMED);
-        for (Booking booking : toActivate) {
-            booking.setStatus(Booking.BookingStatus.ACTIVE);
-            bookingRepository.save(booking);
-            System.out.println("Booking " + booking.getId() + " set to ACTIVE");
-        }
-
-        List<Booking> toComplete = bookingRepository.findByEndDateBeforeAndStatus(now, Booking.BookingStatus.ACTIVE);
-        for (Booking booking : toComplete) {
-            booking.setStatus(Booking.BookingStatus.COMPLETED);
-            bookingRepository.save(booking);
-            System.out.println("Booking " + booking.getId() + " set to COMPLETED");
-        }
-    }
 
 	
 
@@ -321,17 +291,13 @@ public class BookingService {
 
             Booking savedBooking = bookingRepository.save(booking);
 
-            try {
-                emailService.sendPickupConfirmation(booking.getUser(), savedBooking);
-                System.out.println("Pickup confirmation email sent to: " + booking.getUser().getEmail());
-            } catch (Exception e) {
-                System.err.println("Failed to send pickup email: " + e.getMessage());
-            }
+            emailService.sendPickupConfirmation(booking.getUser(), savedBooking);
+            log.info("Pickup confirmation email queued for: {}", booking.getUser().getEmail());
 
             return convertToResponse(savedBooking, savedBooking.getDiscountAmount() != null ? savedBooking.getDiscountAmount() : 0.0);
             
         } catch (Exception e) {
-            System.err.println("Error marking booking as picked up: " + e.getMessage());
+            log.error("Error marking booking as picked up: {}", e.getMessage());
             throw new RuntimeException("Failed to mark booking as picked up: " + e.getMessage());
         }
     }
@@ -370,8 +336,7 @@ public class BookingService {
                 booking.setLateReturnPenalty(latePenalty);
                 booking.setIsLateReturn(true);
                 
-                System.out.println("Late return detected: " + lateHours + 
-                                 " hours late - Penalty: ₹" + latePenalty);
+                log.info("Late return detected: {} hours late - Penalty: ₹{}", lateHours, latePenalty);
             }
             
             double additionalCharges = (extraCharges != null ? extraCharges : 0.0);
@@ -384,18 +349,14 @@ public class BookingService {
 
             Booking savedBooking = bookingRepository.save(booking);
 
-            try {
-                emailService.sendReturnConfirmation(booking.getUser(), savedBooking);
-                System.out.println("Return confirmation email sent to: " + booking.getUser().getEmail());
-            } catch (Exception e) {
-                System.err.println("Failed to send return email: " + e.getMessage());
-            }
+            emailService.sendReturnConfirmation(booking.getUser(), savedBooking);
+            log.info("Return confirmation email queued for: {}", booking.getUser().getEmail());
 
             return convertToResponse(savedBooking, 
                 savedBooking.getDiscountAmount() != null ? savedBooking.getDiscountAmount() : 0.0);
             
         } catch (Exception e) {
-            System.err.println("Error marking booking as returned: " + e.getMessage());
+            log.error("Error marking booking as returned: {}", e.getMessage());
             throw new RuntimeException("Failed to mark booking as returned: " + e.getMessage());
         }
     }
@@ -421,7 +382,7 @@ public class BookingService {
                 .collect(Collectors.toList());
                 
         } catch (Exception e) {
-            System.err.println("Error fetching active bookings: " + e.getMessage());
+            log.error("Error fetching active bookings: {}", e.getMessage());
             throw new RuntimeException("Failed to fetch active bookings: " + e.getMessage());
         }
     }
@@ -450,8 +411,7 @@ public class BookingService {
                 booking.setLateReturnPenalty(latePenalty);
                 booking.setIsLateReturn(true);
                 
-                System.out.println("Late return detected: " + 
-                    booking.getLateHours() + " hours late - Penalty: ₹" + latePenalty);
+                log.info("Late return detected: {} hours late - Penalty: ₹{}", booking.getLateHours(), latePenalty);
             }
             
             double finalAmount = booking.getTotalPrice() + latePenalty;
@@ -459,17 +419,13 @@ public class BookingService {
 
             Booking savedBooking = bookingRepository.save(booking);
 
-            try {
-                emailService.sendReturnConfirmation(booking.getUser(), savedBooking);
-                System.out.println("Return confirmation email sent to: " + booking.getUser().getEmail());
-            } catch (Exception e) {
-                System.err.println("Failed to send return email: " + e.getMessage());
-            }
+            emailService.sendReturnConfirmation(booking.getUser(), savedBooking);
+            log.info("Return confirmation email queued for: {}", booking.getUser().getEmail());
 
             return convertToResponse(savedBooking, savedBooking.getDiscountAmount() != null ? savedBooking.getDiscountAmount() : 0.0);
             
         } catch (Exception e) {
-            System.err.println("Error marking booking as returned: " + e.getMessage());
+            log.error("Error marking booking as returned: {}", e.getMessage());
             throw new RuntimeException("Failed to mark booking as returned: " + e.getMessage());
         }
     }
@@ -538,7 +494,7 @@ public class BookingService {
     @Transactional
     public BookingResponse extendBooking(Long bookingId, LocalDateTime newEndDate) {
         try {
-            System.out.println("🔄 Extending booking " + bookingId + " to " + newEndDate);
+            log.info("🔄 Extending booking {} to {}", bookingId, newEndDate);
             
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -551,6 +507,11 @@ public class BookingService {
                 throw new RuntimeException("New end date must be after current end date");
             }
             
+            if (bookingIntervalIndex.hasConflict(booking.getCar().getCarId(), booking.getEndDate(), newEndDate,
+                    bookingId)) {
+                throw new RuntimeException("Car not available for extended period");
+            }
+            
             List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(
                     booking.getCar().getCarId(),
                     booking.getEndDate(), 
@@ -570,8 +531,8 @@ public class BookingService {
             extraDays = Math.max(1, extraDays);
             double extensionCharge = booking.getCar().getDailyRate() * extraDays;
             
-            System.out.println("💰 Extension charge: " + extraDays + " days × ₹" + 
-                             booking.getCar().getDailyRate() + " = ₹" + extensionCharge);
+            log.info("💰 Extension charge: {} days × ₹{} = ₹{}", extraDays, booking.getCar().getDailyRate(),
+                    extensionCharge);
             
             double originalPrice = booking.getTotalPrice();
             LocalDateTime originalEndDate = booking.getEndDate();
@@ -581,19 +542,15 @@ public class BookingService {
             
             Booking savedBooking = bookingRepository.save(booking);
             
-            try {
-                emailService.sendExtensionConfirmation(booking.getUser(), savedBooking, 
-                                                     extensionCharge, originalEndDate);
-                System.out.println("Extension confirmation email sent");
-            } catch (Exception e) {
-                System.err.println("Failed to send extension email: " + e.getMessage());
-            }
+            emailService.sendExtensionConfirmation(booking.getUser(), savedBooking, 
+                                                  extensionCharge, originalEndDate);
+            log.info("Extension confirmation email queued");
             
             return convertToResponse(savedBooking, 
                     savedBooking.getDiscountAmount() != null ? savedBooking.getDiscountAmount() : 0.0);
             
         } catch (Exception e) {
-            System.err.println("Error extending booking: " + e.getMessage());
+            log.error("Error extending booking: {}", e.getMessage());
             throw new RuntimeException("Failed to extend booking: " + e.getMessage());
         }
     }
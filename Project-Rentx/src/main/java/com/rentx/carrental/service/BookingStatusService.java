@@ -2,7 +2,6 @@ package com.rentx.carrental.service;
 
 import com.rentx.carrental.entity.Booking;
 import com.rentx.carrental.entity.Booking.BookingStatus;
-import com.rentx.carrental.entity.Booking.RefundStatus;
 import com.rentx.carrental.repository.BookingRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -17,52 +16,18 @@ import java.util.List;
 @RequiredArgsConstructor
 @Transactional
 public class BookingStatusService {
-	private final PaymentService paymentService;
 	private final BookingRepository bookingRepository;
 	private final EmailService emailService;
+	private final BookingLifecycleJob bookingLifecycleJob;
+	private final RefundProcessingJob refundProcessingJob;
 
-	@Scheduled(fixedRate = 300000)
-	public void updateBookingStatuses() {
-		LocalDateTime now = LocalDateTime.now();
-
-		List<Booking> toActivate = bookingRepository.findByStartDateBeforeAndStatus(now,
-				Booking.BookingStatus.CONFIRMED);
-		for (Booking booking : toActivate) {
-			booking.setStatus(Booking.BookingStatus.ACTIVE);
-			bookingRepository.save(booking);
-			System.out.println("Booking " + booking.getId() + " set to ACTIVE");
-		}
-
-		List<Booking> toComplete = bookingRepository.findByEndDateBeforeAndStatus(now, Booking.BookingStatus.ACTIVE);
-		for (Booking booking : toComplete) {
-			booking.setStatus(Booking.BookingStatus.COMPLETED);
-			bookingRepository.save(booking);
-			System.out.println("Booking " + booking.getId() + " set to COMPLETED");
-		}
+	public BookingLifecycleJob.RunResult updateBookingStatuses() {
+		return bookingLifecycleJob.run();
 	}
 
-	@Scheduled(fixedRate = 3600000)
-	public void updateRefundStatuses() {
-		LocalDateTime now = LocalDateTime.now();
-		LocalDateTime sevenDaysAgo = now.minusDays(7);
-
-		List<Booking> pendingRefunds = bookingRepository.findByStatusAndRefundStatusAndCancellationDateBefore(
-				Booking.BookingStatus.CANCELLED, RefundStatus.PENDING, sevenDaysAgo);
-
-		for (Booking booking : pendingRefunds) {
-			try {
-				if (booking.getRefundAmount() > 0 && "PAID".equals(booking.getPaymentStatus())) {
-					paymentService.processRefund(booking, booking.getRefundAmount());
-					System.out.println("Auto-processed refund for booking " + booking.getId());
-				} else {
-					booking.setRefundStatus(RefundStatus.PROCESSED);
-					bookingRepository.save(booking);
-					System.out.println("Marked refund as PROCESSED for payLater booking " + booking.getId());
-				}
-			} catch (Exception e) {
-				System.err.println("Failed to process refund for booking " + booking.getId() + ": " + e.getMessage());
-			}
-		}
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	public RefundProcessingJob.RunResult updateRefundStatuses() {
+		return refundProcessingJob.run();
 	}
 
 	@Scheduled(cron = "0 0 1 * * ?")
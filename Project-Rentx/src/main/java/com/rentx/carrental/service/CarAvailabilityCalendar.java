@@ -0,0 +1,144 @@
+package com.rentx.carrental.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.rentx.carrental.config.AppConfig;
+import com.rentx.carrental.dto.MonthAvailability;
+import com.rentx.carrental.entity.Booking;
+import com.rentx.carrental.event.BookingChangedEvent;
+import com.rentx.carrental.repository.BookingRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per car, per month bitmaps of booked days built from the
+ * {@link BookingIntervalIndex}. Cached months are recomputed in place when a
+ * booking of that car touching the month, before or after the change, changes,
+ * so reads never hit the database once the index is warm.
+ */
+@Slf4j
+@Component
+public class CarAvailabilityCalendar {
+
+	public static final String CACHE_NAME = "availabilityCalendar";
+	public static final int MAX_MONTHS = 12;
+	/** How many years ahead of the current one a calendar may be requested for. */
+	public static final int MAX_YEARS_AHEAD = 2;
+
+	private final BookingIntervalIndex bookingIntervalIndex;
+	private final BookingRepository bookingRepository;
+
+	// Bounded like the Spring caches, since the months held follow what clients ask for.
+	private final Cache<CarMonth, MonthAvailability> cache;
+	private final ConcurrentMap<CarMonth, MonthAvailability> months;
+
+	public CarAvailabilityCalendar(BookingIntervalIndex bookingIntervalIndex, BookingRepository bookingRepository,
+			AppConfig appConfig, MeterRegistry meterRegistry) {
+		this.bookingIntervalIndex = bookingIntervalIndex;
+		this.bookingRepository = bookingRepository;
+		this.cache = appConfig.getCache().specFor(CACHE_NAME).newBuilder().build();
+		this.months = cache.asMap();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	public MonthAvailability getMonth(Long carId, YearMonth month) {
+		if (!bookingIntervalIndex.isReady()) {
+			return loadFromDatabase(carId, month);
+		}
+		return months.computeIfAbsent(new CarMonth(carId, month), this::compute);
+	}
+
+	public List<MonthAvailability> getMonths(Long carId, YearMonth firstMonth, int count) {
+		int monthCount = Math.max(1, Math.min(count, MAX_MONTHS));
+		List<MonthAvailability> result = new ArrayList<>(monthCount);
+		for (int i = 0; i < monthCount; i++) {
+			result.add(getMonth(carId, firstMonth.plusMonths(i)));
+		}
+		return result;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookingChanged(BookingChangedEvent event) {
+		if (event.carId() == null) {
+			return;
+		}
+		if (event.startDate() == null || event.endDate() == null) {
+			months.keySet().removeIf(key -> key.carId().equals(event.carId()));
+			return;
+		}
+		// A moved booking leaves the months of its old dates as well as entering those of the new ones.
+		Set<YearMonth> touched = new TreeSet<>();
+		addMonths(touched, event.startDate(), event.endDate());
+		if (event.previousStartDate() != null && event.previousEndDate() != null) {
+			addMonths(touched, event.previousStartDate(), event.previousEndDate());
+		}
+		for (YearMonth month : touched) {
+			months.computeIfPresent(new CarMonth(event.carId(), month), (key, stale) -> compute(key));
+		}
+	}
+
+	private static void addMonths(Set<YearMonth> target, LocalDateTime startDate, LocalDateTime endDate) {
+		YearMonth last = YearMonth.from(endDate);
+		for (YearMonth month = YearMonth.from(startDate); !month.isAfter(last); month = month.plusMonths(1)) {
+			target.add(month);
+		}
+	}
+
+	@Scheduled(cron = "0 15 0 1 * ?")
+	public void evictPastMonths() {
+		YearMonth previousMonth = YearMonth.now().minusMonths(1);
+		months.keySet().removeIf(key -> key.month().isBefore(previousMonth));
+		log.info("Availability calendar holds {} car-months after eviction", months.size());
+	}
+
+	private MonthAvailability compute(CarMonth key) {
+		LocalDateTime monthStart = key.month().atDay(1).atStartOfDay();
+		LocalDateTime monthEnd = monthStart.plusMonths(1).minusSeconds(1);
+		int[] bookedDays = new int[1];
+		int[] totalBookings = new int[1];
+		bookingIntervalIndex.forEachWindow(key.carId(), monthStart, monthEnd, (bookingId, startDate, endDate) -> {
+			bookedDays[0] |= dayMask(key.month(), startDate.toLocalDate(), endDate.toLocalDate());
+			totalBookings[0]++;
+		});
+		return new MonthAvailability(key.month(), bookedDays[0], totalBookings[0]);
+	}
+
+	private MonthAvailability loadFromDatabase(Long carId, YearMonth month) {
+		LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+		LocalDateTime monthEnd = monthStart.plusMonths(1).minusSeconds(1);
+		List<Booking> bookings = bookingRepository.findByCarCarIdAndDatesBetween(carId, monthStart, monthEnd);
+		int bookedDays = 0;
+		for (Booking booking : bookings) {
+			bookedDays |= dayMask(month, booking.getStartDate().toLocalDate(), booking.getEndDate().toLocalDate());
+		}
+		return new MonthAvailability(month, bookedDays, bookings.size());
+	}
+
+	private static int dayMask(YearMonth month, LocalDate startDate, LocalDate endDate) {
+		LocalDate first = startDate.isBefore(month.atDay(1)) ? month.atDay(1) : startDate;
+		LocalDate last = endDate.isAfter(month.atEndOfMonth()) ? month.atEndOfMonth() : endDate;
+		if (first.isAfter(last)) {
+			return 0;
+		}
+		long upTo = (1L << last.getDayOfMonth()) - 1;
+		long below = (1L << (first.getDayOfMonth() - 1)) - 1;
+		return (int) (upTo & ~below);
+	}
+
+	private record CarMonth(Long carId, YearMonth month) {
+	}
+}
@@ -0,0 +1,106 @@
+package com.rentx.carrental.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.rentx.carrental.event.BookingChangedEvent;
+import com.rentx.carrental.event.CarChangedEvent;
+import com.rentx.carrental.event.CarChangedEvent.CarState;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evicts only the car cache entries a change can affect instead of clearing
+ * every car cache on each write. Search results are keyed by their filter
+ * list ({@code [brand, category, maxPrice]} or
+ * {@code [brand, category, maxPrice, startDate, endDate]}), so an entry is
+ * dropped when the car matched its filters before or after the change, or when
+ * a booking overlaps its date window.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CarCacheInvalidator {
+
+	private final CacheManager cacheManager;
+
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCarChanged(CarChangedEvent event) {
+		Cache details = cacheManager.getCache("carDetails");
+		if (details != null && event.carId() != null) {
+			details.evict(event.carId());
+		}
+
+		if (listed(event.previous()) || listed(event.current())) {
+			Cache available = cacheManager.getCache("availableCars");
+			if (available != null) {
+				available.evict(SimpleKey.EMPTY);
+			}
+		}
+
+		int evicted = evictSearches(key -> matches(key, event.previous()) || matches(key, event.current()));
+		log.debug("Car {} changed, evicted {} cached searches", event.carId(), evicted);
+	}
+
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookingChanged(BookingChangedEvent event) {
+		if (event.startDate() == null || event.endDate() == null) {
+			return;
+		}
+		int evicted = evictSearches(key -> key.size() == 5 && key.get(3) instanceof LocalDateTime start
+				&& key.get(4) instanceof LocalDateTime end && !start.isAfter(event.endDate())
+				&& !end.isBefore(event.startDate()));
+		log.debug("Booking {} changed, evicted {} cached searches", event.bookingId(), evicted);
+	}
+
+	private int evictSearches(Predicate<List<?>> affected) {
+		Cache cache = cacheManager.getCache("cars");
+		if (!(cache instanceof CaffeineCache caffeineCache)) {
+			if (cache != null) {
+				cache.clear();
+			}
+			return 0;
+		}
+		int[] evicted = { 0 };
+		caffeineCache.getNativeCache().asMap().keySet().removeIf(key -> {
+			boolean remove = !(key instanceof List<?> filters) || affected.test(filters);
+			if (remove) {
+				evicted[0]++;
+			}
+			return remove;
+		});
+		return evicted[0];
+	}
+
+	private static boolean listed(CarState state) {
+		return state != null && state.listed();
+	}
+
+	private static boolean matches(List<?> key, CarState state) {
+		if (state == null || key.size() < 3) {
+			return false;
+		}
+		Object brand = key.get(0);
+		Object category = key.get(1);
+		Object maxPrice = key.get(2);
+		return (brand == null || state.brand() != null
+				&& state.brand().toLowerCase(Locale.ROOT).equals(brand.toString().toLowerCase(Locale.ROOT)))
+				&& (category == null || state.category() != null
+						&& state.category().name().equalsIgnoreCase(category.toString()))
+				&& (!(maxPrice instanceof Double max) || state.dailyRate() != null && state.dailyRate() <= max);
+	}
+}
@@ -0,0 +1,73 @@
+package com.rentx.carrental.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rentx.carrental.entity.CarRating;
+import com.rentx.carrental.event.ReviewCreatedEvent;
+import com.rentx.carrental.repository.CarRatingRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-car rating totals kept in {@code car_rating}. A new review bumps its
+ * car's sum and count with one upsert in the review's transaction; reads come
+ * from the {@code carRatings} cache, evicted after that transaction commits.
+ * The table is rebuilt from the reviews at startup and nightly.
+ */
+@Slf4j
+@Service
+public class CarRatingService {
+
+	public static final String CACHE_NAME = "carRatings";
+
+	private final CarRatingRepository carRatingRepository;
+	private final Cache cache;
+	private final TransactionTemplate transactionTemplate;
+
+	public CarRatingService(CarRatingRepository carRatingRepository, CacheManager cacheManager,
+			PlatformTransactionManager transactionManager) {
+		this.carRatingRepository = carRatingRepository;
+		this.cache = cacheManager.getCache(CACHE_NAME);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	public CarRating getRating(Long carId) {
+		return cache.get(carId, () -> carRatingRepository.findById(carId).orElseGet(() -> new CarRating(carId, 0, 0)));
+	}
+
+	@Transactional
+	public void addRating(Long carId, int rating) {
+		carRatingRepository.addRating(carId, rating);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onReviewCreated(ReviewCreatedEvent event) {
+		cache.evict(event.carId());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		try {
+			rebuild();
+		} catch (Exception e) {
+			log.error("Failed to rebuild car ratings: {}", e.getMessage());
+		}
+	}
+
+	@Scheduled(cron = "0 50 2 * * ?")
+	public void rebuild() {
+		long startTime = System.currentTimeMillis();
+		Integer rows = transactionTemplate.execute(status -> carRatingRepository.rebuildFromReviews());
+		cache.clear();
+		log.info("Car ratings rebuilt ({} rows affected) in {}ms", rows, System.currentTimeMillis() - startTime);
+	}
+}
@@ -1,15 +1,19 @@
 package com.rentx.carrental.service;
 
+import com.rentx.carrental.config.CacheLoaders;
 import com.rentx.carrental.entity.Car;
+import com.rentx.carrental.event.CarChangedEvent;
+import com.rentx.carrental.event.CarChangedEvent.CarState;
 import com.rentx.carrental.exception.CarNotFoundException;
 import com.rentx.carrental.repository.CarRepository;
 import com.rentx.carrental.util.HtmlEscapeUtil;
 import com.rentx.carrental.util.SqlInjectionProtectionUtil;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,20 +25,36 @@ import java.util.stream.Collectors;
 public class CarService {
 
 	private final CarRepository carRepository;
+	private final FleetAvailabilityEngine fleetAvailabilityEngine;
+	private final ApplicationEventPublisher eventPublisher;
+	private final CacheLoaders cacheLoaders;
+
+	@PostConstruct
+	void registerCacheLoaders() {
+		cacheLoaders.register("availableCars", key -> carRepository.findAvailableActiveCars());
+		cacheLoaders.register("cars", key -> {
+			List<?> filters = (List<?>) key;
+			if (filters.size() == 5) {
+				return searchCars((String) filters.get(0), (String) filters.get(1), (Double) filters.get(2),
+						(LocalDateTime) filters.get(3), (LocalDateTime) filters.get(4));
+			}
+			return searchCars((String) filters.get(0), (String) filters.get(1), (Double) filters.get(2));
+		});
+	}
 
-	@Cacheable(value = "availableCars", unless = "#result == null || #result.isEmpty()")
+	@Cacheable(value = "availableCars", sync = true)
 	public List<Car> getAllAvailableCars() {
 		log.info("Fetching available cars from database");
 		return carRepository.findAvailableActiveCars();
 	}
 
-	@Cacheable(value = "carDetails", key = "#id", unless = "#result == null")
+	@Cacheable(value = "carDetails", key = "#id", sync = true)
 	public Car getCarById(Long id) {
 		log.info("Fetching car details from database for ID: {}", id);
 		return carRepository.findById(id).orElseThrow(() -> new CarNotFoundException(id));
 	}
 
-	@Cacheable(value = "cars", key = "{#brand, #category, #maxPrice}", unless = "#result == null || #result.isEmpty()")
+	@Cacheable(value = "cars", key = "{#brand, #category, #maxPrice}", sync = true)
 	public List<Car> searchCars(String brand, String category, Double maxPrice) {
 		log.info("Searching cars with filters - Brand: {}, Category: {}, MaxPrice: {}", brand, category, maxPrice);
 
@@ -69,22 +89,63 @@ public class CarService {
 		}
 	}
 
-	@CacheEvict(value = { "availableCars", "cars", "carDetails" }, allEntries = true)
-	public Car updateCar(Car car) {
-		log.info("Updating car and evicting cache for car ID: {}", car.getCarId());
-		return carRepository.save(car);
+	public Car createCar(Car car) {
+		car.setActive(true);
+		car.setAvailable(true);
+		Car savedCar = carRepository.save(car);
+		log.info("Created car {}", savedCar.getCarId());
+		eventPublisher.publishEvent(new CarChangedEvent(savedCar.getCarId(), null, CarState.of(savedCar)));
+		return savedCar;
+	}
+
+	public Car updateCar(Long carId, Car carDetails) {
+		Car car = carRepository.findById(carId).orElseThrow(() -> new CarNotFoundException(carId));
+		CarState previous = CarState.of(car);
+
+		car.setBrand(carDetails.getBrand());
+		car.setModel(carDetails.getModel());
+		car.setYear(carDetails.getYear());
+		car.setColor(carDetails.getColor());
+		car.setDailyRate(carDetails.getDailyRate());
+		car.setLicensePlate(carDetails.getLicensePlate());
+		car.setCategory(carDetails.getCategory());
+		car.setImagePath(carDetails.getImagePath());
+
+		log.info("Updating car ID: {}", carId);
+		Car savedCar = carRepository.save(car);
+		eventPublisher.publishEvent(new CarChangedEvent(carId, previous, CarState.of(savedCar)));
+		return savedCar;
+	}
+
+	public Car toggleAvailability(Long carId) {
+		Car car = carRepository.findById(carId).orElseThrow(() -> new CarNotFoundException(carId));
+		return setAvailable(car, !Boolean.TRUE.equals(car.getAvailable()));
+	}
+
+	public Car markAvailable(Car car) {
+		return Boolean.TRUE.equals(car.getAvailable()) ? car : setAvailable(car, true);
+	}
+
+	private Car setAvailable(Car car, boolean available) {
+		CarState previous = CarState.of(car);
+		car.setAvailable(available);
+		log.info("Setting availability of car {} to {}", car.getCarId(), available);
+		Car savedCar = carRepository.save(car);
+		eventPublisher.publishEvent(new CarChangedEvent(savedCar.getCarId(), previous, CarState.of(savedCar)));
+		return savedCar;
 	}
 
-	@CacheEvict(value = { "availableCars", "cars", "carDetails" }, allEntries = true)
 	public void deleteCar(Long carId) {
-		log.info("Deleting car and evicting cache for car ID: {}", carId);
-		carRepository.deleteById(carId);
+		Car car = carRepository.findById(carId).orElseThrow(() -> new CarNotFoundException(carId));
+		CarState previous = CarState.of(car);
+		log.info("Deleting car ID: {}", carId);
+		carRepository.delete(car);
+		eventPublisher.publishEvent(new CarChangedEvent(carId, previous, null));
 	}
 
-	@Scheduled(fixedRate = 3600000)
 	@CacheEvict(value = { "availableCars", "cars", "carDetails" }, allEntries = true)
 	public void clearCarCaches() {
-		log.info("Scheduled cache eviction for car data at {}", LocalDateTime.now());
+		log.info("Manual cache eviction for car data at {}", LocalDateTime.now());
 	}
 
 	public List<Car> getCarsByCategory(String category) {
@@ -97,7 +158,7 @@ public class CarService {
 		return carRepository.findByCategory(catEnum);
 	}
 
-	@Cacheable(value = "cars", key = "{#brand, #category, #maxPrice, #startDate, #endDate}", unless = "#result == null || #result.isEmpty()")
+	@Cacheable(value = "cars", key = "{#brand, #category, #maxPrice, #startDate, #endDate}", sync = true)
 	public List<Car> searchCars(String brand, String category, Double maxPrice, LocalDateTime startDate,
 			LocalDateTime endDate) {
 
@@ -115,6 +176,11 @@ public class CarService {
 			throw new IllegalArgumentException("Invalid category parameter");
 		}
 
+		List<Car> indexed = fleetAvailabilityEngine.search(safeBrand, safeCategory, maxPrice, startDate, endDate);
+		if (indexed != null) {
+			return indexed;
+		}
+
 		List<Car> cars;
 
 		if (startDate != null && endDate != null) {
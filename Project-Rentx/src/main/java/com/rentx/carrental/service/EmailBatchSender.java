@@ -0,0 +1,132 @@
+package com.rentx.carrental.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import com.rentx.carrental.config.AppConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends mail in batches through {@link JavaMailSender#send(SimpleMailMessage...)}
+ * and its MIME counterpart, which deliver a whole batch over one SMTP connection
+ * instead of opening a session per message. Throughput across all callers is
+ * capped by {@code app.mail.batch.max-per-second}.
+ */
+@Slf4j
+@Component
+public class EmailBatchSender {
+
+	private final JavaMailSender mailSender;
+	private final AppConfig.Mail.Batch config;
+
+	private final Timer batchTimer;
+	private final DistributionSummary batchSize;
+	private final Counter sent;
+	private final Counter failed;
+	private final AtomicLong nextFreeSlot = new AtomicLong(System.nanoTime());
+
+	public EmailBatchSender(JavaMailSender mailSender, AppConfig appConfig, MeterRegistry meterRegistry) {
+		this.mailSender = mailSender;
+		this.config = appConfig.getMail().getBatch();
+		this.batchTimer = meterRegistry.timer("email.batch.send");
+		this.batchSize = meterRegistry.summary("email.batch.size");
+		this.sent = meterRegistry.counter("email.messages", "result", "sent");
+		this.failed = meterRegistry.counter("email.messages", "result", "failed");
+	}
+
+	public int getBatchSize() {
+		return Math.max(1, config.getSize());
+	}
+
+	/**
+	 * Sends {@code messages} in one SMTP session and returns the messages that
+	 * could not be delivered, keyed by identity. An empty map means every message
+	 * was accepted by the server.
+	 */
+	public Map<SimpleMailMessage, Exception> send(List<SimpleMailMessage> messages) throws InterruptedException {
+		return send(messages, SimpleMailMessage.class,
+				batch -> mailSender.send(batch.toArray(SimpleMailMessage[]::new)));
+	}
+
+	/** Same as {@link #send(List)} for MIME messages built with {@link #createHtmlMessage}. */
+	public Map<MimeMessage, Exception> sendMime(List<MimeMessage> messages) throws InterruptedException {
+		return send(messages, MimeMessage.class, batch -> mailSender.send(batch.toArray(MimeMessage[]::new)));
+	}
+
+	/** A multipart/alternative message carrying {@code text} and {@code html} as its two parts. */
+	public MimeMessage createHtmlMessage(String to, String subject, String text, String html)
+			throws MessagingException {
+		MimeMessage message = mailSender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+		helper.setTo(to);
+		helper.setSubject(subject != null ? subject : "");
+		helper.setText(text != null ? text : "", html);
+		return message;
+	}
+
+	private <M> Map<M, Exception> send(List<M> messages, Class<M> type, Consumer<List<M>> transport)
+			throws InterruptedException {
+		Map<M, Exception> failures = new IdentityHashMap<>();
+		if (messages.isEmpty()) {
+			return failures;
+		}
+		acquire(messages.size());
+		long startTime = System.nanoTime();
+		try {
+			transport.accept(messages);
+		} catch (MailSendException e) {
+			Map<Object, Exception> failedMessages = e.getFailedMessages();
+			if (failedMessages.isEmpty()) {
+				messages.forEach(message -> failures.put(message, e));
+			} else {
+				failedMessages.forEach((message, cause) -> {
+					if (type.isInstance(message)) {
+						failures.put(type.cast(message), cause);
+					}
+				});
+			}
+		} catch (Exception e) {
+			messages.forEach(message -> failures.put(message, e));
+		} finally {
+			batchTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+			batchSize.record(messages.size());
+		}
+		sent.increment(messages.size() - failures.size());
+		failed.increment(failures.size());
+		log.debug("Sent mail batch of {} ({} failed)", messages.size(), failures.size());
+		return failures;
+	}
+
+	/** Reserves send slots for {@code count} messages and waits until the first one starts. */
+	private void acquire(int count) throws InterruptedException {
+		int maxPerSecond = config.getMaxPerSecond();
+		if (maxPerSecond <= 0) {
+			return;
+		}
+		long interval = TimeUnit.SECONDS.toNanos(1) / maxPerSecond;
+		long now = System.nanoTime();
+		long slot = nextFreeSlot.getAndAccumulate(count * interval, (free, cost) -> Math.max(free, now) + cost);
+		long wait = Math.max(slot, now) - now;
+		if (wait > 0) {
+			TimeUnit.NANOSECONDS.sleep(wait);
+		}
+	}
+}
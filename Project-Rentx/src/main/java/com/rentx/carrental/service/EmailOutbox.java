@@ -0,0 +1,311 @@
+package com.rentx.carrental.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rentx.carrental.config.AppConfig;
+import com.rentx.carrental.entity.OutboxEmail;
+import com.rentx.carrental.entity.OutboxEmail.OutboxStatus;
+import com.rentx.carrental.event.EmailQueuedEvent;
+import com.rentx.carrental.repository.OutboxEmailRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transactional outbox for outgoing mail. {@link #enqueue} stores the message
+ * in the caller's transaction, so nothing is sent for a rolled-back booking and
+ * no request waits on SMTP. After commit the dispatcher claims due rows and
+ * hands them to a bounded worker pool; failures are retried with exponential
+ * backoff and parked as DEAD after the configured number of attempts.
+ */
+@Slf4j
+@Service
+public class EmailOutbox {
+
+	private static final String CLAIM_TIMED_OUT = "Claim timed out before the send was recorded";
+
+	private final OutboxEmailRepository outboxRepository;
+	private final EmailBatchSender batchSender;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
+	private final AppConfig.Mail.Outbox config;
+
+	private final ThreadPoolExecutor workers;
+	private final ExecutorService dispatcher;
+	private final AtomicBoolean drainRequested = new AtomicBoolean();
+	private final DistributionSummary claimedSizes;
+
+	public EmailOutbox(OutboxEmailRepository outboxRepository, EmailBatchSender batchSender,
+			ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+			AppConfig appConfig, MeterRegistry meterRegistry) {
+		this.outboxRepository = outboxRepository;
+		this.batchSender = batchSender;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.config = appConfig.getMail().getOutbox();
+		this.claimedSizes = meterRegistry.summary("email.outbox.claimed");
+
+		AtomicInteger threads = new AtomicInteger();
+		this.workers = new ThreadPoolExecutor(config.getWorkers(), config.getWorkers(), 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(config.getQueueCapacity()), runnable -> {
+					Thread thread = new Thread(runnable, "email-outbox-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "email-outbox-dispatcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		new ExecutorServiceMetrics(workers, "email-outbox", List.of()).bindTo(meterRegistry);
+	}
+
+	@Transactional
+	public void enqueue(SimpleMailMessage message) {
+		enqueue(message, null);
+	}
+
+	/**
+	 * Queues {@code message} with an HTML alternative to its text; a {@code null}
+	 * {@code htmlBody} queues plain text only.
+	 */
+	@Transactional
+	public void enqueue(SimpleMailMessage message, String htmlBody) {
+		String[] recipients = message.getTo();
+		if (recipients == null) {
+			throw new IllegalArgumentException("Mail message has no recipient");
+		}
+		for (String recipient : recipients) {
+			OutboxEmail email = outboxRepository.save(new OutboxEmail(recipient, message.getSubject(),
+					message.getText(), htmlBody));
+			eventPublisher.publishEvent(new EmailQueuedEvent(email.getId()));
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmailQueued(EmailQueuedEvent event) {
+		requestDrain();
+	}
+
+	@Scheduled(fixedDelay = 10000)
+	public void poll() {
+		int released = transactionTemplate.execute(status -> releaseStaleClaims(LocalDateTime.now()));
+		if (released > 0) {
+			log.warn("Released {} email outbox claims that timed out", released);
+		}
+		requestDrain();
+	}
+
+	@Scheduled(cron = "0 30 3 * * ?")
+	public void purgeSent() {
+		int deleted = transactionTemplate.execute(
+				status -> outboxRepository.deleteSentBefore(LocalDateTime.now().minus(config.getRetention())));
+		log.info("Purged {} sent emails from the outbox", deleted);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		dispatcher.shutdownNow();
+		workers.shutdown();
+	}
+
+	private void requestDrain() {
+		if (drainRequested.compareAndSet(false, true)) {
+			dispatcher.execute(this::drain);
+		}
+	}
+
+	/**
+	 * Claims as many due rows as the worker queue can take and hands them over
+	 * in SMTP-sized batches, one batch per worker task.
+	 */
+	private void drain() {
+		drainRequested.set(false);
+		int smtpBatch = batchSender.getBatchSize();
+		try {
+			while (true) {
+				int capacity = Math.min(config.getBatchSize(), workers.getQueue().remainingCapacity() * smtpBatch);
+				if (capacity == 0) {
+					return;
+				}
+				List<OutboxEmail> claimed = claim(capacity);
+				if (!claimed.isEmpty()) {
+					claimedSizes.record(claimed.size());
+				}
+				for (int from = 0; from < claimed.size(); from += smtpBatch) {
+					List<OutboxEmail> batch = claimed.subList(from, Math.min(from + smtpBatch, claimed.size()));
+					workers.execute(() -> deliver(batch));
+				}
+				if (claimed.size() < capacity) {
+					return;
+				}
+			}
+		} catch (Exception e) {
+			log.error("Email outbox dispatch failed: {}", e.getMessage());
+		}
+	}
+
+	private List<OutboxEmail> claim(int limit) {
+		return transactionTemplate.execute(status -> {
+			LocalDateTime now = LocalDateTime.now();
+			List<Long> ids = outboxRepository.findDueIds(now, PageRequest.ofSize(limit));
+			if (ids.isEmpty()) {
+				return List.of();
+			}
+			String token = UUID.randomUUID().toString();
+			outboxRepository.claim(ids, token, now);
+			return outboxRepository.findByClaimToken(token);
+		});
+	}
+
+	private void deliver(List<OutboxEmail> batch) {
+		Map<SimpleMailMessage, OutboxEmail> textMessages = new IdentityHashMap<>();
+		Map<MimeMessage, OutboxEmail> htmlMessages = new IdentityHashMap<>();
+		List<Long> sentIds = new ArrayList<>(batch.size());
+		for (OutboxEmail email : batch) {
+			if (!email.isHtml()) {
+				SimpleMailMessage message = new SimpleMailMessage();
+				message.setTo(email.getRecipient());
+				message.setSubject(email.getSubject());
+				message.setText(email.getBody());
+				textMessages.put(message, email);
+				continue;
+			}
+			try {
+				htmlMessages.put(batchSender.createHtmlMessage(email.getRecipient(), email.getSubject(),
+						email.getBody(), email.getHtmlBody()), email);
+			} catch (Exception e) {
+				recordFailure(email, e);
+			}
+		}
+		try {
+			record(textMessages, batchSender.send(new ArrayList<>(textMessages.keySet())), sentIds);
+			record(htmlMessages, batchSender.sendMime(new ArrayList<>(htmlMessages.keySet())), sentIds);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			markSent(sentIds);
+		} catch (Exception e) {
+			log.error("Could not mark outbox emails {} sent, they will be resent after their claim times out: {}",
+					sentIds, e.getMessage());
+		}
+	}
+
+	private <M> void record(Map<M, OutboxEmail> messages, Map<M, Exception> failures, List<Long> sentIds) {
+		messages.forEach((message, email) -> {
+			Exception failure = failures.get(message);
+			if (failure == null) {
+				sentIds.add(email.getId());
+			} else {
+				recordFailure(email, failure);
+			}
+		});
+	}
+
+	// One row that cannot be updated must not keep the rest of the batch from being recorded.
+	private void recordFailure(OutboxEmail email, Exception failure) {
+		try {
+			markFailed(email.getId(), failure);
+		} catch (Exception e) {
+			log.error("Could not record failure of outbox email {}, retrying after its claim times out: {}",
+					email.getId(), e.getMessage());
+		}
+	}
+
+	private void markSent(List<Long> ids) {
+		if (!ids.isEmpty()) {
+			transactionTemplate.executeWithoutResult(status -> outboxRepository.markSent(ids, LocalDateTime.now()));
+			log.debug("Outbox emails {} sent", ids);
+		}
+	}
+
+	/**
+	 * A claim that timed out is a failed attempt: its worker died or hung
+	 * mid-send, and the message may have gone out. It is retried with the same
+	 * backoff as a send failure, or parked as DEAD once attempts are used up, so
+	 * a message that keeps hanging a worker is not resent forever.
+	 */
+	private int releaseStaleClaims(LocalDateTime now) {
+		int released = 0;
+		for (OutboxEmail email : outboxRepository.findByStatusAndClaimedAtBefore(OutboxStatus.SENDING,
+				now.minus(config.getClaimTimeout()))) {
+			int attempts = email.getAttempts() + 1;
+			boolean dead = attempts >= config.getMaxAttempts();
+			LocalDateTime nextAttemptAt = dead ? email.getNextAttemptAt() : now.plus(backoff(attempts));
+			if (outboxRepository.releaseStaleClaim(email.getId(), email.getClaimToken(),
+					dead ? OutboxStatus.DEAD : OutboxStatus.PENDING, nextAttemptAt, CLAIM_TIMED_OUT) == 0) {
+				continue;
+			}
+			released++;
+			if (dead) {
+				log.error("Outbox email {} to {} is dead after {} attempts: {}", email.getId(), email.getRecipient(),
+						attempts, CLAIM_TIMED_OUT);
+			}
+		}
+		return released;
+	}
+
+	private void markFailed(Long id, Exception cause) {
+		transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(id).ifPresent(email -> {
+			int attempts = email.getAttempts() + 1;
+			email.setAttempts(attempts);
+			email.setClaimToken(null);
+			email.setLastError(truncate(cause.getMessage()));
+			if (attempts >= config.getMaxAttempts()) {
+				email.setStatus(OutboxStatus.DEAD);
+				log.error("Outbox email {} to {} is dead after {} attempts: {}", id, email.getRecipient(), attempts,
+						cause.getMessage());
+			} else {
+				email.setStatus(OutboxStatus.PENDING);
+				email.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+				log.warn("Outbox email {} failed (attempt {}), retrying at {}: {}", id, attempts,
+						email.getNextAttemptAt(), cause.getMessage());
+			}
+		}));
+	}
+
+	/** Exponential backoff with up to 20% jitter, capped at the configured maximum. */
+	private Duration backoff(int attempts) {
+		long base = config.getInitialBackoff().toMillis() << Math.min(attempts - 1, 20);
+		long capped = Math.min(base, config.getMaxBackoff().toMillis());
+		return Duration.ofMillis(capped + ThreadLocalRandom.current().nextLong(capped / 5 + 1));
+	}
+
+	private static String truncate(String message) {
+		if (message == null) {
+			return null;
+		}
+		return message.length() > 1000 ? message.substring(0, 1000) : message;
+	}
+}
@@ -0,0 +1,370 @@
+package com.rentx.carrental.service;
+
+import com.rentx.carrental.util.MailTemplate;
+
+/**
+ * Mail bodies sent by {@link EmailService}, compiled once at class load.
+ * Parameter names double as documentation of the argument order. Templates
+ * with an {@code _HTML} twin take the same arguments, so one argument list
+ * renders both parts of a multipart message.
+ */
+public final class EmailTemplates {
+
+	private EmailTemplates() {
+	}
+
+	public static final MailTemplate BOOKING_CONFIRMATION = MailTemplate.text("""
+			Dear {{firstName}} {{lastName}},
+
+			🎉 YOUR BOOKING IS CONFIRMED!
+
+			📋 BOOKING DETAILS:
+			• Booking ID: {{bookingId}}
+			• Vehicle: {{brand}} {{model}}
+			• Pickup Date: {{startDate:date}}
+			• Return Date: {{endDate:date}}
+			• Rental Duration: {{days}} days
+			• Payment Method: {{paymentMethod}}
+			{{paymentInstructions}}
+			💰 PRICE BREAKDOWN:
+			• Daily Rate: ₹{{dailyRate:money}}
+			• Loyalty Discount: -₹{{discount:money}}
+			• Total Amount: ₹{{total:money}}
+
+			📍 PICKUP LOCATION:
+			RentX Main Office
+			123 Car Rental Street
+			City, State 12345
+
+			📞 Contact: +1 (555) 123-RENT
+			📧 Email: support@rentx.com
+
+			📝 IMPORTANT REMINDERS:
+			• Bring your driver's license and payment card
+			• Security deposit may be required
+			• Late returns incur additional charges
+
+			Thank you for choosing RentX! 🚗
+
+			Best regards,
+			The RentX Team""", "firstName", "lastName", "bookingId", "brand", "model", "startDate", "endDate", "days",
+			"paymentMethod", "paymentInstructions", "dailyRate", "discount", "total");
+
+	public static final MailTemplate BOOKING_CONFIRMATION_HTML = MailTemplate.html("""
+			<html>
+			<body style="font-family: Arial, sans-serif; color: #222;">
+			<p>Dear {{firstName}} {{lastName}},</p>
+			<h2>🎉 Your booking is confirmed!</h2>
+			<h3>📋 Booking details</h3>
+			<ul>
+			<li>Booking ID: {{bookingId}}</li>
+			<li>Vehicle: {{brand}} {{model}}</li>
+			<li>Pickup Date: {{startDate:date}}</li>
+			<li>Return Date: {{endDate:date}}</li>
+			<li>Rental Duration: {{days}} days</li>
+			<li>Payment Method: {{paymentMethod}}</li>
+			</ul>
+			<p>{{paymentInstructions}}</p>
+			<h3>💰 Price breakdown</h3>
+			<table cellpadding="4">
+			<tr><td>Daily Rate</td><td>₹{{dailyRate:money}}</td></tr>
+			<tr><td>Loyalty Discount</td><td>-₹{{discount:money}}</td></tr>
+			<tr><td><strong>Total Amount</strong></td><td><strong>₹{{total:money}}</strong></td></tr>
+			</table>
+			<h3>📍 Pickup location</h3>
+			<p>RentX Main Office<br>123 Car Rental Street<br>City, State 12345</p>
+			<p>📞 Contact: +1 (555) 123-RENT<br>📧 Email: support@rentx.com</p>
+			<h3>📝 Important reminders</h3>
+			<ul>
+			<li>Bring your driver's license and payment card</li>
+			<li>Security deposit may be required</li>
+			<li>Late returns incur additional charges</li>
+			</ul>
+			<p>Thank you for choosing RentX! 🚗</p>
+			<p>Best regards,<br>The RentX Team</p>
+			</body>
+			</html>""", "firstName", "lastName", "bookingId", "brand", "model", "startDate", "endDate", "days",
+			"paymentMethod", "paymentInstructions", "dailyRate", "discount", "total");
+
+	public static final MailTemplate CANCELLATION = MailTemplate.text("""
+			Dear {{firstName}} {{lastName}},
+
+			Your booking has been cancelled.
+
+			📋 CANCELLED BOOKING:
+			• Booking ID: {{bookingId}}
+			• Car: {{brand}} {{model}}
+			• Original Dates: {{startDate:date}} to {{endDate:date}}
+			• Payment Method: {{paymentMethod}}
+			• Cancellation Reason: {{reason}}
+			• Total Amount: ₹{{total:money}}
+			{{refundSection}}We're sorry to see you go! If there's anything we can do to improve your experience,
+			please don't hesitate to contact us.
+
+			We hope to see you again soon!
+
+			Best regards,
+			RentX Team 🚗""", "firstName", "lastName", "bookingId", "brand", "model", "startDate", "endDate",
+			"paymentMethod", "reason", "total", "refundSection");
+
+	public static final MailTemplate CANCELLATION_REFUND = MailTemplate.text("""
+			• Refund Amount: ₹{{refundAmount:money}}
+
+			💰 Refund will be processed to your original payment method within 5-7 business days.
+
+			""", "refundAmount");
+
+	static final String CANCELLATION_NO_REFUND = """
+			• Refund Amount: ₹0.00
+
+			ℹ️  No refund applicable as per our cancellation policy.
+
+			""";
+
+	static final String CANCELLATION_NOT_PAID = """
+			• Refund Amount: ₹0.00
+
+			ℹ️  No payment was made, so no refund is applicable.
+
+			""";
+
+	public static final MailTemplate REVIEW_CONFIRMATION = MailTemplate.text("""
+			Dear {{firstName}} {{lastName}},
+
+			⭐ THANK YOU FOR YOUR REVIEW!
+
+			We appreciate you taking the time to share your experience with us.
+
+			📋 REVIEW DETAILS:
+			• Car: {{brand}} {{model}}
+			• Rating: {{rating}}/5 stars
+			• Comment: {{comment}}
+
+			Your feedback helps us improve our service for all customers.
+
+			We look forward to serving you again soon!
+
+			Best regards,
+			RentX Team 🚗""", "firstName", "lastName", "brand", "model", "rating", "comment");
+
+	public static final MailTemplate REMINDER = MailTemplate.text("""
+			Dear {{firstName}} {{lastName}},
+
+			This is a friendly reminder about your upcoming car rental.
+
+			📋 RENTAL REMINDER:
+			• Car: {{brand}} {{model}}
+			• Pickup: {{startDate:date}}
+			• Return: {{endDate:date}}
+			• Total: ${{total:money}}
+
+			📍 Pickup Location:
+			   RentX Main Office
+			   123 Car Rental Street
+			   City, State 12345
+
+			📋 REQUIRED DOCUMENTS:
+			• Valid driver's license
+			• Payment card used for booking
+			• Proof of insurance (if applicable)
+
+			We look forward to serving you!
+
+			Safe travels,
+			RentX Team 🚗""", "firstName", "lastName", "brand", "model", "startDate", "endDate", "total");
+
+	public static final MailTemplate PICKUP_CONFIRMATION = MailTemplate.text("""
+			Dear {{firstName}} {{lastName}},
+
+			✅ YOUR CAR HAS BEEN PICKED UP!
+
+			📋 PICKUP DETAILS:
+			• Booking ID: {{bookingId}}
+			• Car: {{brand}} {{model}}
+			• Pickup Time: {{pickupTime:date}}
+			• Expected Return: {{endDate:date}}
+
+			📍 REMINDERS:
+			• Please return the car on time to avoid late fees
+			• Keep the car in good condition
+			• Contact us immediately for any issues
+
+			Enjoy your ride! 🚗
+
+			Best regards,
+			RentX Team""", "firstName", "lastName", "bookingId", "brand", "model", "pickupTime", "endDate");
+
+	public static final MailTemplate RETURN_CONFIRMATION = MailTemplate.text("""
+			Dear {{firstName}} {{lastName}},
+
+			✅ YOUR CAR HAS BEEN RETURNED!
+
+			📋 RETURN DETAILS:
+			• Booking ID: {{bookingId}}
+			• Car: {{brand}} {{model}}
+			• Scheduled Return: {{endDate:date}}
+			• Actual Return: {{returnTime:date}}
+			{{lateSection}}💰 FINAL AMOUNT:
+			• Rental Charges: ₹{{rentalCharges:money}}
+			• Late Fee: ₹{{lateFee:money}}
+			• Total Amount: ₹{{total:money}}
+
+			Thank you for choosing RentX! 🙏
+
+			Best regards,
+			RentX Team""", "firstName", "lastName", "bookingId", "brand", "model", "endDate", "returnTime",
+			"lateSection", "rentalCharges", "lateFee", "total");
+
+	public static final MailTemplate LATE_RETURN = MailTemplate.text("""
+			• ⏰ Late Return Fee: ₹{{penalty:money}}
+			• Late Duration: {{hours}} hours
+
+			""", "penalty", "hours");
+
+	static final String ON_TIME_RETURN = """
+			Late Return Fee: ₹0.00 (Returned on time)
+
+			""";
+
+	public static final MailTemplate REFUND_PROCESSED = MailTemplate.text("""
+			Dear {{firstName}} {{lastName}},
+
+			💰 GREAT NEWS! Your refund has been processed successfully.
+
+			📋 REFUND DETAILS:
+			• Booking ID: {{bookingId}}
+			• Car: {{brand}} {{model}}
+			• Refund Amount: ₹{{refundAmount:money}}
+			• Processed Date: {{processedDate:day}}
+
+			💳 REFUND INFORMATION:
+			• The amount will be credited to your original payment method
+			• It may take 5-7 business days to reflect in your account
+			• You will receive a confirmation from your bank/payment provider
+
+			📞 Need Help?
+			Contact: +1 (555) 123-RENT
+			Email: support@rentx.com
+
+			Thank you for choosing RentX!
+
+			Best regards,
+			RentX Team 🚗""", "firstName", "lastName", "bookingId", "brand", "model", "refundAmount",
+			"processedDate");
+
+	public static final MailTemplate REFUND_FAILED = MailTemplate.text("""
+			Dear {{firstName}} {{lastName}},
+
+			 We encountered an issue processing your refund.
+
+			📋 BOOKING DETAILS:
+			• Booking ID: {{bookingId}}
+			• Car: {{brand}} {{model}}
+			• Refund Amount: ₹{{refundAmount:money}}
+			• Error: {{error}}
+
+			🔧 NEXT STEPS:
+			• Our team has been notified and is working on the issue
+			• You don't need to take any action
+			• We will retry the refund automatically
+			• If the issue persists, we will contact you for alternative solutions
+
+			📞 Immediate Assistance:
+			Contact: +1 (555) 123-RENT
+			Email: support@rentx.com
+
+			We apologize for the inconvenience.
+
+			Best regards,
+			RentX Team 🚗""", "firstName", "lastName", "bookingId", "brand", "model", "refundAmount", "error");
+
+	public static final MailTemplate ADMIN_APPROVAL = MailTemplate.text("""
+			Dear {{firstName}} {{lastName}},
+
+			🎉 GREAT NEWS! Your admin request has been approved!
+
+			You now have administrator privileges in the RentX Car Rental system.
+
+			🔧 ADMIN CAPABILITIES:
+			• Manage all bookings
+			• View system statistics
+			• Process admin requests
+			• Manage car inventory
+
+			Please login again to access the admin dashboard.
+
+			Best regards,
+			RentX Team 🚗""", "firstName", "lastName");
+
+	public static final MailTemplate PAYMENT_CONFIRMATION = MailTemplate.text("""
+			Dear {{firstName}} {{lastName}},
+
+			✅ PAYMENT RECEIVED!
+
+			Your payment has been successfully processed.
+
+			📋 PAYMENT DETAILS:
+			• Booking ID: {{bookingId}}
+			• Car: {{brand}} {{model}}
+			• Payment Date: {{paymentDate:datetime}}
+			• Amount Paid: ₹{{total:money}}
+
+			🚗 RENTAL DETAILS:
+			• Pickup: {{startDate:date}}
+			• Return: {{endDate:date}}
+			• Duration: {{days}} days
+
+			💳 PAYMENT METHOD:
+			• Paid at Pickup (Cash/Card)
+
+			Thank you for your payment! Your booking is now fully confirmed.
+
+			Best regards,
+			RentX Team 🚗""", "firstName", "lastName", "bookingId", "brand", "model", "paymentDate", "total",
+			"startDate", "endDate", "days");
+
+	public static final MailTemplate PICKUP_REMINDER = MailTemplate.text("""
+			Hi {{firstName}},
+
+			Just a reminder that your car rental pickup is in 1 hour:
+
+			🚗 Car: {{brand}} {{model}}
+			⏰ Pickup Time: {{startDate:date}}
+			📍 Location: RentX Main Office
+
+			Please bring your driver's license.
+
+			Need to cancel? Contact us immediately.
+
+			Safe travels,
+			RentX Team""", "firstName", "brand", "model", "startDate");
+
+	public static final MailTemplate EXTENSION = MailTemplate.text("""
+			Dear {{firstName}} {{lastName}},
+
+			✅ YOUR BOOKING HAS BEEN EXTENDED!
+
+			📋 EXTENSION DETAILS:
+			• Booking ID: {{bookingId}}
+			• Car: {{brand}} {{model}}
+			• Original Return: {{originalEnd:date}}
+			• New Return: {{newEnd:date}}
+			• Extension Period: {{extraDays}} extra day(s)
+			• Extension Charge: ₹{{charge:money}}
+
+			💰 UPDATED TOTAL:
+			• Previous Total: ₹{{previousTotal:money}}
+			• Extension Fee: +₹{{charge:money}}
+			• New Total: ₹{{total:money}}
+
+			📍 REMINDER:
+			• Return the car by the new return date
+			• Late returns incur additional penalties
+			• Contact us if you need to extend further
+
+			Thank you for choosing RentX!
+
+			Best regards,
+			RentX Team 🚗""", "firstName", "lastName", "bookingId", "brand", "model", "originalEnd", "newEnd",
+			"extraDays", "charge", "previousTotal", "total");
+}
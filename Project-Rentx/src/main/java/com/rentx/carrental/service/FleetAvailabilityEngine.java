@@ -0,0 +1,224 @@
+package com.rentx.carrental.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.rentx.carrental.entity.Car;
+import com.rentx.carrental.event.CarChangedEvent;
+import com.rentx.carrental.repository.CarRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers fleet searches with bitmap intersections over an immutable snapshot
+ * of the catalog: listed cars, brand, category and price-bucket bitmaps are
+ * precomputed, and the date window is applied by probing
+ * {@link BookingIntervalIndex} for the remaining candidates only. A car is
+ * left out when any of its bookings overlaps or touches the window, the same
+ * inclusive bounds as {@code CarRepository.findAvailableCarsBetweenDates}.
+ * <p>
+ * The catalog is read once; afterwards each car change loads only that car
+ * and derives the next snapshot from the current one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FleetAvailabilityEngine {
+
+	private final CarRepository carRepository;
+	private final BookingIntervalIndex bookingIntervalIndex;
+
+	private volatile FleetSnapshot snapshot;
+
+	/**
+	 * Returns {@code null} when the engine cannot answer yet (catalog not loaded or
+	 * a date window was requested before the booking index is warm) so the caller
+	 * falls back to the database.
+	 */
+	public List<Car> search(String brand, String category, Double maxPrice, LocalDateTime startDate,
+			LocalDateTime endDate) {
+		boolean windowed = startDate != null && endDate != null;
+		if (windowed && !bookingIntervalIndex.isReady()) {
+			return null;
+		}
+		FleetSnapshot fleet = currentSnapshot();
+		if (fleet == null) {
+			return null;
+		}
+
+		BitSet candidates = (BitSet) fleet.listed.clone();
+		if (brand != null) {
+			candidates.and(fleet.byBrand.getOrDefault(brand.toLowerCase(Locale.ROOT), FleetSnapshot.NONE));
+		}
+		if (category != null) {
+			candidates.and(fleet.byCategory(category));
+		}
+		if (maxPrice != null) {
+			candidates.and(fleet.pricedAtMost(maxPrice));
+		}
+
+		List<Car> result = new ArrayList<>(candidates.cardinality());
+		for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+			Car car = fleet.cars[slot];
+			if (!windowed || !bookingIntervalIndex.hasBookingTouching(car.getCarId(), startDate, endDate)) {
+				result.add(car);
+			}
+		}
+		return result;
+	}
+
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onCarChanged(CarChangedEvent event) {
+		FleetSnapshot fleet = snapshot;
+		if (fleet == null || event.carId() == null) {
+			// Not loaded yet; the next search reads the whole catalog anyway.
+			return;
+		}
+		try {
+			Car changed = event.removed() ? null : carRepository.findById(event.carId()).orElse(null);
+			snapshot = fleet.with(event.carId(), changed);
+			log.debug("Fleet availability snapshot updated for car {}", event.carId());
+		} catch (Exception e) {
+			snapshot = null;
+			log.error("Failed to update fleet availability snapshot for car {}: {}", event.carId(), e.getMessage());
+		}
+	}
+
+	public synchronized void refresh() {
+		try {
+			snapshot = FleetSnapshot.of(carRepository.findAll());
+			log.info("Fleet availability snapshot rebuilt with {} cars", snapshot.cars.length);
+		} catch (Exception e) {
+			snapshot = null;
+			log.error("Failed to rebuild fleet availability snapshot: {}", e.getMessage());
+		}
+	}
+
+	private FleetSnapshot currentSnapshot() {
+		FleetSnapshot fleet = snapshot;
+		if (fleet == null) {
+			refresh();
+			fleet = snapshot;
+		}
+		return fleet;
+	}
+
+	static final class FleetSnapshot {
+
+		static final BitSet NONE = new BitSet();
+		private static final int PRICE_BUCKETS = 64;
+
+		private final Car[] cars;
+		private final BitSet listed = new BitSet();
+		private final Map<String, BitSet> byBrand = new HashMap<>();
+		private final Map<Car.CarCategory, BitSet> byCategory = new EnumMap<>(Car.CarCategory.class);
+
+		/** Slots ordered by daily rate; cars without a rate are left out. */
+		private final int[] slotsByPrice;
+		private final double[] sortedRates;
+		private final int bucketSize;
+		/** {@code cheaperThanBucket[b]} holds the first {@code b * bucketSize} slots in price order. */
+		private final BitSet[] cheaperThanBucket;
+
+		private FleetSnapshot(List<Car> catalog) {
+			cars = catalog.stream().sorted(Comparator.comparing(Car::getCarId)).toArray(Car[]::new);
+			for (int slot = 0; slot < cars.length; slot++) {
+				Car car = cars[slot];
+				if (Boolean.TRUE.equals(car.getAvailable()) && Boolean.TRUE.equals(car.getActive())) {
+					listed.set(slot);
+				}
+				if (car.getBrand() != null) {
+					byBrand.computeIfAbsent(car.getBrand().toLowerCase(Locale.ROOT), k -> new BitSet()).set(slot);
+				}
+				if (car.getCategory() != null) {
+					byCategory.computeIfAbsent(car.getCategory(), k -> new BitSet()).set(slot);
+				}
+			}
+
+			slotsByPrice = IntStream.range(0, cars.length)
+					.filter(slot -> cars[slot].getDailyRate() != null).boxed()
+					.sorted(Comparator.comparingDouble(slot -> cars[slot].getDailyRate()))
+					.mapToInt(Integer::intValue).toArray();
+			sortedRates = Arrays.stream(slotsByPrice).mapToDouble(slot -> cars[slot].getDailyRate()).toArray();
+			bucketSize = Math.max(1, (slotsByPrice.length + PRICE_BUCKETS - 1) / PRICE_BUCKETS);
+			int buckets = slotsByPrice.length / bucketSize + 1;
+			cheaperThanBucket = new BitSet[buckets];
+			BitSet running = new BitSet();
+			for (int bucket = 0; bucket < buckets; bucket++) {
+				cheaperThanBucket[bucket] = (BitSet) running.clone();
+				int end = Math.min(slotsByPrice.length, (bucket + 1) * bucketSize);
+				for (int i = bucket * bucketSize; i < end; i++) {
+					running.set(slotsByPrice[i]);
+				}
+			}
+		}
+
+		static FleetSnapshot of(List<Car> catalog) {
+			return new FleetSnapshot(catalog);
+		}
+
+		/** This catalog with car {@code carId} replaced by {@code changed}, or dropped when it is {@code null}. */
+		FleetSnapshot with(Long carId, Car changed) {
+			List<Car> catalog = new ArrayList<>(cars.length + 1);
+			for (Car car : cars) {
+				if (!carId.equals(car.getCarId())) {
+					catalog.add(car);
+				}
+			}
+			if (changed != null) {
+				catalog.add(changed);
+			}
+			return new FleetSnapshot(catalog);
+		}
+
+		BitSet byCategory(String category) {
+			for (Map.Entry<Car.CarCategory, BitSet> entry : byCategory.entrySet()) {
+				if (entry.getKey().name().equalsIgnoreCase(category)) {
+					return entry.getValue();
+				}
+			}
+			return NONE;
+		}
+
+		BitSet pricedAtMost(double maxPrice) {
+			int count = upperBound(maxPrice);
+			int bucket = count / bucketSize;
+			BitSet matches = (BitSet) cheaperThanBucket[bucket].clone();
+			for (int i = bucket * bucketSize; i < count; i++) {
+				matches.set(slotsByPrice[i]);
+			}
+			return matches;
+		}
+
+		/** Number of priced cars with a daily rate of at most {@code maxPrice}. */
+		private int upperBound(double maxPrice) {
+			int low = 0;
+			int high = sortedRates.length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (sortedRates[mid] <= maxPrice) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+	}
+}
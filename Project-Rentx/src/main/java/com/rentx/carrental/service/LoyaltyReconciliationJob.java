@@ -0,0 +1,73 @@
+package com.rentx.carrental.service;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rentx.carrental.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Backfills and repairs {@code users.loyalty_bookings}. Users are walked in id
+ * ranges, each recomputed from the booking table with one UPDATE in its own
+ * short transaction that only touches rows whose counter disagrees. Runs once
+ * at startup, which fills the column after it is first added, and nightly to
+ * correct anything written around {@link LoyaltyService}.
+ */
+@Slf4j
+@Service
+public class LoyaltyReconciliationJob {
+
+	static final int CHUNK_SIZE = 1000;
+
+	private final UserRepository userRepository;
+	private final LoyaltyService loyaltyService;
+	private final TransactionTemplate transactionTemplate;
+
+	public LoyaltyReconciliationJob(UserRepository userRepository, LoyaltyService loyaltyService,
+			PlatformTransactionManager transactionManager) {
+		this.userRepository = userRepository;
+		this.loyaltyService = loyaltyService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		try {
+			run();
+		} catch (Exception e) {
+			log.error("Failed to backfill loyalty counters: {}", e.getMessage());
+		}
+	}
+
+	@Scheduled(cron = "0 45 2 * * ?")
+	public int run() {
+		long startTime = System.currentTimeMillis();
+		List<String> statuses = LoyaltyService.COUNTED_STATUSES.stream().map(Enum::name).toList();
+		long maxId = userRepository.findMaxId();
+		int fixed = 0;
+		for (long afterId = 0; afterId < maxId; afterId += CHUNK_SIZE) {
+			long from = afterId;
+			Integer updated = transactionTemplate.execute(
+					status -> userRepository.reconcileLoyaltyBookings(from, from + CHUNK_SIZE, statuses));
+			fixed += Objects.requireNonNull(updated);
+		}
+		if (fixed > 0) {
+			loyaltyService.evictAll();
+			log.info("Loyalty reconciliation corrected {} users in {}ms", fixed,
+					System.currentTimeMillis() - startTime);
+		} else {
+			log.debug("Loyalty reconciliation: all counters current ({}ms)", System.currentTimeMillis() - startTime);
+		}
+		return fixed;
+	}
+}
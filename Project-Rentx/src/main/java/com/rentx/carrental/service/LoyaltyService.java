@@ -1,103 +1,214 @@
 package com.rentx.carrental.service;
 
 import com.rentx.carrental.config.AppConfig;
-import com.rentx.carrental.entity.Booking;
+import com.rentx.carrental.entity.Booking.BookingStatus;
 import com.rentx.carrental.entity.User;
+import com.rentx.carrental.event.BookingChangedEvent;
 import com.rentx.carrental.repository.BookingRepository;
 import com.rentx.carrental.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loyalty tiers are resolved from a per-user counter of bookings that count
+ * towards them ({@code users.loyalty_bookings}) instead of counting bookings on
+ * every request. The counter is adjusted in the same transaction as the booking
+ * status change that moves it, and lookups are served from the
+ * {@code loyaltyTiers} cache, which is evicted once that transaction commits.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class LoyaltyService {
 
+	public static final String CACHE_NAME = "loyaltyTiers";
+	public static final Set<BookingStatus> COUNTED_STATUSES = EnumSet.of(BookingStatus.CONFIRMED,
+			BookingStatus.COMPLETED);
+
+	private static final String INCREMENT_SQL = "UPDATE users SET loyalty_bookings = loyalty_bookings + ? WHERE id = ?";
+
 	private final BookingRepository bookingRepository;
 	private final UserRepository userRepository;
 	private final AppConfig appConfig;
+	private final EntityManager entityManager;
+	private final Cache cache;
+
+	public LoyaltyService(BookingRepository bookingRepository, UserRepository userRepository, AppConfig appConfig,
+			EntityManager entityManager, CacheManager cacheManager) {
+		this.bookingRepository = bookingRepository;
+		this.userRepository = userRepository;
+		this.appConfig = appConfig;
+		this.entityManager = entityManager;
+		this.cache = cacheManager.getCache(CACHE_NAME);
+	}
 
-	@Transactional(readOnly = true)
 	public double calculateDiscount(User user, double totalAmount) {
 		if (user == null) {
-			log.warn(" User is null in calculateDiscount");
+			log.warn("User is null in calculateDiscount");
 			return 0.0;
 		}
 
 		try {
-			User fullUser = userRepository.findById(user.getId())
-					.orElseThrow(() -> new RuntimeException("User not found in database"));
-
-			log.info("Loyalty Debug - User ID: {}, Username: {}", fullUser.getId(), fullUser.getUsername());
-
-			long completedBookings = bookingRepository.countByUserAndStatus(fullUser, Booking.BookingStatus.COMPLETED);
-
-			long confirmedBookings = bookingRepository.countByUserAndStatus(fullUser, Booking.BookingStatus.CONFIRMED);
-
-			long totalBookingsForDiscount = completedBookings + confirmedBookings;
-			log.info("Total bookings for discount calculation: {}", totalBookingsForDiscount);
-
-			double discount = 0.0;
-			for (AppConfig.Loyalty.LoyaltyTier tier : appConfig.getLoyalty().getTiers()) {
-				if (totalBookingsForDiscount >= tier.getBookings()) {
-					discount = totalAmount * tier.getDiscount();
-					log.info("Applying {} discount: {}%", tier.getName(), tier.getDiscount() * 100);
-					break;
-				}
+			AppConfig.Loyalty.LoyaltyTier tier = discountTierFor(loyaltyBookings(user.getId()));
+			if (tier == null) {
+				return 0.0;
 			}
-
-			log.info("Discount calculated: ${} ({}%)", discount, (discount / totalAmount) * 100);
+			double discount = totalAmount * tier.getDiscount();
+			log.debug("Applying {} discount of {}% for user {}: {}", tier.getName(), tier.getDiscount() * 100,
+					user.getId(), discount);
 			return discount;
 
 		} catch (Exception e) {
-			log.error("Error in calculateDiscount: {}", e.getMessage());
-			e.printStackTrace();
+			log.error("Error in calculateDiscount: {}", e.getMessage(), e);
 			return 0.0;
 		}
 	}
 
-	@Transactional(readOnly = true)
 	public String getLoyaltyTier(User user) {
 		if (user == null)
 			return "NEW";
 
 		try {
-			long completedBookings = bookingRepository.countByUserAndStatus(user, Booking.BookingStatus.COMPLETED);
-
-			long confirmedBookings = bookingRepository.countByUserAndStatus(user, Booking.BookingStatus.CONFIRMED);
-
-			long totalBookings = completedBookings + confirmedBookings;
-
-			String tierName = "NEW";
-			for (AppConfig.Loyalty.LoyaltyTier tier : appConfig.getLoyalty().getTiers()) {
-				if (totalBookings >= tier.getBookings()) {
-					tierName = tier.getName();
-				}
-			}
-			return tierName;
+			AppConfig.Loyalty.LoyaltyTier tier = displayTierFor(loyaltyBookings(user.getId()));
+			return tier != null ? tier.getName() : "NEW";
 
 		} catch (Exception e) {
 			return "NEW";
 		}
 	}
 
-	@Transactional(readOnly = true)
 	public long getCompletedBookingsCount(User user) {
 		if (user == null)
 			return 0;
 
 		try {
-			long completedBookings = bookingRepository.countByUserAndStatus(user, Booking.BookingStatus.COMPLETED);
-
-			long confirmedBookings = bookingRepository.countByUserAndStatus(user, Booking.BookingStatus.CONFIRMED);
-
-			return completedBookings + confirmedBookings;
+			return loyaltyBookings(user.getId());
 
 		} catch (Exception e) {
 			return 0;
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Bookings counting towards the user's tier. Answered from the cache; a miss
+	 * reads the single counter column.
+	 */
+	public int loyaltyBookings(Long userId) {
+		Integer count = cache.get(userId, () -> userRepository.findLoyaltyBookingsById(userId).orElse(0));
+		return count != null ? count : 0;
+	}
+
+	/**
+	 * Adjusts the counter for a booking written through the entity. This runs
+	 * synchronously from the entity listener, usually while the session is
+	 * flushing, so the increment goes straight to the connection rather than
+	 * through a query that would trigger another flush.
+	 */
+	@EventListener
+	public void onBookingChanged(BookingChangedEvent event) {
+		if (event.userId() == null) {
+			// Bulk transitions carry no user and are adjusted by the job that made them.
+			return;
+		}
+		int delta = delta(event.previousStatus(), event.removed() ? null : event.status());
+		if (delta == 0) {
+			return;
+		}
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(INCREMENT_SQL)) {
+				statement.setInt(1, delta);
+				statement.setLong(2, event.userId());
+				statement.executeUpdate();
+			}
+		});
+		evictAfterCommit(List.of(event.userId()));
+	}
+
+	/**
+	 * Adjusts the counters of every user owning one of {@code bookingIds}, which a
+	 * set-based UPDATE just moved from {@code from} to {@code to}. Must run in the
+	 * transaction of that update.
+	 */
+	public void onBulkTransition(Collection<Long> bookingIds, BookingStatus from, BookingStatus to) {
+		int delta = delta(from, to);
+		if (delta == 0 || bookingIds.isEmpty()) {
+			return;
+		}
+		List<Long> userIds = bookingRepository.findUserIdsByIdIn(bookingIds);
+		if (userIds.isEmpty()) {
+			return;
+		}
+		userRepository.adjustLoyaltyBookings(userIds, bookingIds, delta);
+		evictAfterCommit(userIds);
+	}
+
+	public void evict(Collection<Long> userIds) {
+		userIds.forEach(cache::evict);
+	}
+
+	public void evictAll() {
+		cache.clear();
+	}
+
+	static int delta(BookingStatus from, BookingStatus to) {
+		return (counts(to) ? 1 : 0) - (counts(from) ? 1 : 0);
+	}
+
+	private static boolean counts(BookingStatus status) {
+		return status != null && COUNTED_STATUSES.contains(status);
+	}
+
+	/** The tier billed: the first configured tier whose threshold is met, as before the counter. */
+	private AppConfig.Loyalty.LoyaltyTier discountTierFor(long bookings) {
+		List<AppConfig.Loyalty.LoyaltyTier> tiers = appConfig.getLoyalty().getTiers();
+		if (tiers == null) {
+			return null;
+		}
+		for (AppConfig.Loyalty.LoyaltyTier tier : tiers) {
+			if (bookings >= tier.getBookings()) {
+				return tier;
+			}
+		}
+		return null;
+	}
+
+	/** The tier shown to the user: the last configured tier whose threshold is met. */
+	private AppConfig.Loyalty.LoyaltyTier displayTierFor(long bookings) {
+		List<AppConfig.Loyalty.LoyaltyTier> tiers = appConfig.getLoyalty().getTiers();
+		if (tiers == null) {
+			return null;
+		}
+		AppConfig.Loyalty.LoyaltyTier reached = null;
+		for (AppConfig.Loyalty.LoyaltyTier tier : tiers) {
+			if (bookings >= tier.getBookings()) {
+				reached = tier;
+			}
+		}
+		return reached;
+	}
+
+	private void evictAfterCommit(Collection<Long> userIds) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			evict(userIds);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				evict(userIds);
+			}
+		});
+	}
+}
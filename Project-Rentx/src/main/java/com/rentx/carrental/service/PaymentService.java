@@ -1,33 +1,46 @@
 package com.rentx.carrental.service;
 
-import com.razorpay.Order;
-import com.razorpay.RazorpayClient;
-import com.razorpay.Refund;
 import com.rentx.carrental.entity.Booking;
-import com.rentx.carrental.entity.Booking.RefundStatus;
 import com.rentx.carrental.entity.Payment;
+import com.rentx.carrental.exception.EmailSendingException;
 import com.rentx.carrental.exception.PaymentException;
+import com.rentx.carrental.exception.PaymentOutcomeUnknownException;
 import com.rentx.carrental.exception.PaymentVerificationException;
+import com.rentx.carrental.payment.PaymentGateway;
+import com.rentx.carrental.payment.PaymentGateway.GatewayRefund;
+import com.rentx.carrental.payment.RazorpaySignatureVerifier;
 import com.rentx.carrental.repository.BookingRepository;
 import com.rentx.carrental.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.digest.HmacUtils;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentService {
 
-	private final RazorpayClient razorpayClient;
+	private static final String VERIFIED_PAYMENTS_CACHE = "verifiedPayments";
+
+	private final PaymentGateway paymentGateway;
+	private final RazorpaySignatureVerifier signatureVerifier;
+	private final CacheManager cacheManager;
 	private final PaymentRepository paymentRepository;
 	private final BookingRepository bookingRepository;
 	private final EmailService emailService;
+	/** Boot's {@code applicationTaskExecutor}, matched by name since the scheduler is an executor too. */
+	private final Executor applicationTaskExecutor;
 
 	@Value("${razorpay.key.id:}")
 	private String keyId;
@@ -35,80 +48,101 @@ public class PaymentService {
 	@Value("${razorpay.key.secret:}")
 	private String keySecret;
 
-	public String createOrder(Long bookingId, Double amount) {
+	/**
+	 * Creates the Razorpay order for a booking. The gateway call runs off the
+	 * request thread; the returned future completes with the order JSON once the
+	 * local payment record has been saved. The save runs on the application
+	 * executor rather than on the gateway's worker or timeout thread, so database
+	 * time never holds a Razorpay permit.
+	 */
+	public CompletableFuture<String> createOrder(Long bookingId, Double amount) {
 		if (keyId == null || keyId.isEmpty() || keySecret == null || keySecret.isEmpty()) {
 			throw new PaymentException("Payment gateway not configured properly");
 		}
 
-		try {
-			Booking booking = bookingRepository.findById(bookingId)
-					.orElseThrow(() -> new RuntimeException("Booking not found"));
-
-			JSONObject orderRequest = new JSONObject();
-			orderRequest.put("amount", Math.round(amount * 100));
-			orderRequest.put("currency", "INR");
-			orderRequest.put("receipt", "receipt_" + bookingId);
-			orderRequest.put("payment_capture", 1);
-
-			Order order = razorpayClient.orders.create(orderRequest);
-
-			Payment payment = new Payment();
-			payment.setPaymentId("pay_" + System.currentTimeMillis());
-			payment.setBookingId(bookingId);
-			payment.setAmount(amount);
-			payment.setCurrency("INR");
-			payment.setRazorpayOrderId(order.get("id"));
-			payment.setStatus("CREATED");
-			paymentRepository.save(payment);
-
-			log.info("✅ Payment order created for booking {}: {}", bookingId, order.get("id"));
-
-			return order.toString();
-
-		} catch (Exception e) {
-			log.error("❌ Failed to create payment order for booking {}: {}", bookingId, e.getMessage());
-			throw new PaymentException("Failed to create payment order: " + e.getMessage(), e);
-		}
+		Booking booking = bookingRepository.findById(bookingId)
+				.orElseThrow(() -> new PaymentException("Booking not found"));
+
+		return paymentGateway.createOrder(Math.round(amount * 100), "INR", "receipt_" + booking.getId())
+				.thenApplyAsync(order -> {
+					Payment payment = new Payment();
+					payment.setPaymentId("pay_" + System.currentTimeMillis());
+					payment.setBookingId(bookingId);
+					payment.setAmount(amount);
+					payment.setCurrency("INR");
+					payment.setRazorpayOrderId(order.id());
+					payment.setStatus("CREATED");
+					paymentRepository.save(payment);
+
+					log.info("✅ Payment order created for booking {}: {}", bookingId, order.id());
+					return order.json();
+				}, applicationTaskExecutor)
+				.whenComplete((order, error) -> {
+					if (error != null) {
+						log.error("❌ Failed to create payment order for booking {}: {}", bookingId,
+								unwrap(error).getMessage());
+					}
+				});
 	}
 
+	/**
+	 * Verifies a checkout and marks the booking paid. Checkout pages resubmit on
+	 * flaky networks, so repeats are cheap: a verified order is answered from the
+	 * {@code verifiedPayments} cache, and otherwise only the request whose
+	 * conditional update moves the payment out of {@code CREATED} updates the
+	 * booking and queues the confirmation email.
+	 */
+	@Transactional
 	public boolean verifyPayment(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature) {
-		if (keySecret == null || keySecret.isEmpty()) {
+		if (!signatureVerifier.isConfigured()) {
 			throw new PaymentVerificationException("Payment gateway not configured");
 		}
 
-		try {
-			String generatedSignature = HmacUtils.hmacSha256Hex(keySecret, razorpayOrderId + "|" + razorpayPaymentId);
+		VerifiedPayment verified = verifiedPayments().get(razorpayOrderId, VerifiedPayment.class);
+		if (verified != null && verified.matches(razorpayPaymentId, razorpaySignature)) {
+			log.debug("Payment for order {} already verified", razorpayOrderId);
+			return true;
+		}
 
-			boolean isValid = generatedSignature.equals(razorpaySignature);
+		try {
+			if (!signatureVerifier.verify(razorpayOrderId, razorpayPaymentId, razorpaySignature)) {
+				log.error("❌ Payment signature verification failed for order: {}", razorpayOrderId);
+				return false;
+			}
 
-			if (isValid) {
-				Payment payment = paymentRepository.findByRazorpayOrderId(razorpayOrderId)
-						.orElseThrow(() -> new RuntimeException("Payment not found for order: " + razorpayOrderId));
+			boolean captured = paymentRepository.markCaptured(razorpayOrderId, razorpayPaymentId,
+					razorpaySignature) == 1;
+			Payment payment = paymentRepository.findByRazorpayOrderId(razorpayOrderId)
+					.orElseThrow(() -> new RuntimeException("Payment not found for order: " + razorpayOrderId));
 
-				payment.setRazorpayPaymentId(razorpayPaymentId);
-				payment.setRazorpaySignature(razorpaySignature);
-				payment.setStatus("CAPTURED");
-				paymentRepository.save(payment);
+			if (!captured) {
+				if (!razorpayPaymentId.equals(payment.getRazorpayPaymentId())) {
+					log.error("❌ Order {} was already paid by another payment ({})", razorpayOrderId,
+							payment.getRazorpayPaymentId());
+					return false;
+				}
+				log.debug("Payment for order {} already captured", razorpayOrderId);
+				rememberAfterCommit(razorpayOrderId, razorpayPaymentId, razorpaySignature);
+				return true;
+			}
 
-				Booking booking = bookingRepository.findById(payment.getBookingId()).orElseThrow(
-						() -> new RuntimeException("Booking not found for payment: " + payment.getBookingId()));
+			Booking booking = bookingRepository.findById(payment.getBookingId()).orElseThrow(
+					() -> new RuntimeException("Booking not found for payment: " + payment.getBookingId()));
 
-				booking.setPaymentStatus("PAID");
-				bookingRepository.save(booking);
+			booking.setPaymentStatus("PAID");
+			bookingRepository.save(booking);
 
-				log.info("✅ Payment verified and booking status updated to PAID for booking: {}", booking.getId());
+			log.info("✅ Payment verified and booking status updated to PAID for booking: {}", booking.getId());
 
-				try {
-					emailService.sendBookingConfirmation(booking.getUser(), booking);
-					log.info("✅ Payment confirmation email sent to: {}", booking.getUser().getEmail());
-				} catch (Exception e) {
-					log.error("❌ Failed to send payment confirmation email: {}", e.getMessage());
-				}
-			} else {
-				log.error("❌ Payment signature verification failed for order: {}", razorpayOrderId);
+			try {
+				emailService.sendBookingConfirmation(booking.getUser(), booking);
+				log.info("✅ Payment confirmation email queued for: {}", booking.getUser().getEmail());
+			} catch (EmailSendingException e) {
+				log.error("❌ Failed to send payment confirmation email: {}", e.getMessage());
 			}
 
-			return isValid;
+			rememberAfterCommit(razorpayOrderId, razorpayPaymentId, razorpaySignature);
+			return true;
 
 		} catch (Exception e) {
 			log.error("❌ Payment verification failed for order {}: {}", razorpayOrderId, e.getMessage());
@@ -116,45 +150,111 @@ public class PaymentService {
 		}
 	}
 
-	public String processRefund(Booking booking, double refundAmount) {
-		try {
-			Payment payment = paymentRepository.findByBookingId(booking.getId()).orElseThrow(
-					() -> new RuntimeException("Payment record not found for booking: " + booking.getId()));
+	/**
+	 * Refunds the booking's captured payment through the gateway and records the
+	 * refund on the payment. The booking's refund status is left to the caller.
+	 * A payment that is already refunded returns its refund id again, so a refund
+	 * whose booking update was lost is not paid out twice.
+	 * <p>
+	 * The payment is moved to {@code REFUND_PENDING} before the gateway call and
+	 * stays there when the outcome is unknown. A later attempt first asks the
+	 * gateway for a refund with the same receipt and only sends a new one when
+	 * there is none.
+	 */
+	public String processRefund(Long bookingId, double refundAmount) {
+		Payment payment = paymentRepository.findByBookingId(bookingId)
+				.orElseThrow(() -> new PaymentException("Payment record not found for booking: " + bookingId));
+
+		if (Payment.PaymentStatus.REFUNDED.equals(payment.getStatus()) && payment.getRefundId() != null) {
+			log.warn("Booking {} was already refunded as {}", bookingId, payment.getRefundId());
+			return payment.getRefundId();
+		}
 
-			if (!"CAPTURED".equals(payment.getStatus())) {
-				throw new PaymentException(
-						"Cannot refund - payment not captured. Current status: " + payment.getStatus());
+		String receipt = "refund_" + bookingId;
+		String previousStatus = payment.getStatus();
+		if (Payment.PaymentStatus.REFUND_PENDING.equals(previousStatus)) {
+			Optional<GatewayRefund> issued = await(
+					paymentGateway.findRefund(payment.getRazorpayPaymentId(), receipt), bookingId);
+			if (issued.isPresent()) {
+				log.warn("Booking {} had an unconfirmed refund, found it as {}", bookingId, issued.get().id());
+				return recordRefund(payment, refundAmount, issued.get());
 			}
+		} else if (Payment.PaymentStatus.CAPTURED.equals(previousStatus)) {
+			payment.setStatus(Payment.PaymentStatus.REFUND_PENDING);
+			payment = paymentRepository.save(payment);
+		} else {
+			throw new PaymentException("Cannot refund - payment not captured. Current status: " + previousStatus);
+		}
 
-			JSONObject refundRequest = new JSONObject();
-			refundRequest.put("amount", Math.round(refundAmount * 100)); // Convert to paise
-			refundRequest.put("speed", "normal");
-			refundRequest.put("receipt", "refund_" + booking.getId());
-
-			Refund refund = razorpayClient.payments.refund(payment.getRazorpayPaymentId(), refundRequest);
-
-			payment.setRefundAmount(refundAmount);
-			payment.setRefundId(refund.get("id"));
-			payment.setRefundDate(LocalDateTime.now());
-			payment.setStatus("REFUNDED");
+		GatewayRefund refund;
+		try {
+			refund = await(paymentGateway.refund(payment.getRazorpayPaymentId(), Math.round(refundAmount * 100),
+					receipt), bookingId);
+		} catch (PaymentOutcomeUnknownException e) {
+			throw e;
+		} catch (PaymentException e) {
+			// Rejected or never sent, so nothing reached Razorpay on this attempt.
+			payment.setStatus(previousStatus);
 			paymentRepository.save(payment);
+			throw e;
+		}
+		return recordRefund(payment, refundAmount, refund);
+	}
 
-			booking.setRefundStatus(RefundStatus.PROCESSED);
-			bookingRepository.save(booking);
+	private String recordRefund(Payment payment, double refundAmount, GatewayRefund refund) {
+		payment.setRefundAmount(refundAmount);
+		payment.setRefundId(refund.id());
+		payment.setRefundDate(LocalDateTime.now());
+		payment.setStatus(Payment.PaymentStatus.REFUNDED);
+		paymentRepository.save(payment);
 
-			log.info("Refund processed successfully for booking {}: {}", booking.getId(), refund.get("id"));
-			return refund.get("id");
+		log.info("Refund processed successfully for booking {}: {}", payment.getBookingId(), refund.id());
+		return refund.id();
+	}
 
-		} catch (Exception e) {
-			log.error("Refund failed for booking {}: {}", booking.getId(), e.getMessage());
+	private static <T> T await(CompletableFuture<T> future, Long bookingId) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			Throwable cause = unwrap(e);
+			log.error("Refund failed for booking {}: {}", bookingId, cause.getMessage());
+			if (cause instanceof PaymentException paymentException) {
+				throw paymentException;
+			}
+			throw new PaymentException("Refund processing failed: " + cause.getMessage(), cause);
+		}
+	}
 
-			booking.setRefundStatus(RefundStatus.FAILED);
-			bookingRepository.save(booking);
+	private Cache verifiedPayments() {
+		return cacheManager.getCache(VERIFIED_PAYMENTS_CACHE);
+	}
+
+	/** Caches the verification once it is durable, so a rolled-back capture is never served. */
+	private void rememberAfterCommit(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature) {
+		VerifiedPayment verified = new VerifiedPayment(razorpayPaymentId, razorpaySignature);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			verifiedPayments().put(razorpayOrderId, verified);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				verifiedPayments().put(razorpayOrderId, verified);
+			}
+		});
+	}
 
-			throw new PaymentException("Refund processing failed: " + e.getMessage(), e);
+	private record VerifiedPayment(String razorpayPaymentId, String signature) {
+		boolean matches(String paymentId, String candidateSignature) {
+			return razorpayPaymentId.equals(paymentId)
+					&& RazorpaySignatureVerifier.matches(signature, candidateSignature);
 		}
 	}
 
+	private static Throwable unwrap(Throwable error) {
+		return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+	}
+
 	public Optional<Payment> getPaymentByBookingId(Long bookingId) {
 		return paymentRepository.findByBookingId(bookingId);
 	}
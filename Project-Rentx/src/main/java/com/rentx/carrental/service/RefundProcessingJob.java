@@ -0,0 +1,259 @@
+package com.rentx.carrental.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rentx.carrental.config.AppConfig;
+import com.rentx.carrental.dto.RefundClaim;
+import com.rentx.carrental.entity.Booking;
+import com.rentx.carrental.entity.Booking.RefundStatus;
+import com.rentx.carrental.exception.PaymentException;
+import com.rentx.carrental.exception.PaymentGatewayUnavailableException;
+import com.rentx.carrental.exception.PaymentOutcomeUnknownException;
+import com.rentx.carrental.repository.BookingRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues refunds for bookings cancelled longer than the hold period ago.
+ * Pending refunds are claimed in id-ordered chunks by stamping a claim token on
+ * them, so concurrent runs or instances never pick the same booking. A run walks
+ * the ids once with a keyset cursor, so a refund it hands back is not claimed
+ * again until the next run. Claimed
+ * refunds are processed by a pool of {@code parallelism} workers, each refund
+ * committing on its own. A claim left behind by a crashed run is released once
+ * it is older than the claim timeout.
+ * <p>
+ * When the gateway rejects calls (circuit open or bulkhead full) the run stops
+ * claiming and hands unfinished refunds back for the next run rather than
+ * marking them failed. A refund whose outcome is unknown (timed out) or that
+ * hit an unexpected error is handed back as well; only a definite rejection
+ * marks the refund {@code FAILED}.
+ */
+@Slf4j
+@Service
+public class RefundProcessingJob {
+
+	private final BookingRepository bookingRepository;
+	private final PaymentService paymentService;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+	private final AppConfig.Payment.Refunds config;
+
+	private final ThreadPoolExecutor workers;
+	private final Semaphore permits;
+	private final AtomicBoolean running = new AtomicBoolean();
+	private final DistributionSummary claimedSizes;
+
+	public RefundProcessingJob(BookingRepository bookingRepository, PaymentService paymentService,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, AppConfig appConfig) {
+		this.bookingRepository = bookingRepository;
+		this.paymentService = paymentService;
+		this.meterRegistry = meterRegistry;
+		this.config = appConfig.getPayment().getRefunds();
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.claimedSizes = meterRegistry.summary("refunds.claimed");
+
+		// The semaphore caps queued plus running refunds, so the queue never grows past the pool.
+		this.permits = new Semaphore(config.getParallelism());
+		AtomicInteger threads = new AtomicInteger();
+		this.workers = new ThreadPoolExecutor(config.getParallelism(), config.getParallelism(), 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "refunds-" + threads.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		new ExecutorServiceMetrics(workers, "refunds", List.of()).bindTo(meterRegistry);
+	}
+
+	public record RunResult(int refunded, int settled, int failed, int deferred, long durationMs) {
+	}
+
+	@Scheduled(fixedRate = 3600000)
+	public RunResult run() {
+		if (!running.compareAndSet(false, true)) {
+			log.info("Refund run already in progress, skipping");
+			return new RunResult(0, 0, 0, 0, 0);
+		}
+		long startTime = System.currentTimeMillis();
+		Tally tally = new Tally();
+		try {
+			int released = transactionTemplate.execute(status -> bookingRepository
+					.releaseStaleRefundClaims(LocalDateTime.now().minus(config.getClaimTimeout())));
+			if (released > 0) {
+				log.warn("Released {} refund claims that timed out", released);
+			}
+			drain(LocalDateTime.now().minus(config.getHoldPeriod()), tally);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			running.set(false);
+		}
+
+		RunResult result = new RunResult(tally.refunded.get(), tally.settled.get(), tally.failed.get(),
+				tally.deferred.get(), System.currentTimeMillis() - startTime);
+		if (result.refunded() + result.settled() + result.failed() + result.deferred() > 0) {
+			log.info("Refund run: {} refunded, {} settled without payment, {} failed, {} deferred in {}ms",
+					result.refunded(), result.settled(), result.failed(), result.deferred(), result.durationMs());
+		} else {
+			log.debug("Refund run: nothing to refund ({}ms)", result.durationMs());
+		}
+		return result;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		workers.shutdown();
+	}
+
+	private void drain(LocalDateTime cutoff, Tally tally) throws InterruptedException {
+		long afterId = 0;
+		try {
+			while (!tally.gatewayUnavailable.get()) {
+				String token = UUID.randomUUID().toString();
+				Chunk chunk = claim(cutoff, afterId, token);
+				if (chunk.scanned() == 0) {
+					return;
+				}
+				// Past every id looked at, claimed or not, so released refunds wait for the next run.
+				afterId = chunk.lastId();
+				claimedSizes.record(chunk.refunds().size());
+				List<Long> unstarted = new ArrayList<>();
+				for (RefundClaim refund : chunk.refunds()) {
+					if (tally.gatewayUnavailable.get()) {
+						unstarted.add(refund.getBookingId());
+						continue;
+					}
+					permits.acquire();
+					try {
+						workers.execute(() -> {
+							try {
+								process(refund, token, tally);
+							} finally {
+								permits.release();
+							}
+						});
+					} catch (RejectedExecutionException e) {
+						permits.release();
+						unstarted.add(refund.getBookingId());
+						tally.gatewayUnavailable.set(true);
+					}
+				}
+				if (!unstarted.isEmpty()) {
+					release(unstarted, token);
+					tally.deferred.addAndGet(unstarted.size());
+				}
+				if (chunk.scanned() < config.getChunkSize()) {
+					return;
+				}
+			}
+		} finally {
+			// Wait for the refunds still in flight.
+			permits.acquire(config.getParallelism());
+			permits.release(config.getParallelism());
+		}
+	}
+
+	private Chunk claim(LocalDateTime cutoff, long afterId, String token) {
+		return transactionTemplate.execute(status -> {
+			List<Long> ids = bookingRepository.findDueRefundIds(cutoff, afterId,
+					PageRequest.ofSize(config.getChunkSize()));
+			if (ids.isEmpty()) {
+				return new Chunk(0, afterId, List.of());
+			}
+			bookingRepository.claimRefunds(ids, token, LocalDateTime.now());
+			return new Chunk(ids.size(), ids.get(ids.size() - 1), bookingRepository.findRefundClaims(token));
+		});
+	}
+
+	private void process(RefundClaim refund, String token, Tally tally) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String outcome;
+		Long bookingId = refund.getBookingId();
+		try {
+			double amount = refund.getRefundAmount() != null ? refund.getRefundAmount() : 0;
+			if (amount > 0 && Booking.PaymentStatus.PAID.equals(refund.getPaymentStatus())) {
+				paymentService.processRefund(bookingId, amount);
+				complete(bookingId, token, RefundStatus.PROCESSED);
+				tally.refunded.incrementAndGet();
+				outcome = "refunded";
+				log.info("Auto-processed refund for booking {}", bookingId);
+			} else {
+				complete(bookingId, token, RefundStatus.PROCESSED);
+				tally.settled.incrementAndGet();
+				outcome = "settled";
+				log.info("Marked refund as PROCESSED for payLater booking {}", bookingId);
+			}
+		} catch (PaymentGatewayUnavailableException e) {
+			tally.gatewayUnavailable.set(true);
+			release(List.of(bookingId), token);
+			tally.deferred.incrementAndGet();
+			outcome = "deferred";
+			log.warn("Refund for booking {} deferred: {}", bookingId, e.getMessage());
+		} catch (PaymentOutcomeUnknownException e) {
+			// Razorpay may have issued it; the next run looks the refund up before sending another.
+			// The cursor has moved past it, so this run cannot race the abandoned call.
+			release(List.of(bookingId), token);
+			tally.deferred.incrementAndGet();
+			outcome = "unknown";
+			log.warn("Refund for booking {} unconfirmed, retrying next run: {}", bookingId, e.getMessage());
+		} catch (PaymentException e) {
+			log.error("Failed to process refund for booking {}: {}", bookingId, e.getMessage());
+			complete(bookingId, token, RefundStatus.FAILED);
+			tally.failed.incrementAndGet();
+			outcome = "failed";
+		} catch (Exception e) {
+			log.error("Error processing refund for booking {}, retrying next run: {}", bookingId, e.getMessage(), e);
+			release(List.of(bookingId), token);
+			tally.deferred.incrementAndGet();
+			outcome = "error";
+		}
+		sample.stop(meterRegistry.timer("refunds.processed", "outcome", outcome));
+	}
+
+	private void complete(Long bookingId, String token, RefundStatus refundStatus) {
+		int updated = transactionTemplate
+				.execute(status -> bookingRepository.completeRefundClaim(bookingId, token, refundStatus));
+		if (updated == 0) {
+			log.warn("Refund claim on booking {} was lost before it could be marked {}", bookingId, refundStatus);
+		}
+	}
+
+	private void release(List<Long> bookingIds, String token) {
+		transactionTemplate.executeWithoutResult(status -> bookingRepository.releaseRefundClaims(bookingIds, token));
+	}
+
+	/** One page of due refunds: how many ids were found, the last of them, and those this run won. */
+	private record Chunk(int scanned, long lastId, List<RefundClaim> refunds) {
+	}
+
+	private static final class Tally {
+		final AtomicInteger refunded = new AtomicInteger();
+		final AtomicInteger settled = new AtomicInteger();
+		final AtomicInteger failed = new AtomicInteger();
+		final AtomicInteger deferred = new AtomicInteger();
+		final AtomicBoolean gatewayUnavailable = new AtomicBoolean();
+	}
+}
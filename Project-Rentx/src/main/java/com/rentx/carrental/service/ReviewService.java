@@ -2,30 +2,58 @@ package com.rentx.carrental.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.rentx.carrental.dto.CursorPage;
 import com.rentx.carrental.entity.Booking;
 import com.rentx.carrental.entity.Review;
 import com.rentx.carrental.entity.User;
+import com.rentx.carrental.event.ReviewCreatedEvent;
 import com.rentx.carrental.repository.BookingRepository;
 import com.rentx.carrental.repository.ReviewRepository;
-import com.rentx.carrental.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.rentx.carrental.security.PrincipalCache;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class ReviewService {
+    public static final String CACHE_NAME = "reviews";
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
     private final ReviewRepository reviewRepository;
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
     private final EmailService emailService;
+    private final CarRatingService carRatingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache cache;
+
+    public ReviewService(ReviewRepository reviewRepository, BookingRepository bookingRepository,
+            PrincipalCache principalCache, EmailService emailService, CarRatingService carRatingService,
+            ApplicationEventPublisher eventPublisher, CacheManager cacheManager) {
+        this.reviewRepository = reviewRepository;
+        this.bookingRepository = bookingRepository;
+        this.principalCache = principalCache;
+        this.emailService = emailService;
+        this.carRatingService = carRatingService;
+        this.eventPublisher = eventPublisher;
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    /** Cache key of one page of a car's reviews; {@code cursor} is {@code null} for the newest page. */
+    record PageKey(Long carId, Long cursor, int limit) {
+    }
 
+    @Transactional
     public Review createReview(Long bookingId, Integer rating, String comment) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = principalCache.currentUser();
 
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -55,25 +83,40 @@ public class ReviewService {
         review.setCreatedAt(LocalDateTime.now());
 
         Review savedReview = reviewRepository.save(review);
+        Long carId = booking.getCar().getCarId();
+        carRatingService.addRating(carId, rating);
+        eventPublisher.publishEvent(new ReviewCreatedEvent(savedReview.getId(), carId));
 
-        try {
-            emailService.sendReviewConfirmation(user, savedReview);
-        } catch (Exception e) {
-            System.err.println("Failed to send review email: " + e.getMessage());
-        }
+        emailService.sendReviewConfirmation(user, savedReview);
 
         return savedReview;
     }
 
-    public List<Review> getCarReviews(Long carId) {
-        return reviewRepository.findByCarCarIdOrderByCreatedAtDesc(carId);
-    }
-
-    public Double getCarAverageRating(Long carId) {
-        return reviewRepository.findAverageRatingByCarId(carId);
+    /**
+     * A car's reviews, newest first, as keyset pages in (createdAt, id) order;
+     * {@code cursor} is the id of the last review of the previous page. Pages are
+     * cached. Review ids come from pooled allocation, so a new review's place in
+     * a page is not predictable from its id and a new review evicts every cached
+     * page of its car.
+     */
+    public CursorPage<Review> getCarReviews(Long carId, Long cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return cache.get(new PageKey(carId, cursor, size), () -> {
+            List<Review> reviews = cursor == null
+                    ? reviewRepository.findFirstPage(carId, PageRequest.ofSize(size))
+                    : reviewRepository.findPageAfter(carId, cursor, PageRequest.ofSize(size));
+            Long nextCursor = reviews.size() == size ? reviews.get(reviews.size() - 1).getId() : null;
+            return new CursorPage<>(reviews, nextCursor);
+        });
     }
 
-    public Long getCarReviewCount(Long carId) {
-        return reviewRepository.countByCarCarId(carId);
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            cache.clear();
+            return;
+        }
+        caffeineCache.getNativeCache().asMap().keySet()
+                .removeIf(key -> key instanceof PageKey page && page.carId().equals(event.carId()));
     }
-}
\ No newline at end of file
+}
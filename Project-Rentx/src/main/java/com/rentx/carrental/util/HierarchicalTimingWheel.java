@@ -0,0 +1,250 @@
+package com.rentx.carrental.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hashed hierarchical timing wheel. Level 0 has one bucket per tick; every
+ * higher level has buckets {@value #WHEEL_SIZE} times wider. A timeout is put
+ * in the lowest level whose span covers its delay and is cascaded one level
+ * down each time the level below wraps, so scheduling and cancelling are O(1)
+ * and each tick only touches the timeouts that are due.
+ * <p>
+ * A single daemon thread advances the wheel; due tasks are handed to the
+ * supplied executor so a slow task never delays the clock.
+ */
+@Slf4j
+public class HierarchicalTimingWheel {
+
+	private static final int WHEEL_BITS = 6;
+	static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+	private static final int LEVELS = 5;
+
+	private final long tickMillis;
+	private final Executor executor;
+	private final LongSupplier clock;
+	private final Bucket[][] levels = new Bucket[LEVELS][WHEEL_SIZE];
+	private final Object lock = new Object();
+	private final long startMillis;
+
+	private long currentTick;
+	private int size;
+	private Thread worker;
+	private volatile boolean running;
+
+	public HierarchicalTimingWheel(long tickMillis, Executor executor) {
+		this(tickMillis, executor, System::currentTimeMillis);
+	}
+
+	HierarchicalTimingWheel(long tickMillis, Executor executor, LongSupplier clock) {
+		this.tickMillis = tickMillis;
+		this.executor = executor;
+		this.clock = clock;
+		this.startMillis = clock.getAsLong();
+		for (Bucket[] level : levels) {
+			for (int i = 0; i < WHEEL_SIZE; i++) {
+				level[i] = new Bucket();
+			}
+		}
+	}
+
+	public void start(String threadName) {
+		synchronized (lock) {
+			if (running) {
+				return;
+			}
+			running = true;
+			worker = new Thread(this::runLoop, threadName);
+			worker.setDaemon(true);
+			worker.start();
+		}
+	}
+
+	public void stop() {
+		running = false;
+		Thread thread = worker;
+		if (thread != null) {
+			thread.interrupt();
+		}
+	}
+
+	/**
+	 * Schedules {@code task} to run at {@code deadlineMillis} (epoch millis).
+	 * Deadlines in the past fire on the next tick.
+	 */
+	public Timeout schedule(long deadlineMillis, Runnable task) {
+		Timeout timeout = new Timeout(deadlineMillis, task);
+		synchronized (lock) {
+			place(timeout, currentTick + 1);
+			size++;
+		}
+		return timeout;
+	}
+
+	public int size() {
+		synchronized (lock) {
+			return size;
+		}
+	}
+
+	/** Advances the wheel to the current time and dispatches everything that is due. */
+	void advance() {
+		List<Timeout> due = new ArrayList<>();
+		long targetTick = (clock.getAsLong() - startMillis) / tickMillis;
+		synchronized (lock) {
+			while (currentTick < targetTick) {
+				currentTick++;
+				cascade();
+				levels[0][(int) (currentTick & WHEEL_MASK)].drainTo(due);
+			}
+			size -= due.size();
+		}
+		for (Timeout timeout : due) {
+			try {
+				executor.execute(timeout.task);
+			} catch (RuntimeException e) {
+				log.error("Failed to dispatch timeout due at {}: {}", timeout.deadlineMillis, e.getMessage());
+			}
+		}
+	}
+
+	private void runLoop() {
+		while (running) {
+			try {
+				long nextTickAt = startMillis + (currentTickSnapshot() + 1) * tickMillis;
+				long sleep = nextTickAt - clock.getAsLong();
+				if (sleep > 0) {
+					TimeUnit.MILLISECONDS.sleep(sleep);
+				}
+				advance();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				log.error("Timing wheel tick failed: {}", e.getMessage(), e);
+			}
+		}
+	}
+
+	private long currentTickSnapshot() {
+		synchronized (lock) {
+			return currentTick;
+		}
+	}
+
+	/** Re-places the buckets of every level whose lower neighbour just wrapped. */
+	private void cascade() {
+		for (int level = 1; level < LEVELS; level++) {
+			if (((currentTick >>> (WHEEL_BITS * (level - 1))) & WHEEL_MASK) != 0) {
+				return;
+			}
+			List<Timeout> moved = new ArrayList<>();
+			levels[level][(int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)].drainTo(moved);
+			for (Timeout timeout : moved) {
+				place(timeout, currentTick);
+			}
+		}
+	}
+
+	/**
+	 * {@code minTick} is the earliest tick whose bucket is still going to be
+	 * drained: the next tick for new timeouts, the current one while cascading.
+	 */
+	private void place(Timeout timeout, long minTick) {
+		long deadlineTick = Math.max(minTick, ceilDiv(timeout.deadlineMillis - startMillis, tickMillis));
+		long delay = deadlineTick - currentTick;
+		for (int level = 0; level < LEVELS; level++) {
+			if (delay < 1L << (WHEEL_BITS * (level + 1))) {
+				levels[level][(int) ((deadlineTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)].add(timeout);
+				return;
+			}
+		}
+		// Beyond the wheel's horizon: park in the last top-level bucket and re-place on cascade.
+		int top = LEVELS - 1;
+		long parkTick = (currentTick >>> (WHEEL_BITS * top)) + WHEEL_MASK;
+		levels[top][(int) (parkTick & WHEEL_MASK)].add(timeout);
+	}
+
+	private static long ceilDiv(long value, long divisor) {
+		return value <= 0 ? 0 : (value + divisor - 1) / divisor;
+	}
+
+	public final class Timeout {
+
+		private final long deadlineMillis;
+		private final Runnable task;
+		private Bucket bucket;
+		private Timeout prev;
+		private Timeout next;
+
+		private Timeout(long deadlineMillis, Runnable task) {
+			this.deadlineMillis = deadlineMillis;
+			this.task = task;
+		}
+
+		public long deadlineMillis() {
+			return deadlineMillis;
+		}
+
+		/** Returns {@code true} if the timeout was still pending and will not run. */
+		public boolean cancel() {
+			synchronized (lock) {
+				if (bucket == null) {
+					return false;
+				}
+				bucket.remove(this);
+				size--;
+				return true;
+			}
+		}
+	}
+
+	/** Intrusive doubly linked list so a cancelled timeout is unlinked in O(1). */
+	private static final class Bucket {
+
+		private Timeout head;
+
+		void add(Timeout timeout) {
+			timeout.bucket = this;
+			timeout.prev = null;
+			timeout.next = head;
+			if (head != null) {
+				head.prev = timeout;
+			}
+			head = timeout;
+		}
+
+		void remove(Timeout timeout) {
+			if (timeout.prev != null) {
+				timeout.prev.next = timeout.next;
+			} else {
+				head = timeout.next;
+			}
+			if (timeout.next != null) {
+				timeout.next.prev = timeout.prev;
+			}
+			timeout.bucket = null;
+			timeout.prev = null;
+			timeout.next = null;
+		}
+
+		void drainTo(List<Timeout> target) {
+			Timeout timeout = head;
+			head = null;
+			while (timeout != null) {
+				Timeout next = timeout.next;
+				timeout.bucket = null;
+				timeout.prev = null;
+				timeout.next = null;
+				target.add(timeout);
+				timeout = next;
+			}
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package com.rentx.carrental.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mail body template compiled once into literal and placeholder segments.
+ * Placeholders are written {@code {{name}}} or {@code {{name:format}}} and are
+ * bound to the positional arguments of {@link #render(Object...)} at compile
+ * time, so rendering is a single pass over the segments into a per-thread
+ * buffer with no format-string parsing. Supported formats are {@code money}
+ * (two decimals), {@code date}, {@code day} and {@code datetime}.
+ * <p>
+ * HTML templates escape every substituted value; literals are emitted as written.
+ */
+public final class MailTemplate {
+
+	public enum Mode {
+		TEXT, HTML
+	}
+
+	private static final Map<String, DateTimeFormatter> DATE_FORMATS = Map.of(
+			"date", DateTimeFormatter.ofPattern("EEE, MMM dd, yyyy 'at' hh:mm a", Locale.ENGLISH),
+			"day", DateTimeFormatter.ofPattern("MMM dd, yyyy", Locale.ENGLISH),
+			"datetime", DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' hh:mm a", Locale.ENGLISH));
+
+	private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+	private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+	private final String[] literals;
+	private final int[] argumentIndexes;
+	private final Format[] formats;
+	private final int parameterCount;
+	private final Mode mode;
+	private final int sizeHint;
+
+	private MailTemplate(List<String> literals, List<Integer> argumentIndexes, List<Format> formats,
+			int parameterCount, Mode mode) {
+		this.literals = literals.toArray(String[]::new);
+		this.argumentIndexes = argumentIndexes.stream().mapToInt(Integer::intValue).toArray();
+		this.formats = formats.toArray(Format[]::new);
+		this.parameterCount = parameterCount;
+		this.mode = mode;
+		this.sizeHint = literals.stream().mapToInt(String::length).sum() + argumentIndexes.size() * 16;
+	}
+
+	public static MailTemplate text(String source, String... parameters) {
+		return compile(source, Mode.TEXT, parameters);
+	}
+
+	public static MailTemplate html(String source, String... parameters) {
+		return compile(source, Mode.HTML, parameters);
+	}
+
+	/**
+	 * Compiles {@code source}. Every placeholder must name one of
+	 * {@code parameters}; its position in that list is the argument index used by
+	 * {@link #render(Object...)}.
+	 */
+	public static MailTemplate compile(String source, Mode mode, String... parameters) {
+		List<String> parameterNames = Arrays.asList(parameters);
+		List<String> literals = new ArrayList<>();
+		List<Integer> indexes = new ArrayList<>();
+		List<Format> formats = new ArrayList<>();
+
+		int position = 0;
+		while (true) {
+			int open = source.indexOf("{{", position);
+			if (open < 0) {
+				literals.add(source.substring(position));
+				break;
+			}
+			int close = source.indexOf("}}", open + 2);
+			if (close < 0) {
+				throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+			}
+			literals.add(source.substring(position, open));
+			String placeholder = source.substring(open + 2, close).trim();
+			int colon = placeholder.indexOf(':');
+			String name = colon < 0 ? placeholder : placeholder.substring(0, colon).trim();
+			String format = colon < 0 ? null : placeholder.substring(colon + 1).trim();
+			int index = parameterNames.indexOf(name);
+			if (index < 0) {
+				throw new IllegalArgumentException("Unknown placeholder '" + name + "', expected one of "
+						+ parameterNames);
+			}
+			indexes.add(index);
+			formats.add(Format.of(format));
+			position = close + 2;
+		}
+		return new MailTemplate(literals, indexes, formats, parameters.length, mode);
+	}
+
+	public String render(Object... arguments) {
+		if (arguments.length != parameterCount) {
+			throw new IllegalArgumentException("Expected " + parameterCount + " arguments, got " + arguments.length);
+		}
+		StringBuilder buffer = BUFFER.get();
+		buffer.setLength(0);
+		buffer.ensureCapacity(sizeHint);
+		for (int i = 0; i < argumentIndexes.length; i++) {
+			buffer.append(literals[i]);
+			appendValue(buffer, arguments[argumentIndexes[i]], formats[i]);
+		}
+		buffer.append(literals[literals.length - 1]);
+		String result = buffer.toString();
+		if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+			BUFFER.remove();
+		}
+		return result;
+	}
+
+	private void appendValue(StringBuilder buffer, Object value, Format format) {
+		if (mode == Mode.TEXT) {
+			format.append(buffer, value);
+			return;
+		}
+		int start = buffer.length();
+		format.append(buffer, value);
+		escapeHtml(buffer, start);
+	}
+
+	/** Escapes the characters appended since {@code start} in place. */
+	private static void escapeHtml(StringBuilder buffer, int start) {
+		for (int i = start; i < buffer.length(); i++) {
+			String replacement = switch (buffer.charAt(i)) {
+			case '&' -> "&amp;";
+			case '<' -> "&lt;";
+			case '>' -> "&gt;";
+			case '"' -> "&quot;";
+			case '\'' -> "&#39;";
+			default -> null;
+			};
+			if (replacement != null) {
+				buffer.replace(i, i + 1, replacement);
+				i += replacement.length() - 1;
+			}
+		}
+	}
+
+	private record Format(String name, DateTimeFormatter dateFormatter) {
+
+		private static final Format PLAIN = new Format(null, null);
+		private static final Format MONEY = new Format("money", null);
+
+		static Format of(String name) {
+			if (name == null || name.isEmpty()) {
+				return PLAIN;
+			}
+			if ("money".equals(name)) {
+				return MONEY;
+			}
+			DateTimeFormatter formatter = DATE_FORMATS.get(name);
+			if (formatter == null) {
+				throw new IllegalArgumentException("Unknown placeholder format '" + name + "'");
+			}
+			return new Format(name, formatter);
+		}
+
+		void append(StringBuilder buffer, Object value) {
+			if (value == null) {
+				buffer.append(dateFormatter != null ? "N/A" : "null");
+			} else if (dateFormatter != null && value instanceof TemporalAccessor temporal) {
+				dateFormatter.formatTo(temporal, buffer);
+			} else if (this == MONEY && value instanceof Number number) {
+				buffer.append(BigDecimal.valueOf(number.doubleValue()).setScale(2, RoundingMode.HALF_UP)
+						.toPlainString());
+			} else if (value instanceof Long || value instanceof Integer) {
+				buffer.append(((Number) value).longValue());
+			} else {
+				buffer.append(value);
+			}
+		}
+	}
+}
@@ -3,7 +3,7 @@ package com.rentx.carrental;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.mail.fake=true")
 class ProjectRentxApplicationTests {
 
 	@Test
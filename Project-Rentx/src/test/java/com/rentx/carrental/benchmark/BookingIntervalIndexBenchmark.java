@@ -0,0 +1,108 @@
+package com.rentx.carrental.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.rentx.carrental.dto.BookingWindow;
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.service.BookingIntervalIndex;
+
+/**
+ * Conflict check cost of {@link BookingIntervalIndex} against the predicate of
+ * {@code BookingRepository.findConflictingBookings} evaluated over the car's
+ * bookings. The scan is a lower bound for the JPQL path, which additionally pays
+ * the MySQL round trip and row materialisation.
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.rentx.carrental.benchmark.BookingIntervalIndexBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class BookingIntervalIndexBenchmark {
+
+	private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+	@Param({ "10000" })
+	private int cars;
+
+	@Param({ "1000000" })
+	private int bookings;
+
+	private BookingIntervalIndex index;
+	private List<List<BookingWindow>> bookingsByCar;
+	private int days;
+
+	@Setup
+	public void setUp() {
+		index = new BookingIntervalIndex(null);
+		bookingsByCar = new ArrayList<>(cars);
+		List<BookingWindow> windows = new ArrayList<>(bookings);
+		int perCar = bookings / cars;
+		days = perCar * 4;
+		long id = 1;
+		for (long carId = 1; carId <= cars; carId++) {
+			List<BookingWindow> carWindows = new ArrayList<>(perCar);
+			LocalDateTime cursor = EPOCH;
+			for (int i = 0; i < perCar; i++) {
+				LocalDateTime start = cursor.plusDays(ThreadLocalRandom.current().nextInt(0, 2));
+				LocalDateTime end = start.plusDays(ThreadLocalRandom.current().nextInt(1, 3));
+				BookingWindow window = new BookingWindow(id++, carId, start, end, BookingStatus.CONFIRMED);
+				carWindows.add(window);
+				windows.add(window);
+				cursor = end;
+			}
+			bookingsByCar.add(carWindows);
+		}
+		index.load(windows);
+	}
+
+	@Benchmark
+	public boolean intervalIndex() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long carId = random.nextLong(1, cars + 1);
+		LocalDateTime start = EPOCH.plusHours(random.nextInt(days * 24));
+		return index.hasConflict(carId, start, start.plusDays(2), null);
+	}
+
+	@Benchmark
+	public boolean queryPredicateScan() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int carIndex = random.nextInt(cars);
+		LocalDateTime start = EPOCH.plusHours(random.nextInt(days * 24));
+		LocalDateTime end = start.plusDays(2);
+		for (BookingWindow window : bookingsByCar.get(carIndex)) {
+			if (window.getStartDate().isBefore(end) && window.getEndDate().isAfter(start)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().include(BookingIntervalIndexBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,133 @@
+package com.rentx.carrental.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.rentx.carrental.entity.OutboxEmail;
+import com.rentx.carrental.entity.OutboxEmail.OutboxStatus;
+
+/**
+ * Bulk write paths with JDBC batching off ({@code batchSize=1}) and as
+ * configured ({@code 50}): inserting a bulk cancellation's outbox rows, and the
+ * set of dirty-entity updates a scheduler run flushes. {@link OutboxEmail} takes
+ * its ids from the pooled table generator like Booking and Review, and has no
+ * listeners or associations, so it runs on a bare Hibernate bootstrap.
+ * <p>
+ * Round-trips dominate, so point it at a real server. The schema is created and
+ * dropped on each trial: use a scratch database, never the application's.
+ *
+ * <pre>
+ * mvn test-compile
+ * java -Dbench.jdbc.url='jdbc:mysql://localhost:3306/rentx_bench?createDatabaseIfNotExist=true&amp;rewriteBatchedStatements=true' \
+ *     -Dbench.jdbc.user=root -Dbench.jdbc.password=123456 \
+ *     -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.rentx.carrental.benchmark.BulkWriteBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkWriteBenchmark {
+
+	private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/rentx_bench"
+			+ "?createDatabaseIfNotExist=true&rewriteBatchedStatements=true";
+
+	@Param({ "1", "50" })
+	private int batchSize;
+
+	@Param({ "500" })
+	private int rows;
+
+	private SessionFactory sessionFactory;
+	private List<Long> updateIds;
+	private int round;
+
+	@Setup
+	public void setUp() {
+		Configuration configuration = new Configuration().addAnnotatedClass(OutboxEmail.class);
+		configuration.setProperty(AvailableSettings.JAKARTA_JDBC_URL, System.getProperty("bench.jdbc.url", DEFAULT_URL));
+		configuration.setProperty(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("bench.jdbc.user", "root"));
+		configuration.setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD,
+				System.getProperty("bench.jdbc.password", "123456"));
+		configuration.setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+		configuration.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize));
+		configuration.setProperty(AvailableSettings.ORDER_INSERTS, "true");
+		configuration.setProperty(AvailableSettings.ORDER_UPDATES, "true");
+		sessionFactory = configuration.buildSessionFactory();
+
+		updateIds = sessionFactory.fromTransaction(session -> {
+			List<Long> ids = new ArrayList<>(rows);
+			for (OutboxEmail email : newEmails()) {
+				session.persist(email);
+				ids.add(email.getId());
+			}
+			return ids;
+		});
+	}
+
+	@TearDown
+	public void tearDown() {
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public int insertOutbox() {
+		List<OutboxEmail> emails = newEmails();
+		sessionFactory.inTransaction(session -> emails.forEach(session::persist));
+		return emails.size();
+	}
+
+	@Benchmark
+	public int updateClaimed() {
+		String token = "bench-" + round++;
+		LocalDateTime now = LocalDateTime.now();
+		return sessionFactory.fromTransaction(session -> {
+			List<OutboxEmail> emails = session
+					.createSelectionQuery("from OutboxEmail where id in :ids", OutboxEmail.class)
+					.setParameter("ids", updateIds)
+					.getResultList();
+			for (OutboxEmail email : emails) {
+				email.setStatus(OutboxStatus.SENDING);
+				email.setClaimToken(token);
+				email.setClaimedAt(now);
+			}
+			return emails.size();
+		});
+	}
+
+	private List<OutboxEmail> newEmails() {
+		List<OutboxEmail> emails = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			emails.add(new OutboxEmail("user" + i + "@example.com", "Booking cancelled",
+					"Your booking has been cancelled and a refund is on its way."));
+		}
+		return emails;
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().include(BulkWriteBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,98 @@
+package com.rentx.carrental.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.rentx.carrental.service.EmailService;
+import com.rentx.carrental.service.EmailTemplates;
+
+/**
+ * Booking confirmation body rendered the way {@link EmailService} used to build
+ * it ({@code String.format} plus an inline {@code DateTimeFormatter.ofPattern})
+ * against {@link EmailTemplates#BOOKING_CONFIRMATION}, the template it sends
+ * now. Setup fails if the two outputs differ.
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.rentx.carrental.benchmark.EmailTemplateBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+	private final String firstName = "Asha";
+	private final String lastName = "Rao";
+	private final Long bookingId = 48213L;
+	private final String brand = "Toyota";
+	private final String model = "Innova Crysta";
+	private final LocalDateTime startDate = LocalDateTime.of(2025, 3, 14, 9, 30);
+	private final LocalDateTime endDate = LocalDateTime.of(2025, 3, 18, 18, 0);
+	private final String paymentMethod = "Paid Online";
+	private final String paymentInstructions = "• Payment Status: ✅ Already Paid\n";
+	private final double dailyRate = 3499.5;
+	private final double discount = 699.9;
+	private final double total = 13298.1;
+
+	@Setup
+	public void verify() {
+		Locale.setDefault(Locale.ENGLISH);
+		String expected = stringFormat();
+		String actual = compiledTemplate();
+		if (!expected.equals(actual)) {
+			throw new IllegalStateException("Template output differs:\n" + expected + "\n---\n" + actual);
+		}
+	}
+
+	@Benchmark
+	public String stringFormat() {
+		long days = ChronoUnit.DAYS.between(startDate, endDate);
+		return String.format("Dear %s %s,\n\n" + "🎉 YOUR BOOKING IS CONFIRMED!\n\n" + "📋 BOOKING DETAILS:\n"
+				+ "• Booking ID: %s\n" + "• Vehicle: %s %s\n" + "• Pickup Date: %s\n" + "• Return Date: %s\n"
+				+ "• Rental Duration: %d days\n" + "• Payment Method: %s\n" + "%s" + "\n" + "💰 PRICE BREAKDOWN:\n"
+				+ "• Daily Rate: ₹%.2f\n" + "• Loyalty Discount: -₹%.2f\n" + "• Total Amount: ₹%.2f\n\n"
+				+ "📍 PICKUP LOCATION:\n" + "RentX Main Office\n" + "123 Car Rental Street\n" + "City, State 12345\n\n"
+				+ "📞 Contact: +1 (555) 123-RENT\n" + "📧 Email: support@rentx.com\n\n" + "📝 IMPORTANT REMINDERS:\n"
+				+ "• Bring your driver's license and payment card\n" + "• Security deposit may be required\n"
+				+ "• Late returns incur additional charges\n\n" + "Thank you for choosing RentX! 🚗\n\n"
+				+ "Best regards,\n" + "The RentX Team", firstName, lastName, bookingId.toString(), brand, model,
+				formatDate(startDate), formatDate(endDate), days, paymentMethod, paymentInstructions, dailyRate, discount,
+				total);
+	}
+
+	@Benchmark
+	public String compiledTemplate() {
+		long days = ChronoUnit.DAYS.between(startDate, endDate);
+		return EmailTemplates.BOOKING_CONFIRMATION.render(firstName, lastName, bookingId.toString(), brand, model,
+				startDate, endDate, days, paymentMethod, paymentInstructions, dailyRate, discount, total);
+	}
+
+	private static String formatDate(LocalDateTime date) {
+		return date.format(DateTimeFormatter.ofPattern("EEE, MMM dd, yyyy 'at' hh:mm a"));
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().include(EmailTemplateBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,52 @@
+package com.rentx.carrental.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoalescingCaffeineCacheTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private Cache<Object, Object> nativeCache;
+	private CoalescingCaffeineCache cache;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		nativeCache = new AppConfig.Cache.CacheSpec().newBuilder().build();
+		cache = new CoalescingCaffeineCache("cars", nativeCache, true, meterRegistry);
+	}
+
+	@Test
+	void missIsCountedOnceAndRecordedAsOriginated() {
+		assertThat(cache.get("k", () -> "v")).isEqualTo("v");
+
+		CacheStats stats = nativeCache.stats();
+		assertThat(stats.missCount()).isEqualTo(1);
+		assertThat(stats.hitCount()).isZero();
+		assertThat(loads("originated")).isEqualTo(1.0);
+	}
+
+	@Test
+	void hitIsCountedOnce() {
+		cache.get("k", () -> "v");
+
+		assertThat(cache.get("k", () -> "other")).isEqualTo("v");
+
+		CacheStats stats = nativeCache.stats();
+		assertThat(stats.requestCount()).isEqualTo(2);
+		assertThat(stats.hitCount()).isEqualTo(1);
+		assertThat(loads("originated")).isEqualTo(1.0);
+		assertThat(loads("coalesced")).isZero();
+	}
+
+	private double loads(String result) {
+		return meterRegistry.get("cache.loads").tag("result", result).counter().count();
+	}
+}
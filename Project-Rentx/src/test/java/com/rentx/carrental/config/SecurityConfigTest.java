@@ -0,0 +1,93 @@
+package com.rentx.carrental.config;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import com.rentx.carrental.security.JwtTokenProvider;
+import com.rentx.carrental.security.PrincipalCache;
+
+import jakarta.servlet.Filter;
+
+@SpringJUnitWebConfig(SecurityConfigTest.TestConfig.class)
+class SecurityConfigTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		Filter securityFilter = context.getBean("springSecurityFilterChain", Filter.class);
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(securityFilter).build();
+	}
+
+	@Test
+	void prometheusAcceptsTheScrapeCredential() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus").header("Authorization", basic("prometheus", "s3cret")))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void prometheusRejectsMissingOrWrongCredential() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus").header("Authorization", basic("prometheus", "wrong")))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void scrapeCredentialDoesNotOpenOtherActuatorEndpoints() throws Exception {
+		mockMvc.perform(get("/actuator/metrics").header("Authorization", basic("prometheus", "s3cret")))
+				.andExpect(status().isForbidden());
+	}
+
+	private static String basic(String username, String password) {
+		return "Basic " + Base64.getEncoder()
+				.encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Configuration
+	@EnableWebMvc
+	@Import({ SecurityConfig.class, Endpoints.class })
+	static class TestConfig {
+
+		@Bean
+		AppConfig appConfig() {
+			AppConfig appConfig = new AppConfig();
+			appConfig.getMetrics().getScrape().setPassword("s3cret");
+			return appConfig;
+		}
+
+		@Bean
+		JwtAuthenticationFilter jwtAuthenticationFilter() {
+			return new JwtAuthenticationFilter(mock(JwtTokenProvider.class), mock(PrincipalCache.class));
+		}
+	}
+
+	@RestController
+	static class Endpoints {
+
+		@GetMapping({ "/actuator/prometheus", "/actuator/metrics" })
+		String scrape() {
+			return "ok";
+		}
+	}
+}
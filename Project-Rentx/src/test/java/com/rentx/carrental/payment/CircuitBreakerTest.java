@@ -0,0 +1,127 @@
+package com.rentx.carrental.payment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rentx.carrental.config.AppConfig;
+import com.rentx.carrental.payment.CircuitBreaker.State;
+
+class CircuitBreakerTest {
+
+	private final AtomicLong clock = new AtomicLong();
+	private CircuitBreaker breaker;
+
+	@BeforeEach
+	void setUp() {
+		AppConfig.Payment.CircuitBreaker config = new AppConfig.Payment.CircuitBreaker();
+		config.setSlidingWindowSize(4);
+		config.setMinimumCalls(4);
+		config.setFailureRateThreshold(0.5);
+		config.setOpenDuration(Duration.ofSeconds(30));
+		config.setHalfOpenCalls(2);
+		breaker = new CircuitBreaker(config, clock::get);
+	}
+
+	@Test
+	void staysClosedBelowMinimumCalls() {
+		call(false);
+		call(false);
+		call(false);
+
+		assertThat(breaker.state()).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	void opensWhenFailureShareReachesThreshold() {
+		call(false);
+		call(false);
+		call(true);
+		assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+		call(true);
+
+		assertThat(breaker.state()).isEqualTo(State.OPEN);
+		assertThat(breaker.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void oldOutcomesLeaveTheWindow() {
+		call(true);
+		call(false);
+		call(false);
+		call(false);
+		call(false);
+		call(true);
+		assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+		call(true);
+
+		// Two of the last four calls failed; over all seven it would be three, below the threshold.
+		assertThat(breaker.state()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	void halfOpensAfterOpenDurationAndClosesWhenProbesSucceed() {
+		trip();
+		clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.tryAcquire()).isFalse();
+
+		breaker.onSuccess();
+		assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+		breaker.onSuccess();
+		assertThat(breaker.state()).isEqualTo(State.CLOSED);
+		assertThat(breaker.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void reopensOnFailedProbe() {
+		trip();
+		clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+		assertThat(breaker.tryAcquire()).isTrue();
+		breaker.onFailure();
+
+		assertThat(breaker.state()).isEqualTo(State.OPEN);
+		assertThat(breaker.tryAcquire()).isFalse();
+		clock.addAndGet(Duration.ofSeconds(29).toNanos());
+		assertThat(breaker.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void ignoredProbeFreesItsSlot() {
+		trip();
+		clock.addAndGet(Duration.ofSeconds(30).toNanos());
+		breaker.tryAcquire();
+		breaker.tryAcquire();
+
+		breaker.onIgnored();
+
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+	}
+
+	private void trip() {
+		for (int i = 0; i < 4; i++) {
+			call(true);
+		}
+		assertThat(breaker.state()).isEqualTo(State.OPEN);
+	}
+
+	private void call(boolean failure) {
+		assertThat(breaker.tryAcquire()).isTrue();
+		if (failure) {
+			breaker.onFailure();
+		} else {
+			breaker.onSuccess();
+		}
+	}
+}
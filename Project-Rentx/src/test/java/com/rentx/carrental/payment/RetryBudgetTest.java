@@ -0,0 +1,69 @@
+package com.rentx.carrental.payment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rentx.carrental.config.AppConfig;
+
+class RetryBudgetTest {
+
+	private final AtomicLong clock = new AtomicLong();
+	private RetryBudget budget;
+
+	@BeforeEach
+	void setUp() {
+		AppConfig.Payment.Retry config = new AppConfig.Payment.Retry();
+		config.setMinRetriesPerWindow(2);
+		config.setBudgetRatio(0.1);
+		config.setBudgetWindow(Duration.ofSeconds(10));
+		budget = new RetryBudget(config, clock::get);
+	}
+
+	@Test
+	void allowsMinimumRetriesWithoutTraffic() {
+		assertThat(budget.tryRetry()).isTrue();
+		assertThat(budget.tryRetry()).isTrue();
+		assertThat(budget.tryRetry()).isFalse();
+	}
+
+	@Test
+	void growsWithRequestsInTheWindow() {
+		for (int i = 0; i < 20; i++) {
+			budget.onRequest();
+		}
+
+		// 2 + 0.1 * 20 = 4 retries.
+		for (int i = 0; i < 4; i++) {
+			assertThat(budget.tryRetry()).isTrue();
+		}
+		assertThat(budget.tryRetry()).isFalse();
+	}
+
+	@Test
+	void refillsWhenTheWindowRolls() {
+		budget.tryRetry();
+		budget.tryRetry();
+		assertThat(budget.tryRetry()).isFalse();
+
+		clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+		assertThat(budget.tryRetry()).isTrue();
+	}
+
+	@Test
+	void requestsFromAnEarlierWindowDoNotCount() {
+		for (int i = 0; i < 20; i++) {
+			budget.onRequest();
+		}
+		clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+		assertThat(budget.tryRetry()).isTrue();
+		assertThat(budget.tryRetry()).isTrue();
+		assertThat(budget.tryRetry()).isFalse();
+	}
+}
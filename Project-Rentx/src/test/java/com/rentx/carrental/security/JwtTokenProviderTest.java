@@ -0,0 +1,80 @@
+package com.rentx.carrental.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rentx.carrental.exception.AuthenticationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtTokenProviderTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private JwtTokenProvider tokenProvider;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		tokenProvider = provider(86_400_000L);
+	}
+
+	@Test
+	void verifiedTokenIsAnsweredFromTheCache() {
+		String token = tokenProvider.generateToken("driver@example.com");
+
+		assertThat(tokenProvider.getUsernameFromJWT(token)).isEqualTo("driver@example.com");
+		assertThat(tokenProvider.getUsernameFromJWT(token)).isEqualTo("driver@example.com");
+
+		assertThat(gets("hit")).isEqualTo(1);
+		assertThat(gets("miss")).isEqualTo(1);
+	}
+
+	@Test
+	void tamperedTokenIsRejectedAndNotCached() {
+		String token = tokenProvider.generateToken("driver@example.com");
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+		assertThatThrownBy(() -> tokenProvider.parseClaims(tampered)).isInstanceOf(AuthenticationException.class);
+		assertThatThrownBy(() -> tokenProvider.parseClaims(tampered)).isInstanceOf(AuthenticationException.class);
+		assertThat(gets("hit")).isZero();
+	}
+
+	@Test
+	void expiredTokenIsRejected() {
+		String token = provider(-60_000L).generateToken("driver@example.com");
+
+		assertThatThrownBy(() -> tokenProvider.parseClaims(token)).isInstanceOf(AuthenticationException.class)
+				.hasMessage("Token has expired");
+	}
+
+	@Test
+	void cachedTokenIsRejectedOnceItExpires() throws InterruptedException {
+		// JWT expiry has second precision, so this token lapses within one second.
+		JwtTokenProvider shortLived = provider(1_000L);
+		String token = shortLived.generateToken("driver@example.com");
+		shortLived.parseClaims(token);
+
+		Thread.sleep(1_100);
+
+		assertThatThrownBy(() -> shortLived.parseClaims(token)).isInstanceOf(AuthenticationException.class)
+				.hasMessage("Token has expired");
+	}
+
+	private JwtTokenProvider provider(long expirationMillis) {
+		JwtTokenProvider provider = new JwtTokenProvider(meterRegistry);
+		ReflectionTestUtils.setField(provider, "jwtSecret", "ThisIsAVeryLongAndSecureSecretKeyForJWT256Bits!");
+		ReflectionTestUtils.setField(provider, "jwtExpiration", expirationMillis);
+		ReflectionTestUtils.setField(provider, "verifiedCacheSize", 100L);
+		provider.init();
+		return provider;
+	}
+
+	private double gets(String result) {
+		return meterRegistry.get("cache.gets").tag("cache", "jwtVerifiedTokens").tag("result", result)
+				.functionCounter().count();
+	}
+}
@@ -0,0 +1,177 @@
+package com.rentx.carrental.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.rentx.carrental.config.AppConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitingFilterTest {
+
+	private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+	private AppConfig appConfig;
+
+	@BeforeEach
+	void setUp() {
+		appConfig = new AppConfig();
+		AppConfig.RateLimit config = appConfig.getRateLimit();
+		config.setMaxRequests(2);
+		config.setTimeWindow(Duration.ofSeconds(60));
+		config.setIdleTimeout(Duration.ofMinutes(10));
+		config.setPolicies(List.of(
+				policy("auth", "/api/auth/**", Set.of(), 3, Duration.ofSeconds(30)),
+				policy("search", "/api/cars/search", Set.of("GET"), null, null)));
+	}
+
+	@Test
+	void allowsABurstUpToCapacityThenRejects() throws Exception {
+		RateLimitingFilter filter = filter();
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(send(filter, "POST", "/api/auth/login", "10.0.0.1", null).getStatus()).isEqualTo(200);
+		}
+		MockHttpServletResponse rejected = send(filter, "POST", "/api/auth/login", "10.0.0.1", null);
+
+		assertThat(rejected.getStatus()).isEqualTo(429);
+		// One token every 30s / 3 = 10s.
+		assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("10");
+	}
+
+	@Test
+	void refillsOneTokenPerIntervalAndTheWholeBurstAfterAWindow() throws Exception {
+		RateLimitingFilter filter = filter();
+		for (int i = 0; i < 3; i++) {
+			send(filter, "POST", "/api/auth/login", "10.0.0.1", null);
+		}
+
+		advance(Duration.ofSeconds(10));
+		assertThat(send(filter, "POST", "/api/auth/login", "10.0.0.1", null).getStatus()).isEqualTo(200);
+		assertThat(send(filter, "POST", "/api/auth/login", "10.0.0.1", null).getStatus()).isEqualTo(429);
+
+		advance(Duration.ofSeconds(30));
+		for (int i = 0; i < 3; i++) {
+			assertThat(send(filter, "POST", "/api/auth/login", "10.0.0.1", null).getStatus()).isEqualTo(200);
+		}
+		assertThat(send(filter, "POST", "/api/auth/login", "10.0.0.1", null).getStatus()).isEqualTo(429);
+	}
+
+	@Test
+	void policyWithoutCapacityOrWindowUsesTheDefaults() throws Exception {
+		RateLimitingFilter filter = filter();
+
+		assertThat(send(filter, "GET", "/api/cars/search", "10.0.0.1", null).getStatus()).isEqualTo(200);
+		assertThat(send(filter, "GET", "/api/cars/search", "10.0.0.1", null).getStatus()).isEqualTo(200);
+		MockHttpServletResponse rejected = send(filter, "GET", "/api/cars/search", "10.0.0.1", null);
+
+		assertThat(rejected.getStatus()).isEqualTo(429);
+		assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+	}
+
+	@Test
+	void policyOnlyAppliesToItsMethodsAndPattern() throws Exception {
+		RateLimitingFilter filter = filter();
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(send(filter, "POST", "/api/cars/search", "10.0.0.1", null).getStatus()).isEqualTo(200);
+			assertThat(send(filter, "GET", "/api/cars", "10.0.0.1", null).getStatus()).isEqualTo(200);
+		}
+		assertThat(filter.trackedKeys()).isZero();
+	}
+
+	@Test
+	void policiesAndClientsHaveSeparateBuckets() throws Exception {
+		RateLimitingFilter filter = filter();
+		for (int i = 0; i < 3; i++) {
+			send(filter, "POST", "/api/auth/login", "10.0.0.1", null);
+		}
+
+		assertThat(send(filter, "POST", "/api/auth/login", "10.0.0.2", null).getStatus()).isEqualTo(200);
+		assertThat(send(filter, "GET", "/api/cars/search", "10.0.0.1", null).getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void forwardedForFromAnUntrustedPeerIsIgnored() throws Exception {
+		RateLimitingFilter filter = filter();
+
+		for (int i = 0; i < 3; i++) {
+			send(filter, "POST", "/api/auth/login", "203.0.113.9", "198.51.100." + i);
+		}
+
+		assertThat(send(filter, "POST", "/api/auth/login", "203.0.113.9", "198.51.100.99").getStatus())
+				.isEqualTo(429);
+	}
+
+	@Test
+	void forwardedForFromATrustedProxyNamesTheClient() throws Exception {
+		appConfig.getRateLimit().setTrustedProxies(List.of("10.1.0.0/16"));
+		RateLimitingFilter filter = filter();
+
+		for (int i = 0; i < 3; i++) {
+			send(filter, "POST", "/api/auth/login", "10.1.0.5", "198.51.100.7");
+		}
+
+		assertThat(send(filter, "POST", "/api/auth/login", "10.1.0.5", "198.51.100.7").getStatus()).isEqualTo(429);
+		assertThat(send(filter, "POST", "/api/auth/login", "10.1.0.5", "198.51.100.8").getStatus()).isEqualTo(200);
+		// A spoofed hop left of the real client does not give the client a fresh bucket.
+		assertThat(send(filter, "POST", "/api/auth/login", "10.1.0.5", "1.2.3.4, 198.51.100.7").getStatus())
+				.isEqualTo(429);
+	}
+
+	@Test
+	void idleClientsAreForgotten() throws Exception {
+		RateLimitingFilter filter = filter();
+		send(filter, "POST", "/api/auth/login", "10.0.0.1", null);
+		send(filter, "GET", "/api/cars/search", "10.0.0.2", null);
+		assertThat(filter.trackedKeys()).isEqualTo(2);
+
+		advance(Duration.ofMinutes(5));
+		send(filter, "GET", "/api/cars/search", "10.0.0.2", null);
+		advance(Duration.ofMinutes(6));
+
+		assertThat(filter.trackedKeys()).isEqualTo(1);
+	}
+
+	private RateLimitingFilter filter() {
+		return new RateLimitingFilter(appConfig, new SimpleMeterRegistry(), now::get);
+	}
+
+	private void advance(Duration duration) {
+		now.addAndGet(duration.toNanos());
+	}
+
+	private static MockHttpServletResponse send(RateLimitingFilter filter, String method, String uri,
+			String remoteAddr, String forwardedFor) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+		request.setRemoteAddr(remoteAddr);
+		if (forwardedFor != null) {
+			request.addHeader("X-Forwarded-For", forwardedFor);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	private static AppConfig.RateLimit.Policy policy(String name, String pattern, Set<String> methods,
+			Integer capacity, Duration window) {
+		AppConfig.RateLimit.Policy policy = new AppConfig.RateLimit.Policy();
+		policy.setName(name);
+		policy.setPattern(pattern);
+		policy.setMethods(methods);
+		policy.setCapacity(capacity);
+		policy.setWindow(window);
+		return policy;
+	}
+}
@@ -0,0 +1,165 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rentx.carrental.dto.StatsBucket;
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.entity.User.UserRole;
+import com.rentx.carrental.event.BookingChangedEvent;
+import com.rentx.carrental.event.CarChangedEvent;
+import com.rentx.carrental.event.CarChangedEvent.CarState;
+import com.rentx.carrental.event.UserChangedEvent;
+import com.rentx.carrental.repository.BookingRepository;
+
+class AdminStatsServiceTest {
+
+	private BookingRepository bookingRepository;
+	private AdminStatsService service;
+	private List<StatsBucket> aggregate;
+
+	@BeforeEach
+	void setUp() {
+		bookingRepository = mock(BookingRepository.class);
+		service = new AdminStatsService(bookingRepository);
+		aggregate = new ArrayList<>(List.of(
+				bucket("BOOKING", "CONFIRMED", 3, 0.0),
+				bucket("BOOKING", "COMPLETED", 2, 1500.50),
+				bucket("BOOKING", null, 1, 100.0),
+				bucket("USER", "CUSTOMER", 10, null),
+				bucket("USER", "ADMIN", 2, null),
+				bucket("USER", null, 3, null),
+				bucket("CAR", "AVAILABLE", 4, null),
+				bucket("CAR", "UNAVAILABLE", 1, null)));
+		when(bookingRepository.aggregateAdminStats()).thenAnswer(invocation -> aggregate);
+		service.reconcile();
+	}
+
+	@Test
+	void customersAreEveryoneWhoIsNotAnAdmin() {
+		Map<String, Object> users = section("users");
+
+		assertThat(users).containsEntry("total", 15L).containsEntry("admins", 2L).containsEntry("customers", 13L);
+	}
+
+	@Test
+	void reconcileLoadsTotalsIncludingRowsWithoutAStatus() {
+		assertThat(section("bookings")).containsEntry("total", 6L)
+				.containsEntry("confirmed", 3L)
+				.containsEntry("completed", 2L)
+				.containsEntry("active", 0L);
+		assertThat(section("cars")).containsEntry("total", 5L)
+				.containsEntry("available", 4L)
+				.containsEntry("unavailable", 1L);
+		assertThat(service.snapshot()).containsEntry("revenue", 1600.5);
+	}
+
+	@Test
+	void bookingEventsMoveCountsBetweenStatuses() {
+		service.onBookingChanged(booking(null, BookingStatus.PENDING, false, 0));
+		service.onBookingChanged(booking(BookingStatus.CONFIRMED, BookingStatus.ACTIVE, false, 0));
+		service.onBookingChanged(booking(BookingStatus.ACTIVE, BookingStatus.COMPLETED, false, 250.0));
+		service.onBookingChanged(booking(BookingStatus.COMPLETED, BookingStatus.COMPLETED, true, -1000.0));
+
+		assertThat(section("bookings")).containsEntry("total", 6L)
+				.containsEntry("confirmed", 2L)
+				.containsEntry("active", 0L)
+				.containsEntry("completed", 2L);
+		assertThat(service.snapshot()).containsEntry("revenue", 850.5);
+	}
+
+	@Test
+	void unchangedStatusOnlyMovesRevenue() {
+		service.onBookingChanged(booking(BookingStatus.CONFIRMED, BookingStatus.CONFIRMED, false, 99.5));
+
+		assertThat(section("bookings")).containsEntry("total", 6L).containsEntry("confirmed", 3L);
+		assertThat(service.snapshot()).containsEntry("revenue", 1700.0);
+	}
+
+	@Test
+	void userEventsMoveCountsBetweenRoles() {
+		service.onUserChanged(new UserChangedEvent(1L, "new", null, UserRole.CUSTOMER));
+		service.onUserChanged(new UserChangedEvent(2L, "promoted", UserRole.CUSTOMER, UserRole.ADMIN));
+		service.onUserChanged(new UserChangedEvent(3L, "gone", UserRole.CUSTOMER, null));
+		service.onUserChanged(new UserChangedEvent(4L, "renamed", UserRole.ADMIN, UserRole.ADMIN));
+
+		assertThat(section("users")).containsEntry("total", 15L)
+				.containsEntry("admins", 3L)
+				.containsEntry("customers", 12L);
+	}
+
+	@Test
+	void carEventsAdjustTotalAndAvailable() {
+		service.onCarChanged(new CarChangedEvent(1L, null, car(true)));
+		service.onCarChanged(new CarChangedEvent(2L, car(true), car(false)));
+		service.onCarChanged(new CarChangedEvent(3L, car(false), null));
+
+		assertThat(section("cars")).containsEntry("total", 5L)
+				.containsEntry("available", 4L)
+				.containsEntry("unavailable", 1L);
+	}
+
+	@Test
+	void reconcileOverwritesDrift() {
+		service.onBookingChanged(booking(null, BookingStatus.CONFIRMED, false, 10.0));
+		service.onUserChanged(new UserChangedEvent(1L, "new", null, UserRole.ADMIN));
+		service.onCarChanged(new CarChangedEvent(1L, null, car(true)));
+
+		aggregate.set(0, bucket("BOOKING", "CONFIRMED", 5, 0.0));
+		service.reconcile();
+
+		assertThat(section("bookings")).containsEntry("total", 8L).containsEntry("confirmed", 5L);
+		assertThat(section("users")).containsEntry("total", 15L).containsEntry("admins", 2L);
+		assertThat(section("cars")).containsEntry("total", 5L);
+		assertThat(service.snapshot()).containsEntry("revenue", 1600.5);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> section(String name) {
+		return (Map<String, Object>) service.snapshot().get(name);
+	}
+
+	private static BookingChangedEvent booking(BookingStatus from, BookingStatus to, boolean removed,
+			double paidAmountDelta) {
+		LocalDateTime start = LocalDateTime.of(2026, 11, 1, 10, 0);
+		return new BookingChangedEvent(1L, 1L, 1L, start, start.plusDays(2), to, removed, start, null, null, from,
+				paidAmountDelta, start, start.plusDays(2));
+	}
+
+	private static CarState car(boolean available) {
+		return new CarState("Tata", null, 2000.0, available, true);
+	}
+
+	private static StatsBucket bucket(String kind, String bucket, long total, Double amount) {
+		return new StatsBucket() {
+			@Override
+			public String getKind() {
+				return kind;
+			}
+
+			@Override
+			public String getBucket() {
+				return bucket;
+			}
+
+			@Override
+			public Long getTotal() {
+				return total;
+			}
+
+			@Override
+			public Double getAmount() {
+				return amount;
+			}
+		};
+	}
+}
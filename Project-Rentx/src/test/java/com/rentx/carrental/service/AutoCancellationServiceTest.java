@@ -0,0 +1,83 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rentx.carrental.entity.Booking;
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.entity.Booking.PickupStatus;
+import com.rentx.carrental.repository.BookingRepository;
+
+class AutoCancellationServiceTest {
+
+	private BookingRepository bookingRepository;
+	private AutoCancellationService service;
+
+	@BeforeEach
+	void setUp() {
+		bookingRepository = mock(BookingRepository.class);
+		service = new AutoCancellationService(bookingRepository, mock(EmailService.class), mock(CarService.class));
+	}
+
+	@Test
+	void cancelsNoShowThatWasActivatedAtPickupTime() {
+		Booking booking = payAtPickup(1L, BookingStatus.ACTIVE, PickupStatus.PENDING, LocalDateTime.now().minusHours(3));
+
+		service.cancelIfNoShow(1L);
+
+		assertThat(booking.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+		verify(bookingRepository).save(booking);
+	}
+
+	@Test
+	void cancelsNoShowStillConfirmed() {
+		Booking booking = payAtPickup(1L, BookingStatus.CONFIRMED, PickupStatus.PENDING,
+				LocalDateTime.now().minusHours(3));
+
+		service.cancelIfNoShow(1L);
+
+		assertThat(booking.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+	}
+
+	@Test
+	void keepsBookingThatWasPickedUp() {
+		Booking booking = payAtPickup(1L, BookingStatus.ACTIVE, PickupStatus.PICKED_UP,
+				LocalDateTime.now().minusHours(3));
+
+		service.cancelIfNoShow(1L);
+
+		assertThat(booking.getStatus()).isEqualTo(BookingStatus.ACTIVE);
+		verify(bookingRepository, never()).save(booking);
+	}
+
+	@Test
+	void keepsBookingWithinTheGracePeriod() {
+		Booking booking = payAtPickup(1L, BookingStatus.ACTIVE, PickupStatus.PENDING,
+				LocalDateTime.now().minusHours(1));
+
+		service.cancelIfNoShow(1L);
+
+		assertThat(booking.getStatus()).isEqualTo(BookingStatus.ACTIVE);
+	}
+
+	private Booking payAtPickup(Long id, BookingStatus status, PickupStatus pickupStatus, LocalDateTime startDate) {
+		Booking booking = new Booking();
+		booking.setId(id);
+		booking.setStatus(status);
+		booking.setPickupStatus(pickupStatus);
+		booking.setPaymentMethodSelected("PAY_AT_PICKUP");
+		booking.setStartDate(startDate);
+		booking.setEndDate(startDate.plusDays(2));
+		when(bookingRepository.findById(id)).thenReturn(Optional.of(booking));
+		return booking;
+	}
+}
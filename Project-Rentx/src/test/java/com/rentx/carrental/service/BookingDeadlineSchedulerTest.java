@@ -0,0 +1,48 @@
+package com.rentx.carrental.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.event.BookingChangedEvent;
+import com.rentx.carrental.repository.BookingRepository;
+
+class BookingDeadlineSchedulerTest {
+
+	private AutoCancellationService autoCancellationService;
+	private BookingDeadlineScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		autoCancellationService = mock(AutoCancellationService.class);
+		scheduler = new BookingDeadlineScheduler(mock(BookingRepository.class), mock(BookingLifecycleJob.class),
+				autoCancellationService);
+	}
+
+	@AfterEach
+	void tearDown() {
+		scheduler.shutdown();
+	}
+
+	@Test
+	void noShowDeadlineSurvivesActivation() {
+		// Started just under two hours ago, so the no-show check falls due within the next couple of ticks.
+		LocalDateTime start = LocalDateTime.now().minusHours(2).plusSeconds(2);
+		LocalDateTime end = start.plusDays(2);
+		scheduler.onBookingChanged(new BookingChangedEvent(1L, 7L, start, end, BookingStatus.CONFIRMED,
+				start.minusDays(1), "PAY_AT_PICKUP", "PENDING"));
+
+		// The lifecycle job activates it at its start time, ahead of the no-show deadline.
+		scheduler.onBookingChanged(
+				BookingChangedEvent.transitioned(1L, 7L, start, end, BookingStatus.CONFIRMED, BookingStatus.ACTIVE));
+
+		verify(autoCancellationService, timeout(5000)).cancelIfNoShow(1L);
+	}
+}
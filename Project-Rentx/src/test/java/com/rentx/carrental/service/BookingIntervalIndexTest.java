@@ -0,0 +1,170 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rentx.carrental.dto.BookingWindow;
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.event.BookingChangedEvent;
+import com.rentx.carrental.repository.BookingRepository;
+import com.rentx.carrental.service.BookingIntervalIndex.CarTimeline;
+
+class BookingIntervalIndexTest {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+	private BookingRepository bookingRepository;
+	private BookingIntervalIndex index;
+
+	@BeforeEach
+	void setUp() {
+		bookingRepository = mock(BookingRepository.class);
+		index = new BookingIntervalIndex(bookingRepository);
+	}
+
+	@Test
+	void reportsNoConflictUntilLoaded() {
+		index.onBookingChanged(confirmed(1L, 7L, 0, 2));
+
+		assertThat(index.isReady()).isFalse();
+		assertThat(index.hasConflict(7L, day(1), day(3), null)).isFalse();
+	}
+
+	@Test
+	void findsOverlapsButNotTouchingWindows() {
+		index.load(List.of(window(1L, 7L, 0, 2), window(2L, 7L, 4, 6)));
+
+		assertThat(index.hasConflict(7L, day(1), day(3), null)).isTrue();
+		assertThat(index.hasConflict(7L, day(2), day(4), null)).isFalse();
+		assertThat(index.hasConflict(7L, day(5), day(9), null)).isTrue();
+		assertThat(index.hasConflict(8L, day(1), day(3), null)).isFalse();
+		assertThat(index.findConflicts(7L, day(1), day(5))).containsExactlyInAnyOrder(1L, 2L);
+	}
+
+	@Test
+	void excludesTheBookingBeingChanged() {
+		index.load(List.of(window(1L, 7L, 0, 2)));
+
+		assertThat(index.hasConflict(7L, day(1), day(3), 1L)).isFalse();
+		assertThat(index.hasConflict(7L, day(1), day(3), 2L)).isTrue();
+	}
+
+	@Test
+	void appliesChangesAfterLoad() {
+		index.load(List.of(window(1L, 7L, 0, 2)));
+
+		index.onBookingChanged(confirmed(1L, 7L, 10, 12));
+		assertThat(index.hasConflict(7L, day(0), day(2), null)).isFalse();
+		assertThat(index.hasConflict(7L, day(11), day(13), null)).isTrue();
+
+		index.onBookingChanged(cancelled(1L, 7L, 10, 12));
+		assertThat(index.hasConflict(7L, day(11), day(13), null)).isFalse();
+	}
+
+	@Test
+	void dropsBookingCancelledWhileWarmUpQueryRuns() {
+		when(bookingRepository.findWindowsByStatusIn(any())).thenAnswer(invocation -> {
+			index.onBookingChanged(cancelled(1L, 7L, 0, 2));
+			return List.of(window(1L, 7L, 0, 2), window(2L, 7L, 4, 6));
+		});
+
+		index.warmUp();
+
+		assertThat(index.isReady()).isTrue();
+		assertThat(index.hasConflict(7L, day(0), day(2), null)).isFalse();
+		assertThat(index.hasConflict(7L, day(4), day(6), null)).isTrue();
+	}
+
+	@Test
+	void keepsBookingReconfirmedWhileWarmUpQueryRuns() {
+		when(bookingRepository.findWindowsByStatusIn(any())).thenAnswer(invocation -> {
+			index.onBookingChanged(cancelled(1L, 7L, 0, 2));
+			index.onBookingChanged(confirmed(1L, 7L, 0, 2));
+			return List.of();
+		});
+
+		index.warmUp();
+
+		assertThat(index.hasConflict(7L, day(0), day(2), null)).isTrue();
+	}
+
+	@Test
+	void changesDuringWarmUpWinOverLoadedWindows() {
+		when(bookingRepository.findWindowsByStatusIn(any())).thenAnswer(invocation -> {
+			index.onBookingChanged(confirmed(1L, 7L, 10, 12));
+			index.onBookingChanged(confirmed(3L, 7L, 20, 22));
+			return List.of(window(1L, 7L, 0, 2), window(2L, 7L, 4, 6));
+		});
+
+		index.warmUp();
+
+		assertThat(index.hasConflict(7L, day(0), day(2), null)).isFalse();
+		assertThat(index.findConflicts(7L, day(0), day(30))).containsExactlyInAnyOrder(1L, 2L, 3L);
+	}
+
+	@Test
+	void buildsTimelineFromUnsortedWindows() {
+		CarTimeline timeline = CarTimeline.of(List.of(window(3L, 7L, 8, 9), window(1L, 7L, 0, 20),
+				window(2L, 7L, 4, 5), new BookingWindow(4L, 7L, null, day(1), BookingStatus.CONFIRMED)));
+
+		// The long first window is still found behind the shorter later ones.
+		assertThat(timeline.overlapping(epoch(15), epoch(16))).containsExactly(1L);
+		assertThat(timeline.overlapping(epoch(4), epoch(9))).containsExactlyInAnyOrder(1L, 2L, 3L);
+		assertThat(timeline.firstOverlap(epoch(15), epoch(16), 1L)).isEqualTo(-1);
+	}
+
+	@Test
+	void withReplacesAndWithoutRemoves() {
+		CarTimeline timeline = CarTimeline.of(List.of(window(1L, 7L, 0, 2), window(2L, 7L, 4, 6)));
+
+		CarTimeline moved = timeline.with(1L, epoch(10), epoch(12));
+		assertThat(moved.overlapping(epoch(0), epoch(2))).isEmpty();
+		assertThat(moved.overlapping(epoch(0), epoch(20))).containsExactlyInAnyOrder(1L, 2L);
+
+		assertThat(moved.without(3L)).isSameAs(moved);
+		assertThat(moved.without(1L).overlapping(epoch(0), epoch(20))).containsExactly(2L);
+		assertThat(CarTimeline.of(List.of(window(1L, 7L, 0, 2))).without(1L)).isNull();
+	}
+
+	@Test
+	void withAllMergesBothTimelines() {
+		CarTimeline loaded = CarTimeline.of(List.of(window(1L, 7L, 0, 2), window(2L, 7L, 4, 6)));
+		CarTimeline current = CarTimeline.of(List.of(window(2L, 7L, 8, 9), window(3L, 7L, 1, 3)));
+
+		CarTimeline merged = loaded.withAll(current);
+
+		assertThat(merged.overlapping(epoch(4), epoch(6))).isEmpty();
+		assertThat(merged.overlapping(epoch(0), epoch(10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+	}
+
+	private static BookingWindow window(Long bookingId, Long carId, int startDay, int endDay) {
+		return new BookingWindow(bookingId, carId, day(startDay), day(endDay), BookingStatus.CONFIRMED);
+	}
+
+	private static BookingChangedEvent confirmed(Long bookingId, Long carId, int startDay, int endDay) {
+		return BookingChangedEvent.transitioned(bookingId, carId, day(startDay), day(endDay),
+				BookingStatus.PENDING, BookingStatus.CONFIRMED);
+	}
+
+	private static BookingChangedEvent cancelled(Long bookingId, Long carId, int startDay, int endDay) {
+		return BookingChangedEvent.transitioned(bookingId, carId, day(startDay), day(endDay),
+				BookingStatus.CONFIRMED, BookingStatus.CANCELLED);
+	}
+
+	private static LocalDateTime day(int offset) {
+		return DAY.plusDays(offset);
+	}
+
+	private static long epoch(int offset) {
+		return day(offset).toEpochSecond(ZoneOffset.UTC);
+	}
+}
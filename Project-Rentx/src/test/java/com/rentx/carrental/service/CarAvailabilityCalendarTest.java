@@ -0,0 +1,90 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rentx.carrental.config.AppConfig;
+import com.rentx.carrental.dto.BookingWindow;
+import com.rentx.carrental.entity.Booking;
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.entity.Car;
+import com.rentx.carrental.event.BookingChangedEvent;
+import com.rentx.carrental.repository.BookingRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CarAvailabilityCalendarTest {
+
+	private static final YearMonth JANUARY = YearMonth.of(2030, 1);
+	private static final YearMonth FEBRUARY = YearMonth.of(2030, 2);
+
+	private BookingIntervalIndex index;
+	private CarAvailabilityCalendar calendar;
+
+	@BeforeEach
+	void setUp() {
+		BookingRepository bookingRepository = mock(BookingRepository.class);
+		index = new BookingIntervalIndex(bookingRepository);
+		calendar = new CarAvailabilityCalendar(index, bookingRepository, new AppConfig(), new SimpleMeterRegistry());
+		index.load(List.of(new BookingWindow(1L, 7L, LocalDateTime.of(2030, 1, 29, 10, 0),
+				LocalDateTime.of(2030, 1, 31, 10, 0), BookingStatus.CONFIRMED)));
+	}
+
+	@Test
+	void bookingMovedIntoTheNextMonthFreesTheOldMonth() {
+		assertThat(calendar.getMonth(7L, JANUARY).bookedDates())
+				.containsExactly("2030-01-29", "2030-01-30", "2030-01-31");
+		assertThat(calendar.getMonth(7L, FEBRUARY).totalBookings()).isZero();
+
+		Booking booking = booking(LocalDateTime.of(2030, 1, 29, 10, 0), LocalDateTime.of(2030, 1, 31, 10, 0));
+		booking.setStartDate(LocalDateTime.of(2030, 2, 3, 10, 0));
+		booking.setEndDate(LocalDateTime.of(2030, 2, 4, 10, 0));
+		publish(BookingChangedEvent.updated(booking));
+
+		assertThat(calendar.getMonth(7L, JANUARY).totalBookings()).isZero();
+		assertThat(calendar.getMonth(7L, JANUARY).bookedDates()).isEmpty();
+		assertThat(calendar.getMonth(7L, FEBRUARY).bookedDates()).containsExactly("2030-02-03", "2030-02-04");
+	}
+
+	@Test
+	void bookingStretchedAcrossTheMonthBoundaryUpdatesBothMonths() {
+		calendar.getMonth(7L, JANUARY);
+		calendar.getMonth(7L, FEBRUARY);
+
+		Booking booking = booking(LocalDateTime.of(2030, 1, 29, 10, 0), LocalDateTime.of(2030, 1, 31, 10, 0));
+		booking.setStartDate(LocalDateTime.of(2030, 1, 30, 10, 0));
+		booking.setEndDate(LocalDateTime.of(2030, 2, 1, 10, 0));
+		publish(BookingChangedEvent.updated(booking));
+
+		assertThat(calendar.getMonth(7L, JANUARY).bookedDates()).containsExactly("2030-01-30", "2030-01-31");
+		assertThat(calendar.getMonth(7L, FEBRUARY).bookedDates()).containsExactly("2030-02-01");
+	}
+
+	private void publish(BookingChangedEvent event) {
+		index.onBookingChanged(event);
+		calendar.onBookingChanged(event);
+	}
+
+	/** A booking as loaded with these dates, so the next event carries them as the previous ones. */
+	private static Booking booking(LocalDateTime startDate, LocalDateTime endDate) {
+		Car car = new Car();
+		car.setCarId(7L);
+		Booking booking = new Booking();
+		booking.setId(1L);
+		booking.setCar(car);
+		booking.setStatus(BookingStatus.CONFIRMED);
+		booking.setStartDate(startDate);
+		booking.setEndDate(endDate);
+		booking.setLoadedStatus(BookingStatus.CONFIRMED);
+		booking.setLoadedStartDate(startDate);
+		booking.setLoadedEndDate(endDate);
+		return booking;
+	}
+}
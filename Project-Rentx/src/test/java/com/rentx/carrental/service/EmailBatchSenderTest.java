@@ -0,0 +1,56 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.rentx.carrental.config.AppConfig;
+import com.rentx.carrental.config.FakeJavaMailSender;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+
+class EmailBatchSenderTest {
+
+	private final FakeJavaMailSender mailSender = new FakeJavaMailSender();
+	private final EmailBatchSender sender = new EmailBatchSender(mailSender, new AppConfig(),
+			new SimpleMeterRegistry());
+
+	@Test
+	void sendsHtmlMailWithTextAlternative() throws Exception {
+		MimeMessage message = sender.createHtmlMessage("bob@example.com", "Booking Confirmed", "plain body",
+				"<p>html body</p>");
+
+		assertThat(sender.sendMime(List.of(message))).isEmpty();
+
+		MimeMessage sent = mailSender.getSentMimeMessages().get(0);
+		sent.saveChanges();
+		assertThat(sent.getAllRecipients()[0].toString()).isEqualTo("bob@example.com");
+		String content = String.valueOf(dump(sent.getContent()));
+		assertThat(content).contains("plain body").contains("<p>html body</p>");
+	}
+
+	@Test
+	void reportsFailedMimeMessages() throws Exception {
+		MimeMessage message = sender.createHtmlMessage("bob@example.com", "Subject", "text", "<p>html</p>");
+		mailSender.failNext(1);
+
+		assertThat(sender.sendMime(List.of(message))).containsOnlyKeys(message);
+	}
+
+	private static StringBuilder dump(Object content) throws Exception {
+		StringBuilder out = new StringBuilder();
+		if (content instanceof MimeMultipart multipart) {
+			for (int i = 0; i < multipart.getCount(); i++) {
+				out.append(multipart.getBodyPart(i).getContentType()).append('\n');
+				out.append(dump(multipart.getBodyPart(i).getContent()));
+			}
+		} else {
+			out.append(content).append('\n');
+		}
+		return out;
+	}
+}
@@ -0,0 +1,104 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.rentx.carrental.config.AppConfig;
+import com.rentx.carrental.entity.OutboxEmail;
+import com.rentx.carrental.entity.OutboxEmail.OutboxStatus;
+import com.rentx.carrental.repository.OutboxEmailRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmailOutboxTest {
+
+	private OutboxEmailRepository outboxRepository;
+	private EmailOutbox outbox;
+
+	@BeforeEach
+	void setUp() {
+		outboxRepository = mock(OutboxEmailRepository.class);
+		AppConfig appConfig = new AppConfig();
+		AppConfig.Mail.Outbox config = appConfig.getMail().getOutbox();
+		config.setMaxAttempts(3);
+		config.setInitialBackoff(Duration.ofSeconds(30));
+		config.setClaimTimeout(Duration.ofMinutes(10));
+		outbox = new EmailOutbox(outboxRepository, mock(EmailBatchSender.class), mock(ApplicationEventPublisher.class),
+				mock(PlatformTransactionManager.class), appConfig, new SimpleMeterRegistry());
+		when(outboxRepository.releaseStaleClaim(any(), anyString(), any(), any(), anyString())).thenReturn(1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		outbox.shutdown();
+	}
+
+	@Test
+	void timedOutClaimCountsAsAnAttemptAndBacksOff() {
+		when(outboxRepository.findByStatusAndClaimedAtBefore(eq(OutboxStatus.SENDING), any()))
+				.thenReturn(List.of(claimed(1L, "token-1", 1)));
+		LocalDateTime before = LocalDateTime.now();
+
+		outbox.poll();
+
+		ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(outboxRepository).releaseStaleClaim(eq(1L), eq("token-1"), eq(OutboxStatus.PENDING),
+				nextAttemptAt.capture(), anyString());
+		// Second attempt: twice the initial backoff, plus at most 20% jitter.
+		assertThat(nextAttemptAt.getValue()).isAfterOrEqualTo(before.plusSeconds(60))
+				.isBeforeOrEqualTo(LocalDateTime.now().plusSeconds(72));
+	}
+
+	@Test
+	void timedOutClaimOnTheLastAttemptIsDead() {
+		when(outboxRepository.findByStatusAndClaimedAtBefore(eq(OutboxStatus.SENDING), any()))
+				.thenReturn(List.of(claimed(2L, "token-2", 2)));
+
+		outbox.poll();
+
+		verify(outboxRepository).releaseStaleClaim(eq(2L), eq("token-2"), eq(OutboxStatus.DEAD), isNull(),
+				anyString());
+		verify(outboxRepository, never()).releaseStaleClaim(any(), anyString(), eq(OutboxStatus.PENDING), any(),
+				anyString());
+	}
+
+	@Test
+	void onlyClaimsOlderThanTheTimeoutAreReleased() {
+		when(outboxRepository.findByStatusAndClaimedAtBefore(eq(OutboxStatus.SENDING), any())).thenReturn(List.of());
+		LocalDateTime before = LocalDateTime.now();
+
+		outbox.poll();
+
+		ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(outboxRepository).findByStatusAndClaimedAtBefore(eq(OutboxStatus.SENDING), cutoff.capture());
+		assertThat(cutoff.getValue()).isAfterOrEqualTo(before.minusMinutes(10))
+				.isBeforeOrEqualTo(LocalDateTime.now().minusMinutes(10));
+	}
+
+	private static OutboxEmail claimed(Long id, String token, int attempts) {
+		OutboxEmail email = new OutboxEmail("driver@example.com", "Booking confirmed", "text", null);
+		email.setId(id);
+		email.setStatus(OutboxStatus.SENDING);
+		email.setClaimToken(token);
+		email.setAttempts(attempts);
+		return email;
+	}
+}
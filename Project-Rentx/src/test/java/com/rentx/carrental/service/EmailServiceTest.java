@@ -0,0 +1,90 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mail.SimpleMailMessage;
+
+import com.rentx.carrental.entity.Booking;
+import com.rentx.carrental.entity.Car;
+import com.rentx.carrental.entity.User;
+import com.rentx.carrental.repository.BookingRepository;
+
+class EmailServiceTest {
+
+	private EmailOutbox emailOutbox;
+	private EmailService emailService;
+
+	@BeforeEach
+	void setUp() {
+		emailOutbox = mock(EmailOutbox.class);
+		emailService = new EmailService(emailOutbox, mock(BookingRepository.class));
+	}
+
+	@Test
+	void propagatesOutboxFailures() {
+		doThrow(new DataAccessResourceFailureException("connection lost")).when(emailOutbox)
+				.enqueue(any(SimpleMailMessage.class));
+
+		assertThatThrownBy(() -> emailService.sendBookingCancellation(user(), booking(new Car())))
+				.isInstanceOf(DataAccessResourceFailureException.class);
+	}
+
+	@Test
+	void dropsMessageThatCannotBeRendered() {
+		assertThatCode(() -> emailService.sendBookingCancellation(user(), booking(null))).doesNotThrowAnyException();
+
+		verify(emailOutbox, never()).enqueue(any(SimpleMailMessage.class));
+	}
+
+	@Test
+	void queuesBookingConfirmationWithTextAndHtmlParts() {
+		Car car = new Car();
+		car.setBrand("Mahindra");
+		car.setModel("Thar <4x4>");
+		car.setDailyRate(2500.0);
+		Booking booking = booking(car);
+		booking.setPaymentStatus("PAID");
+
+		emailService.sendBookingConfirmation(user(), booking);
+
+		ArgumentCaptor<SimpleMailMessage> message = ArgumentCaptor.forClass(SimpleMailMessage.class);
+		ArgumentCaptor<String> html = ArgumentCaptor.forClass(String.class);
+		verify(emailOutbox).enqueue(message.capture(), html.capture());
+		assertThat(message.getValue().getText()).contains("• Vehicle: Mahindra Thar <4x4>")
+				.contains("• Total Amount: ₹5000.00");
+		assertThat(html.getValue()).startsWith("<html>")
+				.contains("<li>Vehicle: Mahindra Thar &lt;4x4&gt;</li>")
+				.contains("<strong>₹5000.00</strong>");
+	}
+
+	private static User user() {
+		User user = new User();
+		user.setEmail("bob@example.com");
+		user.setFirstName("Bob");
+		user.setLastName("Smith");
+		return user;
+	}
+
+	private static Booking booking(Car car) {
+		Booking booking = new Booking();
+		booking.setId(1L);
+		booking.setCar(car);
+		booking.setStartDate(LocalDateTime.of(2030, 1, 1, 10, 0));
+		booking.setEndDate(LocalDateTime.of(2030, 1, 3, 10, 0));
+		booking.setTotalPrice(5000.0);
+		return booking;
+	}
+}
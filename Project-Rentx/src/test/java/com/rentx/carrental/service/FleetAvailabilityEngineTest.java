@@ -0,0 +1,86 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.rentx.carrental.dto.BookingWindow;
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.entity.Car;
+import com.rentx.carrental.event.CarChangedEvent;
+import com.rentx.carrental.event.CarChangedEvent.CarState;
+import com.rentx.carrental.repository.CarRepository;
+
+class FleetAvailabilityEngineTest {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+	private CarRepository carRepository;
+	private BookingIntervalIndex bookingIntervalIndex;
+	private FleetAvailabilityEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		carRepository = mock(CarRepository.class);
+		bookingIntervalIndex = new BookingIntervalIndex(null);
+		engine = new FleetAvailabilityEngine(carRepository, bookingIntervalIndex);
+		when(carRepository.findAll()).thenReturn(List.of(car(1L, "Toyota", 3000.0), car(2L, "Honda", 2000.0)));
+	}
+
+	@Test
+	void leavesOutCarsWithBookingsTouchingTheWindow() {
+		bookingIntervalIndex.load(List.of(new BookingWindow(10L, 1L, DAY, DAY.plusDays(2), BookingStatus.CONFIRMED)));
+
+		// Ends exactly when the search starts, as the inclusive availability query treats it.
+		assertThat(ids(engine.search(null, null, null, DAY.plusDays(2), DAY.plusDays(4)))).containsExactly(2L);
+		assertThat(ids(engine.search(null, null, null, DAY.minusDays(2), DAY))).containsExactly(2L);
+		assertThat(ids(engine.search(null, null, null, DAY.plusDays(3), DAY.plusDays(4)))).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void appliesCarChangesWithoutReloadingTheCatalog() {
+		bookingIntervalIndex.load(List.of());
+		assertThat(ids(engine.search(null, null, 2500.0, null, null))).containsExactly(2L);
+
+		Car cheaper = car(1L, "Toyota", 1500.0);
+		when(carRepository.findById(1L)).thenReturn(Optional.of(cheaper));
+		engine.onCarChanged(new CarChangedEvent(1L, null, CarState.of(cheaper)));
+		assertThat(ids(engine.search(null, null, 2500.0, null, null))).containsExactly(1L, 2L);
+
+		engine.onCarChanged(new CarChangedEvent(2L, null, null));
+		assertThat(ids(engine.search(null, null, null, null, null))).containsExactly(1L);
+
+		Car added = car(3L, "Honda", 2200.0);
+		when(carRepository.findById(3L)).thenReturn(Optional.of(added));
+		engine.onCarChanged(new CarChangedEvent(3L, null, CarState.of(added)));
+		assertThat(ids(engine.search("honda", null, null, null, null))).containsExactly(3L);
+
+		verify(carRepository, times(1)).findAll();
+		verify(carRepository, never()).findById(2L);
+	}
+
+	private static Car car(Long id, String brand, Double dailyRate) {
+		Car car = new Car();
+		car.setCarId(id);
+		car.setBrand(brand);
+		car.setCategory(Car.CarCategory.SUV);
+		car.setDailyRate(dailyRate);
+		car.setAvailable(true);
+		car.setActive(true);
+		return car;
+	}
+
+	private static List<Long> ids(List<Car> cars) {
+		return cars.stream().map(Car::getCarId).toList();
+	}
+}
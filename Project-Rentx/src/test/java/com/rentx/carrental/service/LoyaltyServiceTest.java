@@ -0,0 +1,142 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.rentx.carrental.config.AppConfig;
+import com.rentx.carrental.entity.Booking.BookingStatus;
+import com.rentx.carrental.entity.User;
+import com.rentx.carrental.repository.BookingRepository;
+import com.rentx.carrental.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+class LoyaltyServiceTest {
+
+	private BookingRepository bookingRepository;
+	private UserRepository userRepository;
+	private AppConfig appConfig;
+	private LoyaltyService service;
+
+	@BeforeEach
+	void setUp() {
+		bookingRepository = mock(BookingRepository.class);
+		userRepository = mock(UserRepository.class);
+		appConfig = new AppConfig();
+		// The shipped tiers from application.properties.
+		appConfig.getLoyalty().setTiers(List.of(tier("RETURNING", 2, 0.05), tier("REGULAR", 5, 0.10),
+				tier("VIP", 10, 0.15)));
+		service = new LoyaltyService(bookingRepository, userRepository, appConfig, mock(EntityManager.class),
+				new ConcurrentMapCacheManager(LoyaltyService.CACHE_NAME));
+	}
+
+	@Test
+	void deltaCountsEnteringAndLeavingCountedStatuses() {
+		assertThat(LoyaltyService.delta(BookingStatus.PENDING, BookingStatus.CONFIRMED)).isEqualTo(1);
+		assertThat(LoyaltyService.delta(null, BookingStatus.CONFIRMED)).isEqualTo(1);
+		assertThat(LoyaltyService.delta(BookingStatus.CONFIRMED, BookingStatus.CANCELLED)).isEqualTo(-1);
+		assertThat(LoyaltyService.delta(BookingStatus.COMPLETED, null)).isEqualTo(-1);
+	}
+
+	@Test
+	void deltaIgnoresMovesWithinOrOutsideCountedStatuses() {
+		assertThat(LoyaltyService.delta(BookingStatus.CONFIRMED, BookingStatus.COMPLETED)).isZero();
+		assertThat(LoyaltyService.delta(BookingStatus.CONFIRMED, BookingStatus.CONFIRMED)).isZero();
+		assertThat(LoyaltyService.delta(BookingStatus.PENDING, BookingStatus.CANCELLED)).isZero();
+		assertThat(LoyaltyService.delta(null, BookingStatus.PENDING)).isZero();
+		assertThat(LoyaltyService.delta(null, null)).isZero();
+	}
+
+	@Test
+	void tierNameIsTheLastConfiguredTierReached() {
+		assertThat(tierAt(0)).isEqualTo("NEW");
+		assertThat(tierAt(2)).isEqualTo("RETURNING");
+		assertThat(tierAt(9)).isEqualTo("REGULAR");
+		assertThat(tierAt(10)).isEqualTo("VIP");
+	}
+
+	// Pins the pre-counter billing: the first configured tier that is met, whatever the name shown.
+	@Test
+	void discountIsTheFirstConfiguredTierReached() {
+		assertThat(service.calculateDiscount(user(1L, 1), 1000)).isZero();
+		assertThat(service.calculateDiscount(user(2L, 2), 1000)).isEqualTo(50.0);
+		assertThat(service.calculateDiscount(user(3L, 7), 1000)).isEqualTo(50.0);
+		assertThat(service.calculateDiscount(user(4L, 12), 1000)).isEqualTo(50.0);
+	}
+
+	@Test
+	void configOrderDecidesForUnorderedTiers() {
+		appConfig.getLoyalty().setTiers(List.of(tier("VIP", 10, 0.15), tier("RETURNING", 2, 0.05)));
+
+		assertThat(service.calculateDiscount(user(1L, 12), 1000)).isEqualTo(150.0);
+		assertThat(service.getLoyaltyTier(user(1L, 12))).isEqualTo("RETURNING");
+		assertThat(service.calculateDiscount(user(2L, 3), 1000)).isEqualTo(50.0);
+	}
+
+	@Test
+	void noDiscountWithoutTiers() {
+		appConfig.getLoyalty().setTiers(null);
+
+		assertThat(service.calculateDiscount(user(1L, 30), 1000)).isZero();
+	}
+
+	@Test
+	void bulkTransitionAdjustsOwnersByDelta() {
+		when(bookingRepository.findUserIdsByIdIn(List.of(7L, 8L))).thenReturn(List.of(1L, 2L));
+
+		service.onBulkTransition(List.of(7L, 8L), BookingStatus.CONFIRMED, BookingStatus.CANCELLED);
+
+		verify(userRepository).adjustLoyaltyBookings(List.of(1L, 2L), List.of(7L, 8L), -1);
+	}
+
+	@Test
+	void bulkTransitionWithinCountedStatusesWritesNothing() {
+		service.onBulkTransition(List.of(7L), BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+
+		verify(bookingRepository, never()).findUserIdsByIdIn(any());
+		verify(userRepository, never()).adjustLoyaltyBookings(any(), any(), anyInt());
+	}
+
+	@Test
+	void bulkTransitionEvictsCachedCounters() {
+		User user = user(1L, 4);
+		assertThat(service.getLoyaltyTier(user)).isEqualTo("RETURNING");
+		when(bookingRepository.findUserIdsByIdIn(List.of(7L))).thenReturn(List.of(1L));
+		when(userRepository.findLoyaltyBookingsById(1L)).thenReturn(Optional.of(5));
+
+		service.onBulkTransition(List.of(7L), BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+		assertThat(service.getLoyaltyTier(user)).isEqualTo("REGULAR");
+	}
+
+	private String tierAt(int bookings) {
+		return service.getLoyaltyTier(user((long) bookings + 100, bookings));
+	}
+
+	private User user(Long id, int loyaltyBookings) {
+		User user = new User();
+		user.setId(id);
+		when(userRepository.findLoyaltyBookingsById(id)).thenReturn(Optional.of(loyaltyBookings));
+		return user;
+	}
+
+	private static AppConfig.Loyalty.LoyaltyTier tier(String name, int bookings, double discount) {
+		AppConfig.Loyalty.LoyaltyTier tier = new AppConfig.Loyalty.LoyaltyTier();
+		tier.setName(name);
+		tier.setBookings(bookings);
+		tier.setDiscount(discount);
+		return tier;
+	}
+}
@@ -0,0 +1,83 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.rentx.carrental.entity.Booking;
+import com.rentx.carrental.entity.Payment;
+import com.rentx.carrental.payment.PaymentGateway;
+import com.rentx.carrental.payment.PaymentGateway.GatewayOrder;
+import com.rentx.carrental.payment.RazorpaySignatureVerifier;
+import com.rentx.carrental.repository.BookingRepository;
+import com.rentx.carrental.repository.PaymentRepository;
+
+class PaymentServiceTest {
+
+	private PaymentGateway paymentGateway;
+	private PaymentRepository paymentRepository;
+	private ExecutorService gatewayThread;
+	private ExecutorService applicationThread;
+	private PaymentService paymentService;
+
+	@BeforeEach
+	void setUp() {
+		paymentGateway = mock(PaymentGateway.class);
+		paymentRepository = mock(PaymentRepository.class);
+		BookingRepository bookingRepository = mock(BookingRepository.class);
+		gatewayThread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "razorpay-1"));
+		applicationThread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "task-1"));
+		paymentService = new PaymentService(paymentGateway, mock(RazorpaySignatureVerifier.class),
+				mock(CacheManager.class), paymentRepository, bookingRepository, mock(EmailService.class),
+				applicationThread);
+		ReflectionTestUtils.setField(paymentService, "keyId", "rzp_test");
+		ReflectionTestUtils.setField(paymentService, "keySecret", "secret");
+
+		Booking booking = new Booking();
+		booking.setId(7L);
+		when(bookingRepository.findById(7L)).thenReturn(Optional.of(booking));
+	}
+
+	@AfterEach
+	void tearDown() {
+		gatewayThread.shutdownNow();
+		applicationThread.shutdownNow();
+	}
+
+	@Test
+	void createOrderSavesThePaymentOnTheApplicationExecutor() throws Exception {
+		// The gateway completes its future on one of its own workers, as RazorpayGateway does.
+		when(paymentGateway.createOrder(anyLong(), anyString(), anyString())).thenAnswer(invocation -> CompletableFuture
+				.supplyAsync(() -> new GatewayOrder("order_1", "{\"id\":\"order_1\"}"), gatewayThread));
+		AtomicReference<String> savingThread = new AtomicReference<>();
+		AtomicReference<Payment> saved = new AtomicReference<>();
+		when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+			savingThread.set(Thread.currentThread().getName());
+			saved.set(invocation.getArgument(0));
+			return invocation.getArgument(0);
+		});
+
+		String json = paymentService.createOrder(7L, 1500.0).get(5, TimeUnit.SECONDS);
+
+		assertThat(json).isEqualTo("{\"id\":\"order_1\"}");
+		assertThat(savingThread.get()).isEqualTo("task-1");
+		assertThat(saved.get().getRazorpayOrderId()).isEqualTo("order_1");
+		assertThat(saved.get().getStatus()).isEqualTo("CREATED");
+	}
+}
@@ -0,0 +1,98 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.rentx.carrental.config.AppConfig;
+import com.rentx.carrental.dto.RefundClaim;
+import com.rentx.carrental.exception.PaymentOutcomeUnknownException;
+import com.rentx.carrental.repository.BookingRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RefundProcessingJobTest {
+
+	private BookingRepository bookingRepository;
+	private PaymentService paymentService;
+	private RefundProcessingJob job;
+
+	/** Due refund ids per cursor position, as findDueRefundIds would page them. */
+	private Map<Long, List<Long>> pages;
+
+	@BeforeEach
+	void setUp() {
+		bookingRepository = mock(BookingRepository.class);
+		paymentService = mock(PaymentService.class);
+		AppConfig appConfig = new AppConfig();
+		appConfig.getPayment().getRefunds().setChunkSize(2);
+		appConfig.getPayment().getRefunds().setParallelism(1);
+		job = new RefundProcessingJob(bookingRepository, paymentService, mock(PlatformTransactionManager.class),
+				new SimpleMeterRegistry(), appConfig);
+
+		when(bookingRepository.findDueRefundIds(any(), anyLong(), any()))
+				.thenAnswer(invocation -> pages.getOrDefault(invocation.<Long>getArgument(1), List.of()));
+		// Every found id is claimed; the claims are read back by the token just stamped.
+		List<Long> lastClaimed = new ArrayList<>();
+		when(bookingRepository.claimRefunds(anyCollection(), anyString(), any())).thenAnswer(invocation -> {
+			lastClaimed.clear();
+			lastClaimed.addAll(invocation.<Collection<Long>>getArgument(0));
+			return lastClaimed.size();
+		});
+		when(bookingRepository.findRefundClaims(anyString())).thenAnswer(invocation -> lastClaimed.stream()
+				.map(id -> new RefundClaim(id, 500.0, "PAID"))
+				.toList());
+		when(bookingRepository.completeRefundClaim(anyLong(), anyString(), any())).thenReturn(1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		job.shutdown();
+	}
+
+	@Test
+	void releasedRefundIsNotClaimedAgainInTheSameRun() {
+		pages = Map.of(0L, List.of(1L, 2L), 2L, List.of(3L));
+		when(paymentService.processRefund(eq(1L), anyDouble()))
+				.thenThrow(new PaymentOutcomeUnknownException("timed out", null));
+
+		RefundProcessingJob.RunResult result = job.run();
+
+		assertThat(result.refunded()).isEqualTo(2);
+		assertThat(result.deferred()).isEqualTo(1);
+		verify(paymentService, times(1)).processRefund(eq(1L), anyDouble());
+		verify(bookingRepository).releaseRefundClaims(eq(List.of(1L)), anyString());
+		verify(bookingRepository, times(1)).findDueRefundIds(any(), eq(0L), any());
+		verify(bookingRepository).findDueRefundIds(any(), eq(2L), any());
+	}
+
+	@Test
+	void fullChunkThatKeepsFailingDoesNotLoopWithinTheRun() {
+		pages = Map.of(0L, List.of(1L, 2L));
+		when(paymentService.processRefund(anyLong(), anyDouble())).thenThrow(new IllegalStateException("db down"));
+
+		RefundProcessingJob.RunResult result = job.run();
+
+		assertThat(result.deferred()).isEqualTo(2);
+		verify(paymentService, times(2)).processRefund(anyLong(), anyDouble());
+		verify(bookingRepository).findDueRefundIds(any(), eq(2L), any());
+	}
+}
@@ -0,0 +1,89 @@
+package com.rentx.carrental.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.rentx.carrental.dto.CursorPage;
+import com.rentx.carrental.entity.Review;
+import com.rentx.carrental.event.ReviewCreatedEvent;
+import com.rentx.carrental.repository.BookingRepository;
+import com.rentx.carrental.repository.ReviewRepository;
+import com.rentx.carrental.security.PrincipalCache;
+
+class ReviewServiceTest {
+
+	private ReviewRepository reviewRepository;
+	private ReviewService reviewService;
+
+	@BeforeEach
+	void setUp() {
+		reviewRepository = mock(ReviewRepository.class);
+		reviewService = new ReviewService(reviewRepository, mock(BookingRepository.class), mock(PrincipalCache.class),
+				mock(EmailService.class), mock(CarRatingService.class), mock(ApplicationEventPublisher.class),
+				new CaffeineCacheManager(ReviewService.CACHE_NAME));
+
+		when(reviewRepository.findFirstPage(anyLong(), any())).thenReturn(reviews(30, 29));
+		when(reviewRepository.findPageAfter(anyLong(), eq(29L), any())).thenReturn(reviews(5));
+	}
+
+	@Test
+	void pagesFollowTheCursorOfTheLastReview() {
+		CursorPage<Review> first = reviewService.getCarReviews(1L, null, 2);
+		CursorPage<Review> second = reviewService.getCarReviews(1L, first.nextCursor(), 2);
+
+		assertThat(first.items()).extracting(Review::getId).containsExactly(30L, 29L);
+		assertThat(first.nextCursor()).isEqualTo(29L);
+		assertThat(second.items()).extracting(Review::getId).containsExactly(5L);
+		assertThat(second.nextCursor()).isNull();
+	}
+
+	@Test
+	void pagesAreServedFromTheCache() {
+		reviewService.getCarReviews(1L, null, 2);
+		reviewService.getCarReviews(1L, null, 2);
+		reviewService.getCarReviews(1L, 29L, 2);
+		reviewService.getCarReviews(1L, 29L, 2);
+
+		verify(reviewRepository, times(1)).findFirstPage(eq(1L), any());
+		verify(reviewRepository, times(1)).findPageAfter(eq(1L), eq(29L), any());
+	}
+
+	@Test
+	void newReviewEvictsEveryPageOfItsCarOnly() {
+		reviewService.getCarReviews(1L, null, 2);
+		reviewService.getCarReviews(1L, 29L, 2);
+		reviewService.getCarReviews(2L, null, 2);
+
+		// A pooled id can be lower than ids already shown, so the review may belong on a later page.
+		reviewService.onReviewCreated(new ReviewCreatedEvent(4L, 1L));
+		reviewService.getCarReviews(1L, null, 2);
+		reviewService.getCarReviews(1L, 29L, 2);
+		reviewService.getCarReviews(2L, null, 2);
+
+		verify(reviewRepository, times(2)).findFirstPage(eq(1L), any());
+		verify(reviewRepository, times(2)).findPageAfter(eq(1L), eq(29L), any());
+		verify(reviewRepository, times(1)).findFirstPage(eq(2L), any());
+	}
+
+	private static List<Review> reviews(long... ids) {
+		return LongStream.of(ids).mapToObj(id -> {
+			Review review = new Review();
+			review.setId(id);
+			return review;
+		}).toList();
+	}
+}
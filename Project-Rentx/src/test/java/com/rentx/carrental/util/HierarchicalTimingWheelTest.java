@@ -0,0 +1,160 @@
+package com.rentx.carrental.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+	private static final long START = 1_000_000L;
+
+	private final AtomicLong now = new AtomicLong(START);
+	private final List<String> fired = new ArrayList<>();
+	private HierarchicalTimingWheel wheel;
+
+	@BeforeEach
+	void setUp() {
+		now.set(START);
+		fired.clear();
+		// One millisecond per tick; due tasks run inline so advance() is fully deterministic.
+		wheel = new HierarchicalTimingWheel(1, Runnable::run, now::get);
+	}
+
+	@Test
+	void timeoutWithinTheFirstLevelFiresOnItsTick() {
+		schedule("a", 10);
+
+		advanceTo(9);
+		assertThat(fired).isEmpty();
+
+		advanceTo(10);
+		assertThat(fired).containsExactly("a");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void timeoutsCascadeThroughEveryLevelAndFireOnTheirTick() {
+		long level1 = 3L * 64 + 5;
+		long level2 = 2L * 64 * 64 + 7 * 64 + 1;
+		long level3 = 64L * 64 * 64 + 3;
+		schedule("level1", level1);
+		schedule("level2", level2);
+		schedule("level3", level3);
+
+		for (long deadline : new long[] { level1, level2, level3 }) {
+			advanceTo(deadline - 1);
+			int before = fired.size();
+			advanceTo(deadline);
+			assertThat(fired).hasSize(before + 1);
+		}
+		assertThat(fired).containsExactly("level1", "level2", "level3");
+	}
+
+	@Test
+	void timeoutsWithTheSameBucketButDifferentRoundsFireSeparately() {
+		schedule("first", 5);
+		schedule("second", 64 + 5);
+
+		advanceTo(5);
+		assertThat(fired).containsExactly("first");
+
+		advanceTo(64 + 4);
+		assertThat(fired).containsExactly("first");
+		advanceTo(64 + 5);
+		assertThat(fired).containsExactly("first", "second");
+	}
+
+	@Test
+	void cancelledTimeoutNeverRuns() {
+		HierarchicalTimingWheel.Timeout timeout = schedule("cancelled", 20);
+		schedule("kept", 20);
+
+		assertThat(timeout.cancel()).isTrue();
+		assertThat(timeout.cancel()).isFalse();
+		assertThat(wheel.size()).isEqualTo(1);
+
+		advanceTo(100);
+		assertThat(fired).containsExactly("kept");
+	}
+
+	@Test
+	void timeoutCanBeCancelledAfterItCascaded() {
+		HierarchicalTimingWheel.Timeout timeout = schedule("late", 2 * 64 + 10);
+
+		// Level 1 bucket 2 is re-placed into level 0 at tick 128.
+		advanceTo(2 * 64 + 1);
+		assertThat(timeout.cancel()).isTrue();
+
+		advanceTo(4 * 64);
+		assertThat(fired).isEmpty();
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void rescheduledTimeoutRunsOnlyAtItsNewDeadline() {
+		HierarchicalTimingWheel.Timeout timeout = schedule("old", 30);
+		advanceTo(10);
+
+		timeout.cancel();
+		schedule("new", 200);
+
+		advanceTo(199);
+		assertThat(fired).isEmpty();
+		advanceTo(200);
+		assertThat(fired).containsExactly("new");
+	}
+
+	@Test
+	void cancelAfterFiringReturnsFalse() {
+		HierarchicalTimingWheel.Timeout timeout = schedule("done", 3);
+
+		advanceTo(3);
+
+		assertThat(fired).containsExactly("done");
+		assertThat(timeout.cancel()).isFalse();
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void deadlineInThePastFiresOnTheNextTick() {
+		advanceTo(500);
+		schedule("past", 100);
+		schedule("start", -START);
+
+		advanceTo(500);
+		assertThat(fired).isEmpty();
+
+		advanceTo(501);
+		assertThat(fired).containsExactlyInAnyOrder("past", "start");
+	}
+
+	@Test
+	void deadlineBeyondTheTopLevelIsParkedAndStillFiresOnItsTick() {
+		long horizon = 1L << (6 * 5);
+		long deadline = horizon + 100;
+		schedule("far", deadline);
+
+		advanceTo(horizon);
+		assertThat(fired).isEmpty();
+		assertThat(wheel.size()).isEqualTo(1);
+
+		advanceTo(deadline - 1);
+		assertThat(fired).isEmpty();
+		advanceTo(deadline);
+		assertThat(fired).containsExactly("far");
+	}
+
+	private HierarchicalTimingWheel.Timeout schedule(String name, long offsetMillis) {
+		return wheel.schedule(START + offsetMillis, () -> fired.add(name));
+	}
+
+	private void advanceTo(long offsetMillis) {
+		now.set(START + offsetMillis);
+		wheel.advance();
+	}
+}
@@ -0,0 +1,35 @@
+package com.rentx.carrental.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class MailTemplateTest {
+
+	private static final String SOURCE = "<p>Hi {{name}}, you owe ₹{{amount:money}} by {{due:day}}</p>";
+
+	@Test
+	void textVariantSubstitutesValuesAsWritten() {
+		MailTemplate template = MailTemplate.text(SOURCE, "name", "amount", "due");
+
+		assertThat(template.render("Tom & <Jerry>", 1234.5, LocalDateTime.of(2030, 1, 5, 10, 0)))
+				.isEqualTo("<p>Hi Tom & <Jerry>, you owe ₹1234.50 by Jan 05, 2030</p>");
+	}
+
+	@Test
+	void htmlVariantEscapesValuesButNotLiterals() {
+		MailTemplate template = MailTemplate.html(SOURCE, "name", "amount", "due");
+
+		assertThat(template.render("Tom & <Jerry> \"O'Neil\"", 1234.5, null))
+				.isEqualTo("<p>Hi Tom &amp; &lt;Jerry&gt; &quot;O&#39;Neil&quot;, you owe ₹1234.50 by N/A</p>");
+	}
+
+	@Test
+	void rejectsUnknownPlaceholder() {
+		assertThatThrownBy(() -> MailTemplate.html("{{missing}}", "name"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}